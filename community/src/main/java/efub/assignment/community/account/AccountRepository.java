@@ -2,7 +2,11 @@ package efub.assignment.community.account;
 
 import efub.assignment.community.account.domain.Account;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface AccountRepository extends JpaRepository<Account, Long> {
@@ -13,4 +17,9 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     Optional<Account> findByEmail(String email);
 
     Optional<Account> findByNickname(String name);
+
+    List<Account> findAllByNicknameIn(Collection<String> nicknames);
+
+    @Query("select a.accountId from Account a where a.accountId in :accountIds")
+    List<Long> findAccountIdsIn(@Param("accountIds") Collection<Long> accountIds);
 }
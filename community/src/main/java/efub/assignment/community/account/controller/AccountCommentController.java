@@ -1,18 +1,25 @@
 package efub.assignment.community.account.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import efub.assignment.community.account.domain.Account;
 import efub.assignment.community.account.dto.AccountCommentResponseDto;
 import efub.assignment.community.account.service.AccountService;
 import efub.assignment.community.comment.domain.Comment;
+import efub.assignment.community.comment.dto.CommentResponseDto;
 import efub.assignment.community.comment.service.CommentService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -22,6 +29,7 @@ public class AccountCommentController {
 
     private final AccountService accountService;
     private final CommentService commentService;
+    private final ObjectMapper objectMapper;
 
     /* 작성자별 댓글 목록 조회 */
     @GetMapping
@@ -32,4 +40,33 @@ public class AccountCommentController {
         return ResponseEntity.status(HttpStatus.OK)
                 .body(AccountCommentResponseDto.of(writer, commentList));
     }
+
+    /* 작성자별 댓글 목록을 NDJSON(한 줄에 댓글 하나)으로 스트리밍, 댓글 수와 관계없이 메모리 사용량 일정 */
+    /* 응답은 비동기로 쓰이므로 이력이 매우 길면 spring.mvc.async.request-timeout 조정 필요 */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAccountCommentList(@PathVariable("accountId") Long accountId){
+        accountService.findAccountById(accountId);
+
+        StreamingResponseBody body = outputStream -> {
+            try {
+                commentService.streamAccountComments(accountId, comment -> writeLine(outputStream, comment));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            outputStream.flush();
+        };
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private void writeLine(OutputStream outputStream, CommentResponseDto comment){
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(comment));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            // 클라이언트 연결이 끊기면 스트림을 닫고 트랜잭션을 끝내도록 예외로 중단
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,52 @@
+package efub.assignment.community.account.controller;
+
+import efub.assignment.community.account.dto.AccountHeartResponseDto;
+import efub.assignment.community.comment.service.CommentHeartService;
+import efub.assignment.community.post.service.PostHeartService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/accounts/{accountId}")
+public class AccountHeartController {
+    private static final int MAX_LOOKUP_SIZE = 100;
+
+    private final PostHeartService postHeartService;
+    private final CommentHeartService commentHeartService;
+
+    /* 목록 화면의 게시글들에 대한 좋아요 여부를 한 번에 조회 */
+    @GetMapping("/hearts")
+    @ResponseStatus(value = HttpStatus.OK)
+    public AccountHeartResponseDto getPostHearts(@PathVariable("accountId") Long accountId,
+                                                 @RequestParam(name = "postIds") List<Long> postIds){
+        return AccountHeartResponseDto.of(accountId, postHeartService.findHeartStatus(accountId, distinctIds(postIds)));
+    }
+
+    /* 댓글들에 대한 좋아요 여부를 한 번에 조회 */
+    @GetMapping("/commentHearts")
+    @ResponseStatus(value = HttpStatus.OK)
+    public AccountHeartResponseDto getCommentHearts(@PathVariable("accountId") Long accountId,
+                                                    @RequestParam(name = "commentIds") List<Long> commentIds){
+        return AccountHeartResponseDto.of(accountId, commentHeartService.findHeartStatus(accountId, distinctIds(commentIds)));
+    }
+
+    // 중복 제거, 한 번에 조회할 수 있는 개수 제한
+    private Set<Long> distinctIds(List<Long> ids){
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        if(distinct.size() > MAX_LOOKUP_SIZE){
+            throw new IllegalArgumentException("한 번에 조회할 수 있는 id는 최대 " + MAX_LOOKUP_SIZE + "개입니다.");
+        }
+        return distinct;
+    }
+}
@@ -0,0 +1,33 @@
+package efub.assignment.community.account.controller;
+
+import efub.assignment.community.account.dto.AccountUnreadResponseDto;
+import efub.assignment.community.messageRoom.dto.MessageRoomReadRequestDto;
+import efub.assignment.community.messageRoom.service.MessageRoomService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/accounts/{accountId}")
+public class AccountMessageRoomController {
+
+    private final MessageRoomService messageRoomService;
+
+    /* 안 읽은 쪽지 수 (배지용) */
+    @GetMapping("/unread")
+    @ResponseStatus(value = HttpStatus.OK)
+    public AccountUnreadResponseDto getUnreadCount(@PathVariable("accountId") Long accountId){
+        return new AccountUnreadResponseDto(accountId, messageRoomService.countUnreadMessages(accountId));
+    }
+
+    /* 여러 쪽지방의 읽음 처리를 한 번에 */
+    @PatchMapping("/messageRooms/read")
+    @ResponseStatus(value = HttpStatus.OK)
+    public AccountUnreadResponseDto markMessageRoomsRead(@PathVariable("accountId") Long accountId,
+                                                         @RequestBody @Valid final MessageRoomReadRequestDto requestDto){
+        messageRoomService.markRead(accountId, requestDto.getReads());
+        return new AccountUnreadResponseDto(accountId, messageRoomService.countUnreadMessages(accountId));
+    }
+}
@@ -0,0 +1,18 @@
+package efub.assignment.community.account.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class AccountHeartResponseDto {
+    private Long accountId;
+    private Map<Long, Boolean> hearts; // 게시글(댓글) id -> 좋아요 여부
+
+    public static AccountHeartResponseDto of(Long accountId, Map<Long, Boolean> hearts){
+        return new AccountHeartResponseDto(accountId, hearts);
+    }
+}
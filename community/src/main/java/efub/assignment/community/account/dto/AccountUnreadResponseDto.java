@@ -0,0 +1,12 @@
+package efub.assignment.community.account.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/* 계정이 참여한 모든 쪽지방의 안 읽은 쪽지 수 합계 */
+@Getter
+@AllArgsConstructor
+public class AccountUnreadResponseDto {
+    private Long accountId;
+    private long unreadCount;
+}
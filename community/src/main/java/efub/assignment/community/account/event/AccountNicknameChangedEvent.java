@@ -0,0 +1,5 @@
+package efub.assignment.community.account.event;
+
+/* 계정의 닉네임이 변경된 경우 발행 (닉네임을 담아둔 캐시 무효화용) */
+public record AccountNicknameChangedEvent(Long accountId, String oldNickname, String newNickname) {
+}
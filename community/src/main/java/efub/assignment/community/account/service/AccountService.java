@@ -4,16 +4,25 @@ import efub.assignment.community.account.AccountRepository;
 import efub.assignment.community.account.domain.Account;
 import efub.assignment.community.account.dto.AccountUpdateRequestDto;
 import efub.assignment.community.account.dto.SignUpRequestDto;
+import efub.assignment.community.account.event.AccountNicknameChangedEvent;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class AccountService {
     private final AccountRepository accountRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Long signUp(SignUpRequestDto requestDto){
         if(existsByEmail(requestDto.getEmail())){
@@ -57,7 +66,11 @@ public class AccountService {
                 throw new IllegalArgumentException("이미 존재하는 nickname입니다."+requestDto.getNickname());
             }
         }
+        String oldNickname = account.getNickname();
         account.updateAccount(requestDto.getEmail(),requestDto.getNickname(),requestDto.getPassword());
+        if(!oldNickname.equals(account.getNickname())){ // 닉네임을 담아둔 캐시들이 커밋 이후 무효화되도록 알림
+            eventPublisher.publishEvent(new AccountNicknameChangedEvent(account_id, oldNickname, account.getNickname()));
+        }
         return account.getAccountId();
     }
 
@@ -66,6 +79,23 @@ public class AccountService {
         account.withdrawAccount();
     }
 
+    @Transactional(readOnly = true) //주어진 id 중 실제로 존재하는 계정 id만 반환
+    public List<Long> findExistingAccountIds(Collection<Long> accountIds){
+        return accountRepository.findAccountIdsIn(accountIds);
+    }
+
+    @Transactional(readOnly = true) //주어진 id의 계정을 한 번에 조회 (계정 id -> 계정), 없는 계정은 빠짐
+    public Map<Long, Account> findAccountsByIds(Collection<Long> accountIds){
+        return accountRepository.findAllById(accountIds).stream()
+                .collect(Collectors.toMap(Account::getAccountId, Function.identity()));
+    }
+
+    @Transactional(readOnly = true) //주어진 닉네임들에 해당하는 계정 id를 한 번에 조회 (닉네임 -> 계정 id)
+    public Map<String, Long> findAccountIdsByNicknames(Collection<String> nicknames){
+        return accountRepository.findAllByNicknameIn(nicknames).stream()
+                .collect(Collectors.toMap(Account::getNickname, Account::getAccountId, (first, second) -> first));
+    }
+
     @Transactional(readOnly = true) //닉네임으로 해당 계정 찾는 메소드
     public Account findAccountByNickname(String name){
         return accountRepository.findByNickname(name)
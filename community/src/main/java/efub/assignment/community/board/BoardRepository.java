@@ -2,6 +2,28 @@ package efub.assignment.community.board;
 
 import efub.assignment.community.board.domain.Board;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface BoardRepository extends JpaRepository<Board, Long> {
+
+    // 삭제 표시된 게시판은 제외
+    @Query("select b.boardId from Board b where b.boardId in :boardIds and b.deleted = false")
+    List<Long> findBoardIdsIn(@Param("boardIds") Collection<Long> boardIds);
+
+    Optional<Board> findByBoardIdAndDeletedFalse(Long boardId);
+
+    // 나중에 지울 게시판에 삭제 표시
+    @Modifying
+    @Query("update Board b set b.deleted = true where b.boardId = :boardId")
+    int markDeleted(@Param("boardId") Long boardId);
+
+    @Modifying
+    @Query("delete from Board b where b.boardId = :boardId")
+    int deleteByBoardId(@Param("boardId") Long boardId);
 }
@@ -27,6 +27,10 @@ public class Board extends BaseTimeEntity {
     @Column(nullable = false, length = 1000)
     private String boardNotice;
 
+    // 삭제 표시, 글이 많아 나중에 지우는 게시판은 먼저 표시해서 조회와 쓰기에서 제외 (UPDATE 문으로만 변경)
+    @Column(nullable = false)
+    private boolean deleted;
+
     @Builder
     public Board(Account account, String boardName, String boardDescription, String boardNotice){
         this.account = account;
@@ -0,0 +1,5 @@
+package efub.assignment.community.board.event;
+
+/* 게시판과 그 글에 삭제 표시를 한 경우 발행 */
+public record BoardMarkedDeletedEvent(Long boardId) {
+}
@@ -6,12 +6,19 @@ import efub.assignment.community.board.BoardRepository;
 import efub.assignment.community.board.domain.Board;
 import efub.assignment.community.board.dto.BoardRequestDto;
 import efub.assignment.community.board.dto.BoardUpdateDto;
+import efub.assignment.community.board.event.BoardMarkedDeletedEvent;
 import efub.assignment.community.exception.CustomDeleteException;
+import efub.assignment.community.global.deletion.AggregateDeletionService;
+import efub.assignment.community.post.PostRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+
 import static efub.assignment.community.exception.ErrorCode.PERMISSION_REJECTED_USER;
 
 @Service
@@ -20,6 +27,9 @@ import static efub.assignment.community.exception.ErrorCode.PERMISSION_REJECTED_
 public class BoardService {
     private final BoardRepository boardRepository;
     private final AccountService accountService;
+    private final PostRepository postRepository;
+    private final AggregateDeletionService aggregateDeletionService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Board createNewBoard(BoardRequestDto dto){
         Account account = accountService.findAccountByNickname(dto.getOwnerNickname());
@@ -28,27 +38,42 @@ public class BoardService {
         return savedBoard;
     }
 
+    // 삭제 표시된 게시판도 찾을 수 없는 게시판으로 취급 (글 작성, 게시판 수정이 이 조회를 거침)
     @Transactional(readOnly = true)
     public Board findBoardById(Long boardId){
-        Board board = boardRepository.findById(boardId)
+        Board board = boardRepository.findByBoardIdAndDeletedFalse(boardId)
                 .orElseThrow(()->new EntityNotFoundException("해당 id를 가진 board를 찾을 수 없습니다.id="+boardId));
         return board;
     }
 
+    @Transactional(readOnly = true) //주어진 id 중 실제로 존재하는 게시판 id만 반환
+    public List<Long> findExistingBoardIds(Collection<Long> boardIds){
+        return boardRepository.findBoardIdsIn(boardIds);
+    }
+
     public Board updateBoard(Long boardId, BoardUpdateDto dto){
-        Board board = boardRepository.findById(boardId)
-                .orElseThrow(()->new EntityNotFoundException("해당 id를 가진 board를 찾을 수 없습니다.id="+boardId));
+        Board board = findBoardById(boardId);
         Account account = accountService.findAccountByNickname(dto.getOwnerNickname());
         board.update(account);
         return board;
     }
 
+    // 삭제 표시된 게시판도 찾으므로, 나중에 지우던 중 실패한 게시판은 다시 요청하면 이어서 지움
     public void deleteBoard(Long boardId, Long accountId){
         Board board = boardRepository.findById(boardId)
                 .orElseThrow(()->new EntityNotFoundException("해당 id를 가진 board를 찾을 수 없습니다.id="+boardId));
         if(accountId!=board.getAccount().getAccountId()){
             throw new CustomDeleteException(PERMISSION_REJECTED_USER);
         }
-        boardRepository.delete(board);
+        // 게시판의 글, 댓글, 좋아요까지 함께 삭제
+        // 많으면 게시판과 글에 삭제 표시만 하고, 표시가 커밋된 뒤 별도 스레드에서 지움
+        if(aggregateDeletionService.isSmall(postRepository.countAggregateRowsByBoardId(boardId))){
+            aggregateDeletionService.deleteBoard(boardId);
+        }
+        else{
+            boardRepository.markDeleted(boardId);
+            postRepository.markDeletedByBoardId(boardId);
+            eventPublisher.publishEvent(new BoardMarkedDeletedEvent(boardId));
+        }
     }
 }
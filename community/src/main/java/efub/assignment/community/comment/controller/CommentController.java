@@ -55,4 +55,21 @@ public class CommentController {
         commentHeartService.delete(commentId, accountId);
         return "좋아요가 취소되었습니다.";
     }
+
+    // 댓글 좋아요 등록 (멱등), 이미 좋아요를 누른 상태여도 성공, 댓글이나 계정이 없으면 404
+    @PutMapping("/hearts/{accountId}")
+    @ResponseStatus(value = HttpStatus.OK)
+    public String putCommentLike(@PathVariable(name = "commentId") final Long commentId,
+                                 @PathVariable(name = "accountId") final Long accountId){
+        return commentHeartService.put(commentId, accountId) ? "좋아요를 눌렀습니다." : "이미 좋아요를 누른 댓글입니다.";
+    }
+
+    // 댓글 좋아요 삭제 (멱등), 좋아요가 없는 상태여도 성공
+    @DeleteMapping("/hearts/{accountId}")
+    @ResponseStatus(value = HttpStatus.OK)
+    public String removeCommentLike(@PathVariable(name = "commentId") final Long commentId,
+                                    @PathVariable(name = "accountId") final Long accountId){
+        commentHeartService.remove(commentId, accountId);
+        return "좋아요가 취소되었습니다.";
+    }
 }
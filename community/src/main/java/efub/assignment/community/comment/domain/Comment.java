@@ -10,15 +10,25 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@DynamicUpdate
+@Table(indexes = {
+        @Index(name = "idx_comment_created", columnList = "createdDate"),
+        @Index(name = "idx_comment_post_path", columnList = "post_id, path"),
+        @Index(name = "idx_comment_post_root", columnList = "post_id, depth, comment_id")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Comment extends BaseTimeEntity {
 
+    public static final int MAX_DEPTH = 10;
+    private static final int PATH_SEGMENT_LENGTH = 17;
+
     @Id
     @Column(name = "comment_id")
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -35,14 +45,78 @@ public class Comment extends BaseTimeEntity {
     @JoinColumn(name = "post_id", updatable = false)
     private Post post;
 
+    // 답글 구조는 materialized path로 저장
+    // path: 루트부터 자기 자신까지의 comment_id를 16자리로 채워 '/'로 이은 값 (예: 0000000000000012/0000000000000034/)
+    // path 순으로 정렬하면 스레드 단위로 묶이고 스레드 안에서는 깊이 우선 순서가 되므로, 하위 트리는 (post_id, path) 범위 하나로 조회
+    // id는 insert 이후에 정해지므로 path는 insert 직후 채움 (@PostPersist)
+    @Column(length = PATH_SEGMENT_LENGTH * (MAX_DEPTH + 1))
+    private String path;
+
+    private Long parentId;
+
+    @Column(nullable = false)
+    private int depth;
+
+    // 스레드 안에서 몇 번째로 달린 답글인지 (루트는 0), 부모보다 항상 크므로 "처음 M개 답글"은 replyNo <= M 조건 하나로 조회
+    @Column(nullable = false)
+    private long replyNo;
+
+    // 루트 댓글에서만 사용, 마지막으로 발급한 replyNo (UPDATE 문으로만 증가)
+    @Column(nullable = false)
+    private long replySequence;
+
+    @Transient
+    private String parentPath;
+
+    // 좋아요 수 (CommentHeart 행 수를 비정규화, UPDATE 문으로만 증감)
+    @Column(nullable = false)
+    private long heartCount;
+
     @OneToMany(mappedBy = "comment", cascade = CascadeType.ALL, orphanRemoval = true)
     List<CommentHeart> commentLikeList = new ArrayList<>();
 
     @Builder
-    public Comment(String content, Account writer, Post post){
+    public Comment(String content, Account writer, Post post, Comment parent, long replyNo){
         this.content = content;
         this.writer = writer;
         this.post = post;
+        if(parent != null){
+            this.parentId = parent.getCommentId();
+            this.parentPath = parent.getPath();
+            this.depth = parent.getDepth() + 1;
+            this.replyNo = replyNo;
+        }
+    }
+
+    @PostPersist
+    private void assignPath(){
+        this.path = (parentPath == null ? "" : parentPath) + pathSegment(commentId);
+    }
+
+    // path 도입 전에 작성된 댓글은 path가 비어 있음 (CommentPathBackfillJob으로 채움)
+    // 그 댓글들은 모두 루트이므로 채워지기 전에도 자기 id만으로 path를 계산하고, 답글인데 비어 있으면 데이터 오류로 봄
+    public String getPath(){
+        if(path != null){
+            return path;
+        }
+        if(parentId == null){
+            return pathSegment(commentId);
+        }
+        throw new IllegalStateException("path가 없는 답글입니다. id=" + commentId);
+    }
+
+    // 스레드의 루트 댓글 id (path의 첫 구간)
+    public Long getRootId(){
+        return Long.parseLong(getPath().substring(0, PATH_SEGMENT_LENGTH - 1));
+    }
+
+    public static String pathSegment(Long commentId){
+        return String.format("%016d/", commentId);
+    }
+
+    // path로 시작하는 모든 path보다 큰 가장 작은 값, 하위 트리 범위 조회의 상한 (마지막 '/'를 그 다음 문자인 '0'으로)
+    public static String pathUpperBound(String path){
+        return path.substring(0, path.length() - 1) + "0";
     }
 
     public void updateComment(String content){
@@ -10,14 +10,12 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Getter
+@IdClass(CommentHeartId.class)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class CommentHeart {
+    // (comment_id, account_id) 복합 기본키
+    // 같은 계정이 같은 댓글에 좋아요를 두 번 누를 수 없음
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @Column(name = "comment_like_id")
-    private Long id;
-
-
     @ManyToOne(fetch = FetchType.LAZY)
     @NotNull(message = "댓글은 필수로 입력되어야 합니다.")
     @JoinColumn(name = "comment_id", updatable = false)
@@ -27,6 +25,7 @@ public class CommentHeart {
     // 각 댓글 좋아요는 한 명의 작성자를 가짐
     // Account에서는 CommentHeart 객체를 사용하지 않지만, CommentHeart는 'account_id'를 참조
     // -> 단방향 연관관계
+    @Id
     @ManyToOne(fetch = FetchType.LAZY)
     @NotNull(message = "작성자는 필수로 입력되어야 합니다.")
     @JoinColumn(name = "account_id", updatable = false)
@@ -0,0 +1,18 @@
+package efub.assignment.community.comment.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/* CommentHeart의 복합 기본키 (comment_id, account_id) */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class CommentHeartId implements Serializable {
+    private Long comment;
+    private Long writer;
+}
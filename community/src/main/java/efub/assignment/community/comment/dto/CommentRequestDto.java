@@ -7,10 +7,12 @@ import lombok.*;
 public class CommentRequestDto {
     private Long accountId;
     private String content;
+    private Long parentId; // 답글이면 부모 댓글 id
 
     @Builder
-    public CommentRequestDto(Long accountId, String content){
+    public CommentRequestDto(Long accountId, String content, Long parentId){
         this.accountId = accountId;
         this.content = content;
+        this.parentId = parentId;
     }
 }
@@ -1,7 +1,6 @@
 package efub.assignment.community.comment.dto;
 
 import efub.assignment.community.comment.domain.Comment;
-import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -10,23 +9,29 @@ import java.time.LocalDateTime;
 
 @Getter
 @Builder
-@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@AllArgsConstructor // JPQL 생성자 projection에서 사용
 public class CommentResponseDto {
     private Long commentId;
     private Long postId;
+    private Long parentId; // 루트 댓글이면 null
+    private Integer depth;
     private String writerNickname;
     private String content;
     private LocalDateTime createdDate;
     private LocalDateTime modifiedDate;
+    private Long heartCount;
 
     public static CommentResponseDto of(Comment comment){
         return CommentResponseDto.builder()
                 .commentId(comment.getCommentId())
                 .postId(comment.getPost().getPostId())
+                .parentId(comment.getParentId())
+                .depth(comment.getDepth())
                 .writerNickname(comment.getWriter().getNickname())
                 .content(comment.getContent())
                 .createdDate(comment.getCreatedDate())
                 .modifiedDate(comment.getModifiedDate())
+                .heartCount(comment.getHeartCount())
                 .build();
     }
 }
@@ -0,0 +1,26 @@
+package efub.assignment.community.comment.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+@Getter
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class CommentThreadResponseDto {
+    private Long commentId;
+    private List<CommentResponseDto> commentList; // commentId의 댓글과 모든 하위 답글, 깊이 우선 순서
+    private boolean hasNext; // 최대 개수를 넘어 잘린 경우 true
+
+    public static CommentThreadResponseDto of(Long commentId, Slice<CommentResponseDto> comments){
+        return CommentThreadResponseDto.builder()
+                .commentId(commentId)
+                .commentList(comments.getContent())
+                .hasNext(comments.hasNext())
+                .build();
+    }
+}
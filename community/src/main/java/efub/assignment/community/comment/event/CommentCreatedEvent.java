@@ -0,0 +1,5 @@
+package efub.assignment.community.comment.event;
+
+/* 댓글이 작성된 경우 발행 */
+public record CommentCreatedEvent(Long commentId, Long postId, Long boardId) {
+}
@@ -0,0 +1,5 @@
+package efub.assignment.community.comment.event;
+
+/* 댓글이 삭제된 경우 발행 */
+public record CommentDeletedEvent(Long commentId, Long postId) {
+}
@@ -3,16 +3,38 @@ package efub.assignment.community.comment.repository;
 import efub.assignment.community.account.domain.Account;
 import efub.assignment.community.comment.domain.Comment;
 import efub.assignment.community.comment.domain.CommentHeart;
+import efub.assignment.community.comment.domain.CommentHeartId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface CommentHeartRepository extends JpaRepository<CommentHeart, Long> {
+public interface CommentHeartRepository extends JpaRepository<CommentHeart, CommentHeartId> {
 
     Integer countByComment(Comment comment);
     List<CommentHeart> findByWriter(Account account);
     boolean existsByWriterAndComment(Account account, Comment comment);
 
     Optional<CommentHeart> findByWriterAndComment(Account account, Comment comment);
+
+    // 주어진 댓글 id 중 해당 계정이 좋아요를 누른 것
+    @Query("select h.comment.commentId from CommentHeart h where h.writer.accountId = :accountId and h.comment.commentId in :commentIds")
+    List<Long> findHeartedCommentIds(@Param("accountId") Long accountId, @Param("commentIds") Collection<Long> commentIds);
+
+    // 이미 같은 (comment_id, account_id) 행이 있으면 아무것도 하지 않음, 삽입된 행 수(0 또는 1) 반환
+    @Modifying
+    @Query(value = "insert ignore into comment_heart (comment_id, account_id) values (:commentId, :accountId)", nativeQuery = true)
+    int insertIgnore(@Param("commentId") Long commentId, @Param("accountId") Long accountId);
+
+    @Modifying
+    @Query("delete from CommentHeart h where h.comment.commentId = :commentId and h.writer.accountId = :accountId")
+    int deleteByCommentIdAndAccountId(@Param("commentId") Long commentId, @Param("accountId") Long accountId);
+
+    @Modifying
+    @Query("delete from CommentHeart h where h.comment.commentId in :commentIds")
+    int deleteByCommentIds(@Param("commentIds") Collection<Long> commentIds);
 }
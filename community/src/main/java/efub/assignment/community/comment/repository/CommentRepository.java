@@ -2,12 +2,115 @@ package efub.assignment.community.comment.repository;
 
 import efub.assignment.community.account.domain.Account;
 import efub.assignment.community.comment.domain.Comment;
+import efub.assignment.community.comment.dto.CommentResponseDto;
 import efub.assignment.community.post.domain.Post;
+import efub.assignment.community.post.dto.PostActivityCountDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+
+    // 댓글과 작성자 닉네임을 writer 한 번의 join으로 CommentResponseDto에 바로 담음
+    String SELECT_COMMENT_RESPONSE = "select new efub.assignment.community.comment.dto.CommentResponseDto(" +
+            "c.commentId, c.post.postId, c.parentId, c.depth, w.nickname, c.content, c.createdDate, c.modifiedDate, c.heartCount) " +
+            "from Comment c join c.writer w ";
+
     List<Comment> findAllByPost(Post post);
+
+    // afterId 다음 루트 댓글 id (작성순), (post_id, depth, comment_id) 인덱스만으로 조회
+    @Query("select c.commentId from Comment c where c.post.postId = :postId and c.depth = 0 and c.commentId > :afterId " +
+            "order by c.commentId")
+    List<Long> findRootIds(@Param("postId") Long postId, @Param("afterId") Long afterId, Pageable pageable);
+
+    // [fromPath, toPath) 범위의 댓글 중 각 스레드의 루트와 처음 maxReplyNo개 답글, (post_id, path) 인덱스 범위 조회
+    @Query(SELECT_COMMENT_RESPONSE + "where c.post.postId = :postId and c.path >= :fromPath and c.path < :toPath " +
+            "and c.replyNo <= :maxReplyNo order by c.path")
+    List<CommentResponseDto> findInPathRange(@Param("postId") Long postId,
+                                             @Param("fromPath") String fromPath,
+                                             @Param("toPath") String toPath,
+                                             @Param("maxReplyNo") long maxReplyNo);
+
+    // [fromPath, toPath) 범위의 댓글 전체 (하위 트리 조회)
+    @Query(SELECT_COMMENT_RESPONSE + "where c.post.postId = :postId and c.path >= :fromPath and c.path < :toPath " +
+            "order by c.path")
+    Slice<CommentResponseDto> findSubtree(@Param("postId") Long postId,
+                                          @Param("fromPath") String fromPath,
+                                          @Param("toPath") String toPath,
+                                          Pageable pageable);
+
+    // 루트 댓글의 답글 번호를 하나 발급, 같은 스레드의 답글 작성은 루트 행 lock으로 직렬화됨
+    @Modifying
+    @Query("update Comment c set c.replySequence = c.replySequence + 1 where c.commentId = :rootId")
+    int increaseReplySequence(@Param("rootId") Long rootId);
+
+    @Query("select c.replySequence from Comment c where c.commentId = :rootId")
+    long findReplySequence(@Param("rootId") Long rootId);
+
+    @Query("select count(c) from Comment c where c.post.postId = :postId and c.path >= :fromPath and c.path < :toPath")
+    long countInPathRange(@Param("postId") Long postId,
+                          @Param("fromPath") String fromPath,
+                          @Param("toPath") String toPath);
+
+    // 일괄 삭제용 id 조회 (순서 없음, 지운 뒤 다시 조회하면 다음 chunk)
+    @Query("select c.commentId from Comment c where c.post.postId = :postId and c.path >= :fromPath and c.path < :toPath")
+    List<Long> findIdsInPathRange(@Param("postId") Long postId,
+                                  @Param("fromPath") String fromPath,
+                                  @Param("toPath") String toPath,
+                                  Pageable pageable);
+
+    @Query("select c.commentId from Comment c where c.post.postId = :postId")
+    List<Long> findIdsByPostId(@Param("postId") Long postId, Pageable pageable);
+
+    @Modifying
+    @Query("delete from Comment c where c.commentId in :commentIds")
+    int deleteByCommentIds(@Param("commentIds") Collection<Long> commentIds);
+
     List<Comment> findAllByWriter(Account account);
+
+    // 작성자의 전체 댓글을 작성순으로 한 행씩 읽는 forward-only 스트림, 트랜잭션 안에서 사용 후 반드시 close
+    // DTO projection이라 영속성 컨텍스트에 엔티티가 쌓이지 않음
+    // MySQL에서 fetch size만큼씩 끊어 읽으려면 JDBC URL에 useCursorFetch=true 필요 (없으면 드라이버가 결과 전체를 읽어옴)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_COMMENT_RESPONSE + "where w.accountId = :accountId order by c.commentId")
+    Stream<CommentResponseDto> streamByWriterId(@Param("accountId") Long accountId);
+
+    // [from, to) 구간에 작성된 댓글 수를 글별로 집계 (인기글 재구성용)
+    @Query("select new efub.assignment.community.post.dto.PostActivityCountDto(p.postId, p.board.boardId, count(c)) " +
+            "from Comment c join c.post p where c.createdDate >= :from and c.createdDate < :to " +
+            "group by p.postId, p.board.boardId")
+    List<PostActivityCountDto> countCommentsByPostBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // 삭제 표시된 글의 댓글에는 반영하지 않고 0 반환
+    @Modifying
+    @Query("update Comment c set c.heartCount = c.heartCount + :delta where c.commentId = :commentId " +
+            "and exists (select 1 from Post p where p.postId = c.post.postId and p.deleted = false)")
+    int addHeartCount(@Param("commentId") Long commentId, @Param("delta") long delta);
+
+    @Query("select coalesce(max(c.commentId), 0) from Comment c")
+    long findMaxCommentId();
+
+    // (fromId, toId] 구간에서 path가 비어 있는 루트 댓글(path 도입 전에 작성된 댓글)의 path를 자기 id 구간으로 채움
+    @Modifying
+    @Query("update Comment c set c.path = concat(pad(cast(c.commentId as String) with 16 leading '0'), '/') " +
+            "where c.path is null and c.parentId is null and c.commentId > :fromId and c.commentId <= :toId")
+    int backfillRootPath(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    // (fromId, toId] 구간에서 heart_count가 실제 좋아요 수와 다른 댓글만 보정
+    @Modifying
+    @Query(value = "update comment c set c.heart_count = (select count(*) from comment_heart h where h.comment_id = c.comment_id) " +
+            "where c.comment_id > :fromId and c.comment_id <= :toId " +
+            "and c.heart_count <> (select count(*) from comment_heart h where h.comment_id = c.comment_id)", nativeQuery = true)
+    int reconcileHeartCount(@Param("fromId") long fromId, @Param("toId") long toId);
 }
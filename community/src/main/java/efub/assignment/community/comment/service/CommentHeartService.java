@@ -3,14 +3,18 @@ package efub.assignment.community.comment.service;
 import efub.assignment.community.account.domain.Account;
 import efub.assignment.community.account.service.AccountService;
 import efub.assignment.community.comment.domain.Comment;
-import efub.assignment.community.comment.domain.CommentHeart;
 import efub.assignment.community.comment.dto.AccountInfoRequestDto;
 import efub.assignment.community.comment.repository.CommentHeartRepository;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Slf4j
 @Service
 @Transactional
@@ -24,23 +28,60 @@ public class CommentHeartService {
     public void create(Long commentId, AccountInfoRequestDto requestDto){
         Account account = accountService.findAccountById(requestDto.getAccountId());
         Comment comment = commentService.findCommentById(commentId);
-        if(isExistsByWriterAndComment(account, comment)){
+        if(commentHeartRepository.insertIgnore(comment.getCommentId(), account.getAccountId()) == 0){
             throw new RuntimeException("이미 좋아요를 눌렀습니다.");
         }
-        CommentHeart commentHeart = CommentHeart.builder()
-                .comment(comment)
-                .account(account)
-                .build();
-
-        commentHeartRepository.save(commentHeart);
+        addHeartCount(commentId);
     }
 
     public void delete(Long commentId, Long accountId){
         Account account = accountService.findAccountById(accountId);
         Comment comment = commentService.findCommentById(commentId);
-        CommentHeart commentHeart = commentHeartRepository.findByWriterAndComment(account, comment)
-                .orElseThrow(()-> new IllegalArgumentException("해당 좋아요가 없습니다."));
-        commentHeartRepository.delete(commentHeart);
+        if(commentHeartRepository.deleteByCommentIdAndAccountId(comment.getCommentId(), account.getAccountId()) == 0){
+            throw new IllegalArgumentException("해당 좋아요가 없습니다.");
+        }
+        commentService.addHeartCount(commentId, -1);
+    }
+
+    // 멱등 좋아요: Account, Comment를 조회하지 않고 insert ignore 한 번으로 처리
+    // 실제로 행이 추가된 경우에만 true, 0행이면 댓글과 계정이 있는지 확인 (insert ignore는 FK 위반도 0행으로 끝남)
+    public boolean put(Long commentId, Long accountId){
+        if(commentHeartRepository.insertIgnore(commentId, accountId) == 0){
+            commentService.findCommentById(commentId);
+            accountService.findAccountById(accountId);
+            return false;
+        }
+        addHeartCount(commentId);
+        return true;
+    }
+
+    // 멱등 좋아요 취소: 좋아요가 없어도 오류 없이 false 반환
+    public boolean remove(Long commentId, Long accountId){
+        if(commentHeartRepository.deleteByCommentIdAndAccountId(commentId, accountId) == 0){
+            return false;
+        }
+        commentService.addHeartCount(commentId, -1);
+        return true;
+    }
+
+    // 글이 삭제 표시되어 좋아요 수가 반영되지 않으면 예외를 던져 방금 추가한 좋아요까지 롤백
+    private void addHeartCount(Long commentId){
+        if(commentService.addHeartCount(commentId, 1) == 0){
+            throw new EntityNotFoundException("삭제된 게시글의 댓글입니다. id=" + commentId);
+        }
+    }
+
+    // 주어진 댓글 각각에 대해 해당 계정의 좋아요 여부, IN 쿼리 한 번으로 조회
+    @Transactional(readOnly = true)
+    public Map<Long, Boolean> findHeartStatus(Long accountId, Collection<Long> commentIds){
+        Map<Long, Boolean> status = new LinkedHashMap<>();
+        commentIds.forEach(commentId -> status.put(commentId, false));
+        if(commentIds.isEmpty()){
+            return status;
+        }
+        commentHeartRepository.findHeartedCommentIds(accountId, commentIds)
+                .forEach(commentId -> status.put(commentId, true));
+        return status;
     }
 
     @Transactional(readOnly = true)
@@ -48,9 +89,9 @@ public class CommentHeartService {
         return commentHeartRepository.existsByWriterAndComment(account, comment);
     }
 
+    // 해당 댓글의 좋아요 개수 (비정규화된 heartCount)
     @Transactional(readOnly = true)
-    public Integer countCommentHeart(Comment comment){
-        Integer count = commentHeartRepository.countByComment(comment);
-        return count;
+    public long countCommentHeart(Comment comment){
+        return comment.getHeartCount();
     }
 }
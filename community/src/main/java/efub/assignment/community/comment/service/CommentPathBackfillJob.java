@@ -0,0 +1,50 @@
+package efub.assignment.community.comment.service;
+
+import efub.assignment.community.comment.repository.CommentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/* path 도입 전에 작성된 댓글의 path를 채우는 일회성 job */
+/* 그 댓글들은 모두 루트이므로 path = lpad(comment_id, 16, '0') + '/', 채워지기 전까지는 스레드 목록 조회에서 빠짐 */
+/* comment.path-backfill.enabled=true로 배포하면 기동 직후 한 번 실행, 다 채운 뒤에는 설정을 끄면 됨 (다시 실행해도 결과는 같음) */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "comment.path-backfill.enabled", havingValue = "true")
+public class CommentPathBackfillJob {
+
+    private final CommentRepository commentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long chunkSize;
+
+    public CommentPathBackfillJob(CommentRepository commentRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${comment.path-backfill.chunk-size:1000}") long chunkSize){
+        this.commentRepository = commentRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady(){
+        int filled = backfill();
+        log.info("댓글 path backfill 완료: {}건", filled);
+    }
+
+    // id 구간 (fromId, toId]을 chunkSize 단위로 나누고, 구간마다 짧은 트랜잭션으로 채움
+    int backfill(){
+        long maxId = commentRepository.findMaxCommentId();
+        int filled = 0;
+        for(long fromId = 0; fromId < maxId; fromId += chunkSize){
+            final long from = fromId;
+            final long to = Math.min(fromId + chunkSize, maxId);
+            Integer updated = transactionTemplate.execute(status -> commentRepository.backfillRootPath(from, to));
+            filled += updated == null ? 0 : updated;
+        }
+        return filled;
+    }
+}
@@ -4,27 +4,43 @@ import efub.assignment.community.account.domain.Account;
 import efub.assignment.community.account.service.AccountService;
 import efub.assignment.community.comment.domain.Comment;
 import efub.assignment.community.comment.dto.CommentRequestDto;
+import efub.assignment.community.comment.dto.CommentResponseDto;
+import efub.assignment.community.comment.event.CommentCreatedEvent;
+import efub.assignment.community.comment.event.CommentDeletedEvent;
 import efub.assignment.community.comment.repository.CommentRepository;
 import efub.assignment.community.exception.CustomDeleteException;
 import efub.assignment.community.exception.ErrorCode;
+import efub.assignment.community.global.deletion.AggregateDeletionService;
+import efub.assignment.community.notice.service.NoticeService;
 import efub.assignment.community.post.domain.Post;
 import efub.assignment.community.post.service.PostService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class CommentService {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_REPLIES_PER_THREAD = 50;
+    private static final int MAX_THREAD_SIZE = 1000;
 
     private final AccountService accountService;
     private final PostService postService;
-    private final PostService noticeService;
+    private final NoticeService noticeService;
     private final CommentRepository commentRepository;
+    private final AggregateDeletionService aggregateDeletionService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public Comment findCommentById(Long commentId){
@@ -33,25 +49,84 @@ public class CommentService {
         return comment;
     }
 
-    /* 댓글 생성 */
+    /* 좋아요 수를 UPDATE 한 번으로 원자적으로 증감, 댓글이 없거나 글이 삭제 표시되었으면 0 반환 */
+    public int addHeartCount(Long commentId, long delta){
+        return commentRepository.addHeartCount(commentId, delta);
+    }
+
+    /* 댓글 생성, parentId가 있으면 해당 댓글의 답글로 생성 */
     public Comment saveComment(Long postId, CommentRequestDto requestDto) {
         Account writer = accountService.findAccountById(requestDto.getAccountId());
         Post post = postService.findPostById(postId);
 
+        Comment parent = null;
+        long replyNo = 0;
+        if(requestDto.getParentId() != null){
+            parent = findCommentById(requestDto.getParentId());
+            if(!parent.getPost().getPostId().equals(postId)){
+                throw new IllegalArgumentException("답글은 같은 게시글의 댓글에만 달 수 있습니다.");
+            }
+            if(parent.getDepth() >= Comment.MAX_DEPTH){
+                throw new IllegalArgumentException("답글은 최대 " + Comment.MAX_DEPTH + "단계까지 달 수 있습니다.");
+            }
+            Long rootId = parent.getRootId();
+            commentRepository.increaseReplySequence(rootId);
+            replyNo = commentRepository.findReplySequence(rootId);
+        }
+
         Comment comment = Comment.builder()
                 .content(requestDto.getContent())
                 .writer(writer)
                 .post(post)
+                .parent(parent)
+                .replyNo(replyNo)
                 .build();
         commentRepository.save(comment);
-
+        postService.addCommentCount(postId, 1);
+        // 글 작성자에게 보낼 알림은 같은 트랜잭션에서 outbox에 저장
+        noticeService.enqueueCommentNotice(post.getAccount().getAccountId(), postId, comment.getContent());
+        eventPublisher.publishEvent(new CommentCreatedEvent(comment.getCommentId(), postId, post.getBoard().getBoardId()));
 
         return comment;
     }
 
-    public List<Comment> findPostCommentList(Long postId){
-        Post post = postService.findPostById(postId);
-        return commentRepository.findAllByPost(post);
+    /* 게시글의 전체 댓글 수 (post.comment_count), 게시글이 없으면 EntityNotFoundException */
+    @Transactional(readOnly = true)
+    public long countPostComments(Long postId){
+        return postService.findCommentCount(postId);
+    }
+
+    /* 게시글의 댓글 스레드를 cursor(마지막으로 받은 루트 commentId) 이후부터 threads개씩 작성순으로 조회 */
+    /* 각 스레드는 루트와 처음 replies개의 답글을 path 순(깊이 우선)으로 담고, hasNext는 스레드 기준 */
+    /* 루트 id 범위를 정한 뒤 댓글과 작성자 닉네임은 (post_id, path) 범위 조회 한 번으로 가져옴 */
+    @Transactional(readOnly = true)
+    public Slice<CommentResponseDto> findPostThreads(Long postId, Long cursor, int threads, int replies){
+        PageRequest pageRequest = PageRequest.of(0, Math.min(Math.max(threads, 1), MAX_PAGE_SIZE));
+        List<Long> rootIds = commentRepository.findRootIds(postId, cursor == null ? 0L : cursor,
+                PageRequest.of(0, pageRequest.getPageSize() + 1));
+        boolean hasNext = rootIds.size() > pageRequest.getPageSize();
+        if(hasNext){
+            rootIds = rootIds.subList(0, pageRequest.getPageSize());
+        }
+        if(rootIds.isEmpty()){
+            return new SliceImpl<>(List.of(), pageRequest, false);
+        }
+
+        String fromPath = Comment.pathSegment(rootIds.get(0));
+        String toPath = Comment.pathUpperBound(Comment.pathSegment(rootIds.get(rootIds.size() - 1)));
+        long maxReplyNo = Math.min(Math.max(replies, 0), MAX_REPLIES_PER_THREAD);
+        return new SliceImpl<>(commentRepository.findInPathRange(postId, fromPath, toPath, maxReplyNo), pageRequest, hasNext);
+    }
+
+    /* 댓글과 그 아래 모든 답글을 깊이 우선 순서로 조회 (최대 MAX_THREAD_SIZE개) */
+    @Transactional(readOnly = true)
+    public Slice<CommentResponseDto> findThread(Long postId, Long commentId){
+        Comment comment = findCommentById(commentId);
+        if(!comment.getPost().getPostId().equals(postId)){
+            throw new EntityNotFoundException("해당 게시글에 id를 가진 comment가 없습니다. id="+commentId);
+        }
+        return commentRepository.findSubtree(postId, comment.getPath(), Comment.pathUpperBound(comment.getPath()),
+                PageRequest.of(0, MAX_THREAD_SIZE));
     }
 
     /* 작성자의 댓글 목록 조회 */
@@ -59,6 +134,14 @@ public class CommentService {
         return commentRepository.findAllByWriter(writer);
     }
 
+    /* 작성자의 댓글을 한 건씩 consumer에 넘김, 스트림이 열려 있는 동안만 트랜잭션 유지 */
+    @Transactional(readOnly = true)
+    public void streamAccountComments(Long accountId, Consumer<CommentResponseDto> consumer){
+        try (Stream<CommentResponseDto> comments = commentRepository.streamByWriterId(accountId)) {
+            comments.forEach(consumer);
+        }
+    }
+
     /* 댓글 수정 */
     public Comment updateComment(Long id,Long accountId, CommentRequestDto requestdto) {
         Comment comment = findCommentById(id);
@@ -69,13 +152,23 @@ public class CommentService {
         return comment;
     }
 
-    /* 댓글 삭제 */
+    /* 댓글 삭제, 달린 답글도 함께 삭제 */
     public void deleteComment(Long id, Long accountId){
         Comment comment = findCommentById(id);
         if(accountId!=comment.getWriter().getAccountId()){
             throw new CustomDeleteException(ErrorCode.PERMISSION_REJECTED_USER);
         }
-        commentRepository.delete(comment);
+        // 답글까지 하위 트리 전체를 (post_id, path) 범위에서 chunk 단위로 삭제, 많으면 별도 스레드에서
+        Long postId = comment.getPost().getPostId();
+        String fromPath = comment.getPath();
+        String toPath = Comment.pathUpperBound(fromPath);
+        if(aggregateDeletionService.isSmall(commentRepository.countInPathRange(postId, fromPath, toPath))){
+            aggregateDeletionService.deleteCommentSubtree(postId, fromPath, toPath);
+        }
+        else{
+            aggregateDeletionService.deleteCommentSubtreeAsync(postId, fromPath, toPath);
+        }
+        eventPublisher.publishEvent(new CommentDeletedEvent(id, postId));
     }
 
 }
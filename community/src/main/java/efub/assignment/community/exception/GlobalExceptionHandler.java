@@ -21,5 +21,16 @@ public class GlobalExceptionHandler {
         );
         return new ResponseEntity(errorDto, HttpStatus.valueOf(e.getErrorCode().getStatus()));
     }
+
+    @ExceptionHandler({EntityNotFoundException.class})
+    protected ResponseEntity handleEntityNotFoundException(EntityNotFoundException e) {
+        ErrorDto errorDto = new ErrorDto(
+                LocalDateTime.now().toString(),
+                ErrorCode.ENTITY_NOT_FOUND.getStatus(),
+                ErrorCode.ENTITY_NOT_FOUND.name(),
+                e.getMessage()
+        );
+        return new ResponseEntity(errorDto, HttpStatus.valueOf(ErrorCode.ENTITY_NOT_FOUND.getStatus()));
+    }
 }
 
@@ -0,0 +1,19 @@
+package efub.assignment.community.global.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/* @Scheduled 작업이 함께 쓰는 스케줄러 스레드 수 */
+/* 기본값(1개)이면 오래 걸리는 작업(count 보정, outbox drain 등)이 도는 동안 좋아요 flush(200ms), SSE heartbeat 같은 짧은 주기 작업이 밀림 */
+/* spring.task.scheduling.pool.size를 설정하면 그 값을 따르고, 없으면 4개 */
+@Configuration
+public class SchedulingConfig {
+
+    @Bean
+    public ThreadPoolTaskSchedulerCustomizer schedulerPoolSizeCustomizer(
+            @Value("${spring.task.scheduling.pool.size:4}") int poolSize){
+        return scheduler -> scheduler.setPoolSize(poolSize);
+    }
+}
@@ -0,0 +1,207 @@
+package efub.assignment.community.global.deletion;
+
+import efub.assignment.community.board.BoardRepository;
+import efub.assignment.community.board.event.BoardMarkedDeletedEvent;
+import efub.assignment.community.comment.repository.CommentHeartRepository;
+import efub.assignment.community.comment.repository.CommentRepository;
+import efub.assignment.community.message.repository.MessageRepository;
+import efub.assignment.community.messageRoom.repository.MessageRoomRepository;
+import efub.assignment.community.post.PostHeartRepository;
+import efub.assignment.community.post.PostRepository;
+import efub.assignment.community.post.event.PostDeletedEvent;
+import efub.assignment.community.post.event.PostMarkedDeletedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/* 글, 게시판, 쪽지방, 댓글 스레드처럼 자식 행이 많은 묶음을 지우는 서비스 */
+/* cascade로 자식 엔티티를 모두 읽어 한 건씩 지우는 대신, 자식 id를 chunkSize개씩 조회해 DELETE ... WHERE id IN (...)으로 지움 */
+/* 지울 행 수가 inlineThreshold 이하이면 바로, 넘으면 Async로 지우도록 호출하는 쪽에서 isSmall로 판단 */
+/* 글, 게시판을 Async로 지울 때는 호출하는 쪽에서 삭제 표시를 하고 *MarkedDeletedEvent를 발행, 표시가 커밋된 뒤에 지우기 시작 */
+/* 트랜잭션 경계는 각 단계를 실행할 TransactionOperations로 정함 */
+/* - 바로 지우는 메소드: @Transactional 하나(요청 트랜잭션이 있으면 합류) 안에서 각 단계를 그대로 실행, 전부 지우거나 전부 롤백 */
+/* - *Async 메소드, 삭제 표시 이벤트 리스너: 별도 스레드에서 각 단계를 transactionTemplate으로 실행, chunk마다 짧은 트랜잭션으로 커밋 */
+/*   삭제 표시 전에 통과한 쓰기가 그 사이 자식 행을 추가해 마지막 삭제가 FK에 막히면 처음부터 다시 훑어 지움 (최대 maxAttempts번) */
+/* 글에서 시작된 쪽지방은 지우지 않고 글과의 연결만 끊음 (두 사람의 쪽지는 남김) */
+@Slf4j
+@Service
+public class AggregateDeletionService {
+
+    // 현재 트랜잭션 안에서 그대로 실행
+    private static final TransactionOperations INLINE = TransactionOperations.withoutTransaction();
+
+    private final PostRepository postRepository;
+    private final PostHeartRepository postHeartRepository;
+    private final CommentRepository commentRepository;
+    private final CommentHeartRepository commentHeartRepository;
+    private final BoardRepository boardRepository;
+    private final MessageRepository messageRepository;
+    private final MessageRoomRepository messageRoomRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final long inlineThreshold;
+    private final int maxAttempts;
+
+    public AggregateDeletionService(PostRepository postRepository,
+                                    PostHeartRepository postHeartRepository,
+                                    CommentRepository commentRepository,
+                                    CommentHeartRepository commentHeartRepository,
+                                    BoardRepository boardRepository,
+                                    MessageRepository messageRepository,
+                                    MessageRoomRepository messageRoomRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    ApplicationEventPublisher eventPublisher,
+                                    @Value("${deletion.chunk-size:1000}") int chunkSize,
+                                    @Value("${deletion.inline-threshold:1000}") long inlineThreshold,
+                                    @Value("${deletion.max-attempts:3}") int maxAttempts){
+        this.postRepository = postRepository;
+        this.postHeartRepository = postHeartRepository;
+        this.commentRepository = commentRepository;
+        this.commentHeartRepository = commentHeartRepository;
+        this.boardRepository = boardRepository;
+        this.messageRepository = messageRepository;
+        this.messageRoomRepository = messageRoomRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.inlineThreshold = inlineThreshold;
+        this.maxAttempts = maxAttempts;
+    }
+
+    // 요청 안에서 바로 지워도 될 만큼 작은지
+    public boolean isSmall(long rows){
+        return rows <= inlineThreshold;
+    }
+
+    @Transactional
+    public void deletePost(Long postId, Long boardId){
+        deletePost(INLINE, postId, boardId);
+    }
+
+    @Async
+    @TransactionalEventListener
+    public void onPostMarkedDeleted(PostMarkedDeletedEvent event){
+        runInBackground("post", event.postId(), () -> deletePost(transactionTemplate, event.postId(), event.boardId()));
+    }
+
+    @Transactional
+    public void deleteBoard(Long boardId){
+        deleteBoard(INLINE, boardId);
+    }
+
+    @Async
+    @TransactionalEventListener
+    public void onBoardMarkedDeleted(BoardMarkedDeletedEvent event){
+        runInBackground("board", event.boardId(), () -> deleteBoard(transactionTemplate, event.boardId()));
+    }
+
+    @Transactional
+    public void deleteMessageRoom(Long messageRoomId){
+        deleteMessageRoom(INLINE, messageRoomId);
+    }
+
+    @Async
+    public void deleteMessageRoomAsync(Long messageRoomId){
+        runInBackground("messageRoom", messageRoomId, () -> deleteMessageRoom(transactionTemplate, messageRoomId));
+    }
+
+    @Transactional
+    public void deleteCommentSubtree(Long postId, String fromPath, String toPath){
+        deleteCommentSubtree(INLINE, postId, fromPath, toPath);
+    }
+
+    @Async
+    public void deleteCommentSubtreeAsync(Long postId, String fromPath, String toPath){
+        runInBackground("comment", postId, () -> deleteCommentSubtree(transactionTemplate, postId, fromPath, toPath));
+    }
+
+    // 글 하나: 쪽지방 연결 끊기 -> 댓글 좋아요 -> 댓글 -> 글 좋아요 -> 글 순, 글을 지운 트랜잭션이 커밋되면 PostDeletedEvent
+    // message_room.post_id가 글을 참조하므로 연결을 먼저 끊어야 마지막 글 삭제가 FK에 막히지 않음
+    private void deletePost(TransactionOperations tx, Long postId, Long boardId){
+        tx.executeWithoutResult(status -> messageRoomRepository.detachFromPost(postId));
+        deleteInChunks(tx, pageable -> commentRepository.findIdsByPostId(postId, pageable), commentIds -> {
+            commentHeartRepository.deleteByCommentIds(commentIds);
+            commentRepository.deleteByCommentIds(commentIds);
+        });
+        deleteInChunks(tx, pageable -> postHeartRepository.findAccountIdsByPostId(postId, pageable),
+                accountIds -> postHeartRepository.deleteByPostIdAndAccountIds(postId, accountIds));
+        tx.executeWithoutResult(status -> {
+            postRepository.deleteByPostId(postId);
+            eventPublisher.publishEvent(new PostDeletedEvent(postId, boardId));
+        });
+    }
+
+    // 게시판: 글을 chunkSize개씩 골라 하나씩 지운 뒤 게시판 삭제
+    private void deleteBoard(TransactionOperations tx, Long boardId){
+        List<Long> postIds;
+        do {
+            postIds = tx.execute(status -> postRepository.findIdsByBoardId(boardId, PageRequest.of(0, chunkSize)));
+            postIds.forEach(postId -> deletePost(tx, postId, boardId));
+        } while(postIds.size() == chunkSize);
+        tx.executeWithoutResult(status -> boardRepository.deleteByBoardId(boardId));
+    }
+
+    // 쪽지방: 쪽지 -> 쪽지방 순으로 삭제
+    private void deleteMessageRoom(TransactionOperations tx, Long messageRoomId){
+        deleteInChunks(tx, pageable -> messageRepository.findIdsByMessageRoomId(messageRoomId, pageable),
+                messageRepository::deleteByMessageIds);
+        tx.executeWithoutResult(status -> messageRoomRepository.deleteByMessageRoomId(messageRoomId));
+    }
+
+    // 댓글 하위 트리 [fromPath, toPath): chunk마다 좋아요, 댓글을 지우고 글의 댓글 수를 같은 트랜잭션에서 줄임
+    private void deleteCommentSubtree(TransactionOperations tx, Long postId, String fromPath, String toPath){
+        deleteInChunks(tx, pageable -> commentRepository.findIdsInPathRange(postId, fromPath, toPath, pageable), commentIds -> {
+            commentHeartRepository.deleteByCommentIds(commentIds);
+            int deleted = commentRepository.deleteByCommentIds(commentIds);
+            postRepository.addCommentCount(postId, -deleted);
+        });
+    }
+
+    // 지울 id를 chunkSize개씩 조회해서 지우기를 더 이상 남은 행이 없을 때까지 반복, chunk 하나가 tx 한 번
+    private void deleteInChunks(TransactionOperations tx, Function<Pageable, List<Long>> idFinder, Consumer<List<Long>> deleter){
+        List<Long> ids;
+        do {
+            ids = tx.execute(status -> {
+                List<Long> chunk = idFinder.apply(PageRequest.of(0, chunkSize));
+                if(!chunk.isEmpty()){
+                    deleter.accept(chunk);
+                }
+                return chunk;
+            });
+        } while(ids.size() == chunkSize);
+    }
+
+    private void runInBackground(String target, Long id, Runnable deletion){
+        long start = System.currentTimeMillis();
+        for(int attempt = 1; ; attempt++){
+            try {
+                deletion.run();
+                log.info("{} {} 일괄 삭제 완료 ({}ms)", target, id, System.currentTimeMillis() - start);
+                return;
+            } catch (DataIntegrityViolationException e) {
+                if(attempt >= maxAttempts){
+                    log.error("{} {} 일괄 삭제 실패, 지우는 동안 자식 행이 계속 추가됨, 다시 요청하면 이어서 지움", target, id, e);
+                    return;
+                }
+                log.warn("{} {} 일괄 삭제 중 추가된 자식 행이 있어 다시 훑음 ({}/{})", target, id, attempt, maxAttempts);
+            } catch (RuntimeException e) {
+                log.error("{} {} 일괄 삭제 실패, 이미 지운 chunk는 유지되므로 다시 요청하면 이어서 지움", target, id, e);
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package efub.assignment.community.global.pagination;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/* (생성일시, id) 기준 keyset 페이지네이션 cursor */
+/* 클라이언트에게는 Base64(URL-safe)로 인코딩된 불투명 토큰으로만 노출 */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class KeysetCursor {
+    private static final String DELIMITER = "|";
+
+    private final LocalDateTime createdDate;
+    private final Long id;
+
+    public static KeysetCursor of(LocalDateTime createdDate, Long id){
+        return new KeysetCursor(createdDate, id);
+    }
+
+    public String encode(){
+        String raw = createdDate + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token){
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(DELIMITER);
+            return new KeysetCursor(
+                    LocalDateTime.parse(raw.substring(0, index)),
+                    Long.parseLong(raw.substring(index + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("유효하지 않은 cursor입니다. cursor=" + token);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package efub.assignment.community.global.scheduler;
+
+import efub.assignment.community.comment.repository.CommentRepository;
+import efub.assignment.community.post.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.BiFunction;
+
+/* 비정규화된 카운터(heart_count, comment_count)가 실제 행 수와 어긋난 경우를 주기적으로 보정 */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CountReconcileScheduler {
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${count.reconcile.chunk-size:1000}")
+    private long chunkSize;
+
+    @Scheduled(cron = "${count.reconcile.cron:0 30 4 * * *}")
+    public void reconcile(){
+        int posts = reconcileInChunks(postRepository.findMaxPostId(), postRepository::reconcileHeartCount);
+        int comments = reconcileInChunks(commentRepository.findMaxCommentId(), commentRepository::reconcileHeartCount);
+        log.info("좋아요 수 보정 완료: post {}건, comment {}건", posts, comments);
+        int commentCounts = reconcileInChunks(postRepository.findMaxPostId(), postRepository::reconcileCommentCount);
+        log.info("댓글 수 보정 완료: post {}건", commentCounts);
+    }
+
+    // id 구간 (fromId, toId]을 chunkSize 단위로 나누고, 구간마다 짧은 트랜잭션으로 보정
+    private int reconcileInChunks(long maxId, BiFunction<Long, Long, Integer> reconciler){
+        int fixed = 0;
+        for(long fromId = 0; fromId < maxId; fromId += chunkSize){
+            final long from = fromId;
+            final long to = Math.min(fromId + chunkSize, maxId);
+            Integer updated = transactionTemplate.execute(status -> reconciler.apply(from, to));
+            fixed += updated == null ? 0 : updated;
+        }
+        return fixed;
+    }
+}
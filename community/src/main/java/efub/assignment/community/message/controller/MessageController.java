@@ -3,26 +3,31 @@ package efub.assignment.community.message.controller;
 import efub.assignment.community.message.domain.Message;
 import efub.assignment.community.message.dto.MessageRequestDto;
 import efub.assignment.community.message.dto.MessageResponseDto;
+import efub.assignment.community.message.service.MessageGroupCommitWriter;
 import efub.assignment.community.message.service.MessageService;
-import efub.assignment.community.messageRoom.domain.MessageRoom;
-import efub.assignment.community.messageRoom.dto.MessageRoomRequestDto;
-import efub.assignment.community.messageRoom.dto.MessageRoomResponseDto;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/messages")
 public class MessageController {
     private final MessageService messageService;
+    private final Optional<MessageGroupCommitWriter> messageGroupCommitWriter;
 
-    //message 생성 api
+    //message 생성 api, group commit을 켠 경우 쪽지가 담긴 batch가 커밋되면 응답
     @PostMapping
     @ResponseStatus(value = HttpStatus.CREATED)
-    public MessageResponseDto createMessage(@RequestBody @Valid final MessageRequestDto dto){
+    public CompletableFuture<MessageResponseDto> createMessage(@RequestBody @Valid final MessageRequestDto dto){
+        if(messageGroupCommitWriter.isPresent()){
+            return messageGroupCommitWriter.get().submit(dto);
+        }
         Message message = messageService.createMessage(dto);
-        return MessageResponseDto.from(message);
+        return CompletableFuture.completedFuture(MessageResponseDto.from(message));
     }
 }
@@ -10,6 +10,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
+// 쪽지방 쪽지 목록을 message_id 역순으로 범위 조회
+@Table(indexes = @Index(name = "idx_message_room_message", columnList = "messageRoom_id, message_id"))
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Message extends BaseTimeEntity {
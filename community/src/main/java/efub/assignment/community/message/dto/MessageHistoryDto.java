@@ -0,0 +1,17 @@
+package efub.assignment.community.message.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/* 쪽지방 쪽지 목록 한 줄, 보낸 사람과 쪽지방은 FK 값만 담아 프록시를 초기화하지 않음 */
+@Getter
+@AllArgsConstructor // JPQL 생성자 projection에서 사용
+public class MessageHistoryDto {
+    private Long messageId;
+    private Long messageRoomId;
+    private Long sendAccountId;
+    private String content;
+    private LocalDateTime createdDate;
+}
@@ -0,0 +1,7 @@
+package efub.assignment.community.message.event;
+
+import java.time.LocalDateTime;
+
+/* 쪽지가 저장된 경우 발행 */
+public record MessageCreatedEvent(Long messageId, Long messageRoomId, Long sendAccountId, String content, LocalDateTime createdDate) {
+}
@@ -0,0 +1,20 @@
+package efub.assignment.community.message.push;
+
+import efub.assignment.community.message.dto.MessageHistoryDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/* 서버 한 대용 broker, 같은 프로세스의 구독자에게 바로 전달 */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "message.push.broker", havingValue = "local", matchIfMissing = true)
+public class LocalMessageBroker implements MessageBroker {
+
+    private final MessageSubscriberRegistry messageSubscriberRegistry;
+
+    @Override
+    public void publish(MessageHistoryDto message) {
+        messageSubscriberRegistry.deliver(message);
+    }
+}
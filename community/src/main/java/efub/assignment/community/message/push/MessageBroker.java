@@ -0,0 +1,9 @@
+package efub.assignment.community.message.push;
+
+import efub.assignment.community.message.dto.MessageHistoryDto;
+
+/* 새 쪽지를 쪽지방 구독자가 연결된 서버로 전달 */
+/* 서버가 여러 대이면 pub/sub 채널을 쓰는 구현으로 바꾸고, 각 서버는 받은 쪽지를 자기 MessageSubscriberRegistry.deliver로 넘김 */
+public interface MessageBroker {
+    void publish(MessageHistoryDto message);
+}
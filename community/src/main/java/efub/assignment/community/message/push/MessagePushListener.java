@@ -0,0 +1,21 @@
+package efub.assignment.community.message.push;
+
+import efub.assignment.community.message.dto.MessageHistoryDto;
+import efub.assignment.community.message.event.MessageCreatedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/* 쪽지 저장 트랜잭션이 커밋된 뒤에만 구독자에게 보냄 */
+@Component
+@RequiredArgsConstructor
+public class MessagePushListener {
+
+    private final MessageBroker messageBroker;
+
+    @TransactionalEventListener
+    public void onMessageCreated(MessageCreatedEvent event) {
+        messageBroker.publish(new MessageHistoryDto(event.messageId(), event.messageRoomId(), event.sendAccountId(),
+                event.content(), event.createdDate()));
+    }
+}
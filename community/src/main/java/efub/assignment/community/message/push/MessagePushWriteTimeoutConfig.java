@@ -0,0 +1,28 @@
+package efub.assignment.community.message.push;
+
+import org.apache.coyote.AbstractProtocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/* SSE 쓰기가 막힌 연결이 전송 스레드를 붙잡는 시간을 message.push.send-timeout-ms로 제한 */
+/* Tomcat은 응답의 blocking write를 커넥터의 connectionTimeout만큼 기다린 뒤 IOException으로 실패시키고, 요청마다 따로 정할 수는 없음 */
+/* 그래서 connectionTimeout이 sendTimeoutMs보다 길면 sendTimeoutMs로 줄이고, keep-alive 대기 시간은 원래 값으로 고정 */
+/* 막힌 send는 그 시간이 지나면 실패하고, 전송 스레드는 연결을 닫은 뒤 다른 연결로 넘어감 */
+@Configuration
+public class MessagePushWriteTimeoutConfig {
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> messagePushWriteTimeoutCustomizer(
+            @Value("${message.push.send-timeout-ms:10000}") long sendTimeoutMs){
+        return factory -> factory.addConnectorCustomizers(connector -> {
+            if(connector.getProtocolHandler() instanceof AbstractProtocol<?> protocol
+                    && protocol.getConnectionTimeout() > sendTimeoutMs){
+                protocol.setKeepAliveTimeout(protocol.getKeepAliveTimeout());
+                protocol.setConnectionTimeout((int) sendTimeoutMs);
+            }
+        });
+    }
+}
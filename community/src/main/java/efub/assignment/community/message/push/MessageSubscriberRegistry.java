@@ -0,0 +1,146 @@
+package efub.assignment.community.message.push;
+
+import efub.assignment.community.message.dto.MessageHistoryDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/* 이 서버에 연결된 쪽지방별 SSE 구독자 목록 */
+/* deliver는 각 연결의 큐에 넣기만 하고 바로 반환, 실제 전송은 senderThreads개의 전송 스레드가 연결별로 순서대로 처리 */
+/* 큐가 가득 찬 느린 연결은 끊음, 클라이언트는 다시 연결한 뒤 쪽지 목록 api로 빠진 쪽지를 채움 */
+/* heartbeatMs마다 모든 연결에 heartbeat 주석을 보내 끊긴 연결을 emitter timeout 전에 정리, 연결을 senderThreads개 묶음으로 나눠 묶음마다 작업 하나로 보냄 */
+/* 막힌 blocking write는 sendTimeoutMs가 지나면 실패하고 (MessagePushWriteTimeoutConfig) 전송 스레드는 그 연결을 닫고 넘어감 */
+/* heartbeat 때 sendTimeoutMs 넘게 끝나지 않은 send가 보이면 그 연결은 더 보내지 않도록 포기 */
+@Slf4j
+@Component
+public class MessageSubscriberRegistry {
+
+    private final Map<Long, Set<MessageSubscription>> subscriptions = new ConcurrentHashMap<>();
+    private final ExecutorService sender;
+    private final int senderThreads;
+    private final int queueCapacity;
+    private final long timeoutMs;
+    private final long sendTimeoutMs;
+
+    public MessageSubscriberRegistry(@Value("${message.push.queue-capacity:100}") int queueCapacity,
+                                     @Value("${message.push.sender-threads:4}") int senderThreads,
+                                     @Value("${message.push.timeout-ms:1800000}") long timeoutMs,
+                                     @Value("${message.push.send-timeout-ms:10000}") long sendTimeoutMs){
+        this.queueCapacity = queueCapacity;
+        this.timeoutMs = timeoutMs;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.senderThreads = senderThreads;
+        this.sender = Executors.newFixedThreadPool(senderThreads);
+    }
+
+    // 쪽지방 구독, 연결이 끝나거나 시간이 지나거나 오류가 나면 목록에서 빠짐
+    public SseEmitter subscribe(Long messageRoomId){
+        return subscribe(messageRoomId, new SseEmitter(timeoutMs));
+    }
+
+    SseEmitter subscribe(Long messageRoomId, SseEmitter emitter){
+        MessageSubscription subscription = new MessageSubscription(emitter, queueCapacity);
+        subscriptions.compute(messageRoomId, (id, roomSubscriptions) -> {
+            Set<MessageSubscription> updated = roomSubscriptions == null ? ConcurrentHashMap.newKeySet() : roomSubscriptions;
+            updated.add(subscription);
+            return updated;
+        });
+        emitter.onCompletion(() -> unsubscribe(messageRoomId, subscription));
+        emitter.onTimeout(() -> unsubscribe(messageRoomId, subscription));
+        emitter.onError(e -> unsubscribe(messageRoomId, subscription));
+        return emitter;
+    }
+
+    // 쪽지방의 모든 구독자 큐에 쪽지를 넣음
+    public void deliver(MessageHistoryDto message){
+        Set<MessageSubscription> roomSubscriptions = subscriptions.get(message.getMessageRoomId());
+        if(roomSubscriptions == null){
+            return;
+        }
+        for(MessageSubscription subscription : roomSubscriptions){
+            if(!subscription.offer(message)){
+                log.info("쪽지 구독 큐가 가득 차 연결을 끊습니다. messageRoomId={}", message.getMessageRoomId());
+                close(message.getMessageRoomId(), subscription);
+            }
+            else{
+                schedule(message.getMessageRoomId(), subscription);
+            }
+        }
+    }
+
+    // 모든 연결에 heartbeat를 보냄, send가 sendTimeoutMs 넘게 끝나지 않고 있는 연결은 끊음
+    // 연결마다 작업을 예약하지 않고 senderThreads개 묶음으로 나눠 묶음마다 작업 하나가 차례로 비움
+    // 이미 비우는 작업이 예약된 연결은 그 작업이 heartbeat까지 보내므로 묶음에 넣지 않음
+    @Scheduled(fixedDelayString = "${message.push.heartbeat-ms:15000}")
+    public void sendHeartbeats(){
+        List<List<Map.Entry<Long, MessageSubscription>>> batches = new ArrayList<>();
+        for(int i = 0; i < senderThreads; i++){
+            batches.add(new ArrayList<>());
+        }
+        int next = 0;
+        for(Map.Entry<Long, Set<MessageSubscription>> room : subscriptions.entrySet()){
+            Long messageRoomId = room.getKey();
+            for(MessageSubscription subscription : room.getValue()){
+                if(subscription.isSendingLongerThan(sendTimeoutMs)){
+                    log.info("쪽지 전송이 {}ms 넘게 끝나지 않아 연결을 끊습니다. messageRoomId={}", sendTimeoutMs, messageRoomId);
+                    close(messageRoomId, subscription);
+                    continue;
+                }
+                subscription.requestHeartbeat();
+                if(subscription.markScheduled()){
+                    batches.get(next++ % senderThreads).add(Map.entry(messageRoomId, subscription));
+                }
+            }
+        }
+        for(List<Map.Entry<Long, MessageSubscription>> batch : batches){
+            if(!batch.isEmpty()){
+                sender.execute(() -> batch.forEach(entry -> drain(entry.getKey(), entry.getValue())));
+            }
+        }
+    }
+
+    int countSubscribers(Long messageRoomId){
+        Set<MessageSubscription> roomSubscriptions = subscriptions.get(messageRoomId);
+        return roomSubscriptions == null ? 0 : roomSubscriptions.size();
+    }
+
+    private void schedule(Long messageRoomId, MessageSubscription subscription){
+        if(subscription.markScheduled()){
+            sender.execute(() -> drain(messageRoomId, subscription));
+        }
+    }
+
+    private void drain(Long messageRoomId, MessageSubscription subscription){
+        if(!subscription.drain()){
+            unsubscribe(messageRoomId, subscription);
+        }
+    }
+
+    private void close(Long messageRoomId, MessageSubscription subscription){
+        unsubscribe(messageRoomId, subscription);
+        subscription.close();
+    }
+
+    private void unsubscribe(Long messageRoomId, MessageSubscription subscription){
+        subscriptions.computeIfPresent(messageRoomId, (id, roomSubscriptions) -> {
+            roomSubscriptions.remove(subscription);
+            return roomSubscriptions.isEmpty() ? null : roomSubscriptions;
+        });
+    }
+
+    @PreDestroy
+    void shutdown(){
+        sender.shutdownNow();
+    }
+}
@@ -0,0 +1,111 @@
+package efub.assignment.community.message.push;
+
+import efub.assignment.community.message.dto.MessageHistoryDto;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/* SSE 연결 하나, 보낼 쪽지를 크기가 정해진 큐에 담아 두고 전송 스레드가 순서대로 보냄 */
+class MessageSubscription {
+
+    private final SseEmitter emitter;
+    private final BlockingQueue<MessageHistoryDto> queue;
+    // 이 연결을 비우는 작업이 이미 예약되어 있는지, 한 연결은 한 번에 한 스레드만 보냄
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    // 다음에 비울 때 heartbeat를 보내야 하는지
+    private final AtomicBoolean heartbeatRequested = new AtomicBoolean();
+    // 연결을 포기했는지, 보내는 중인 스레드는 지금 보내는 것까지만 보내고 멈춤
+    private volatile boolean closed;
+    // 진행 중인 send를 시작한 시각 (보내는 중이 아니면 0)
+    private volatile long sendStartedAt;
+
+    MessageSubscription(SseEmitter emitter, int queueCapacity) {
+        this.emitter = emitter;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    // 기다리지 않고 큐에 넣음, 큐가 가득 차면 false
+    boolean offer(MessageHistoryDto message) {
+        return queue.offer(message);
+    }
+
+    // 비우는 작업을 새로 예약해야 하면 true
+    boolean markScheduled() {
+        return scheduled.compareAndSet(false, true);
+    }
+
+    void requestHeartbeat() {
+        heartbeatRequested.set(true);
+    }
+
+    // 진행 중인 send가 timeoutMs 넘게 끝나지 않고 있는지
+    boolean isSendingLongerThan(long timeoutMs) {
+        long startedAt = sendStartedAt;
+        return startedAt != 0 && System.currentTimeMillis() - startedAt >= timeoutMs;
+    }
+
+    // 큐가 빌 때까지 보냄, 끝내는 사이에 들어온 쪽지가 있으면 이어서 보냄
+    // 연결을 닫았으면 (포기했거나 클라이언트가 끊어 보내다 실패한 경우) false
+    boolean drain() {
+        try {
+            do {
+                MessageHistoryDto message;
+                while(!closed && (message = queue.poll()) != null){
+                    send(SseEmitter.event()
+                            .id(String.valueOf(message.getMessageId()))
+                            .name("message")
+                            .data(message));
+                }
+                if(!closed && heartbeatRequested.getAndSet(false)){
+                    send(SseEmitter.event().comment("heartbeat"));
+                }
+                if(closed){
+                    // scheduled를 가진 채로 닫으므로 다시 예약되지 않음
+                    emitter.complete();
+                    return false;
+                }
+                scheduled.set(false);
+            } while(hasPending() && markScheduled());
+            // scheduled를 놓은 사이에 close가 들어와 닫지 못했으면 여기서 닫음
+            if(closed && markScheduled()){
+                emitter.complete();
+                return false;
+            }
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트가 이미 연결을 끊은 경우
+            closed = true;
+            emitter.complete();
+            return false;
+        }
+    }
+
+    // 더 보내지 않도록 표시하고, 보내는 중인 스레드가 없으면 바로 닫음 (있으면 그 스레드가 지금 send를 끝낸 뒤 닫음)
+    // 느린 send가 emitter lock을 잡고 있어도 호출한 스레드는 기다리지 않음
+    void close() {
+        closed = true;
+        if(markScheduled()){
+            emitter.complete();
+        }
+    }
+
+    private boolean hasPending() {
+        return !queue.isEmpty() || heartbeatRequested.get();
+    }
+
+    private void send(SseEmitter.SseEventBuilder event) throws IOException {
+        sendStartedAt = System.currentTimeMillis();
+        try {
+            emitter.send(event);
+        } finally {
+            sendStartedAt = 0;
+        }
+    }
+}
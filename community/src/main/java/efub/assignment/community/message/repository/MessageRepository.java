@@ -1,11 +1,39 @@
 package efub.assignment.community.message.repository;
 
 import efub.assignment.community.message.domain.Message;
-import efub.assignment.community.messageRoom.domain.MessageRoom;
+import efub.assignment.community.message.dto.MessageHistoryDto;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface MessageRepository extends JpaRepository<Message, Long> {
-    List<Message> findAllByMessageRoom(MessageRoom messageRoom);
+    // 쪽지방의 before보다 오래된 쪽지를 최신순으로, (messageRoom_id, message_id) 인덱스 범위 조회
+    // m.sendAccount.accountId, m.messageRoom.messageRoomId는 FK 컬럼을 그대로 읽으므로 join하지 않음
+    @Query("select new efub.assignment.community.message.dto.MessageHistoryDto(" +
+            "m.messageId, m.messageRoom.messageRoomId, m.sendAccount.accountId, m.content, m.createdDate) " +
+            "from Message m where m.messageRoom.messageRoomId = :messageRoomId and m.messageId < :before " +
+            "order by m.messageId desc")
+    List<MessageHistoryDto> findHistoryBefore(@Param("messageRoomId") Long messageRoomId,
+                                              @Param("before") Long before,
+                                              Pageable pageable);
+
+    long countByMessageRoom_MessageRoomId(Long messageRoomId);
+
+    // 일괄 삭제용 chunk 조회
+    @Query("select m.messageId from Message m where m.messageRoom.messageRoomId = :messageRoomId")
+    List<Long> findIdsByMessageRoomId(@Param("messageRoomId") Long messageRoomId, Pageable pageable);
+
+    @Modifying
+    @Query("delete from Message m where m.messageId in :messageIds")
+    int deleteByMessageIds(@Param("messageIds") Collection<Long> messageIds);
+
+    // 중복 쪽지방을 합칠 때 쪽지를 남길 쪽지방으로 옮김 (messageRoom_id는 엔티티에서 수정할 수 없는 칼럼이라 native)
+    @Modifying
+    @Query(value = "update message set message_room_id = :toMessageRoomId where message_room_id = :fromMessageRoomId", nativeQuery = true)
+    int moveToMessageRoom(@Param("fromMessageRoomId") Long fromMessageRoomId, @Param("toMessageRoomId") Long toMessageRoomId);
 }
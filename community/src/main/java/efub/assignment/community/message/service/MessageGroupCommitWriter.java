@@ -0,0 +1,308 @@
+package efub.assignment.community.message.service;
+
+import efub.assignment.community.account.service.AccountService;
+import efub.assignment.community.message.dto.MessageRequestDto;
+import efub.assignment.community.message.dto.MessageResponseDto;
+import efub.assignment.community.message.event.MessageCreatedEvent;
+import efub.assignment.community.messageRoom.domain.MessageRoom;
+import efub.assignment.community.messageRoom.dto.MessageRoomParticipantsDto;
+import efub.assignment.community.messageRoom.repository.MessageRoomRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/* 쪽지 group commit 저장 (message.group-commit.enabled=true 일 때만 등록) */
+/* 요청 스레드는 쪽지를 큐에 넣고 CompletableFuture를 받음, writer 스레드 하나가 lingerMs 동안 모은 쪽지를 */
+/* 한 트랜잭션에서 쪽지방, 보낸 사람 확인(IN 쿼리 각 1번) -> JDBC batch insert -> 쪽지방별 UPDATE 1번으로 저장하고 커밋되면 future를 완료 */
+/* 큐가 가득 차면 요청 스레드에서 바로 저장 (MessageService.createMessage) */
+/* MySQL에서 실제로 한 번의 다중 행 insert가 되려면 JDBC URL에 rewriteBatchedStatements=true 필요 */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "message.group-commit.enabled", havingValue = "true")
+public class MessageGroupCommitWriter {
+
+    private static final String INSERT_MESSAGE = "insert into message " +
+            "(message_room_id, send_account_id, content, created_date, modified_date) values (?, ?, ?, ?, ?)";
+
+    private final MessageService messageService;
+    private final MessageRoomRepository messageRoomRepository;
+    private final AccountService accountService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlockingQueue<PendingMessage> queue;
+    private final ExecutorService writer =
+            Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "message-group-commit"));
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final Timer commitTimer;
+    private final DistributionSummary batchSizeSummary;
+    private volatile boolean running = true;
+
+    public MessageGroupCommitWriter(MessageService messageService,
+                                    MessageRoomRepository messageRoomRepository,
+                                    AccountService accountService,
+                                    JdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate,
+                                    ApplicationEventPublisher eventPublisher,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${message.group-commit.queue-capacity:10000}") int queueCapacity,
+                                    @Value("${message.group-commit.max-batch-size:200}") int maxBatchSize,
+                                    @Value("${message.group-commit.linger-ms:5}") long lingerMs){
+        this.messageService = messageService;
+        this.messageRoomRepository = messageRoomRepository;
+        this.accountService = accountService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        this.commitTimer = Timer.builder("message.group-commit.commit")
+                .description("쪽지 group commit batch 저장 소요 시간")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("message.group-commit.batch-size")
+                .description("쪽지 group commit batch 하나에 담긴 쪽지 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start(){
+        writer.execute(this::run);
+    }
+
+    // 쪽지를 큐에 넣고, 쪽지가 속한 batch가 커밋되면 완료되는 future 반환
+    public CompletableFuture<MessageResponseDto> submit(MessageRequestDto dto){
+        PendingMessage pending = new PendingMessage(dto, new CompletableFuture<>());
+        if(!running || !queue.offer(pending)){
+            return writeNow(dto);
+        }
+        // running 확인과 offer 사이에 writer가 종료되었을 수 있으므로 다시 확인하고, 아직 큐에 남아 있으면 직접 저장
+        if(!running && queue.remove(pending)){
+            return writeNow(dto);
+        }
+        return pending.future();
+    }
+
+    private CompletableFuture<MessageResponseDto> writeNow(MessageRequestDto dto){
+        return CompletableFuture.completedFuture(MessageResponseDto.from(messageService.createMessage(dto)));
+    }
+
+    private void run(){
+        List<PendingMessage> batch = new ArrayList<>(maxBatchSize);
+        while(running || !queue.isEmpty()){
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if(!batch.isEmpty()){
+                commit(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    // 첫 쪽지를 기다린 뒤 lingerMs 동안 또는 maxBatchSize개가 될 때까지 모음
+    private void collect(List<PendingMessage> batch) throws InterruptedException {
+        PendingMessage first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if(first == null){
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + lingerNanos;
+        while(batch.size() < maxBatchSize){
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if(batch.size() >= maxBatchSize || remaining <= 0){
+                break;
+            }
+            PendingMessage next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if(next == null){
+                break;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void commit(List<PendingMessage> batch){
+        Timer.Sample sample = Timer.start();
+        batchSizeSummary.record(batch.size());
+        try {
+            List<SavedMessage> saved = transactionTemplate.execute(status -> write(batch));
+            saved.forEach(message -> message.pending().future().complete(message.toResponse()));
+        } catch (RuntimeException e) {
+            // batch 전체가 롤백되었으므로 한 건씩 다시 저장해서 실패한 쪽지만 골라냄
+            log.warn("쪽지 group commit 실패, 한 건씩 다시 시도합니다. ({}건)", batch.size(), e);
+            for(PendingMessage pending : batch){
+                try {
+                    transactionTemplate.execute(status -> write(List.of(pending)))
+                            .forEach(message -> message.pending().future().complete(message.toResponse()));
+                } catch (RuntimeException rowException) {
+                    pending.future().completeExceptionally(rowException);
+                }
+            }
+        }
+        sample.stop(commitTimer);
+    }
+
+    // 없는 쪽지방, 계정으로 보낸 쪽지는 future를 실패로 완료하고 나머지를 저장
+    private List<SavedMessage> write(List<PendingMessage> batch){
+        Set<Long> messageRoomIds = batch.stream().map(pending -> pending.dto().getMessageRoomId()).collect(Collectors.toSet());
+        Set<Long> accountIds = batch.stream().map(pending -> pending.dto().getSendAccountId()).collect(Collectors.toSet());
+        Map<Long, MessageRoomParticipantsDto> messageRooms = messageRoomRepository.findParticipantsByIds(messageRoomIds).stream()
+                .collect(Collectors.toMap(MessageRoomParticipantsDto::getMessageRoomId, Function.identity()));
+        Set<Long> existingAccountIds = new HashSet<>(accountService.findExistingAccountIds(accountIds));
+
+        List<PendingMessage> valid = new ArrayList<>(batch.size());
+        for(PendingMessage pending : batch){
+            MessageRequestDto dto = pending.dto();
+            if(!messageRooms.containsKey(dto.getMessageRoomId())){
+                pending.future().completeExceptionally(
+                        new EntityNotFoundException("해당 id의 messageRoom이 존재하지 않습니다.id" + dto.getMessageRoomId()));
+            }
+            else if(!existingAccountIds.contains(dto.getSendAccountId())){
+                pending.future().completeExceptionally(
+                        new EntityNotFoundException("해당 id를 가진 Account를 찾을 수 없습니다. id=" + dto.getSendAccountId()));
+            }
+            else{
+                valid.add(pending);
+            }
+        }
+        if(valid.isEmpty()){
+            return List.of();
+        }
+
+        List<SavedMessage> saved = insert(valid);
+        record(saved, messageRooms);
+        return saved;
+    }
+
+    // 하나의 PreparedStatement에 모든 쪽지를 addBatch 한 뒤 한 번에 실행
+    private List<SavedMessage> insert(List<PendingMessage> messages){
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp createdDate = Timestamp.valueOf(now);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_MESSAGE, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        MessageRequestDto dto = messages.get(i).dto();
+                        ps.setLong(1, dto.getMessageRoomId());
+                        ps.setLong(2, dto.getSendAccountId());
+                        ps.setString(3, dto.getContent());
+                        ps.setTimestamp(4, createdDate);
+                        ps.setTimestamp(5, createdDate);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return messages.size();
+                    }
+                }, keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if(keys.size() != messages.size()){
+            throw new IllegalStateException("생성된 키 개수가 행 수와 다릅니다. rows=" + messages.size() + ", keys=" + keys.size());
+        }
+        List<SavedMessage> saved = new ArrayList<>(messages.size());
+        for(int i = 0; i < messages.size(); i++){
+            Long messageId = ((Number) keys.get(i).values().iterator().next()).longValue();
+            saved.add(new SavedMessage(messages.get(i), messageId, now));
+        }
+        return saved;
+    }
+
+    // 쪽지방별로 마지막 쪽지와 쪽마다 늘어난 안 읽은 쪽지 수를 모아 UPDATE 한 번, 커밋 후 구독자에게 보낼 이벤트 발행
+    private void record(List<SavedMessage> saved, Map<Long, MessageRoomParticipantsDto> messageRooms){
+        Map<Long, RoomDelta> deltas = new LinkedHashMap<>();
+        for(SavedMessage message : saved){
+            MessageRequestDto dto = message.pending().dto();
+            MessageRoomParticipantsDto participants = messageRooms.get(dto.getMessageRoomId());
+            RoomDelta delta = deltas.computeIfAbsent(dto.getMessageRoomId(), id -> new RoomDelta());
+            delta.last = message;
+            // low/high가 아직 채워지지 않은 쪽지방(backfill 전)은 recordMessage처럼 안 읽은 쪽지 수를 늘리지 않음
+            if(participants.getLowAccountId() != null && !participants.getLowAccountId().equals(dto.getSendAccountId())){
+                delta.lowUnread++;
+            }
+            if(participants.getHighAccountId() != null && !participants.getHighAccountId().equals(dto.getSendAccountId())){
+                delta.highUnread++;
+            }
+            eventPublisher.publishEvent(new MessageCreatedEvent(message.messageId(), dto.getMessageRoomId(),
+                    dto.getSendAccountId(), dto.getContent(), message.createdDate()));
+        }
+        deltas.forEach((messageRoomId, delta) -> messageRoomRepository.recordMessages(messageRoomId,
+                delta.last.messageId(), MessageRoom.preview(delta.last.pending().dto().getContent()),
+                delta.last.createdDate(), delta.lowUnread, delta.highUnread));
+    }
+
+    // 종료 시 큐에 남은 쪽지를 모두 저장
+    @PreDestroy
+    public void drain() throws InterruptedException {
+        running = false;
+        writer.shutdown();
+        if(!writer.awaitTermination(10, TimeUnit.SECONDS)){
+            // 기다리는 요청이 끝나지 않은 채 남지 않도록 저장하지 못한 쪽지의 future를 실패로 완료
+            List<PendingMessage> leftover = new ArrayList<>();
+            queue.drainTo(leftover);
+            leftover.forEach(pending -> pending.future().completeExceptionally(
+                    new IllegalStateException("쪽지 group commit writer가 종료되어 저장하지 못했습니다.")));
+            log.error("종료 전에 저장하지 못한 쪽지 {}건", leftover.size());
+        }
+    }
+
+    private record PendingMessage(MessageRequestDto dto, CompletableFuture<MessageResponseDto> future) {
+    }
+
+    private record SavedMessage(PendingMessage pending, Long messageId, LocalDateTime createdDate) {
+        private MessageResponseDto toResponse(){
+            MessageRequestDto dto = pending.dto();
+            return MessageResponseDto.builder()
+                    .messageRoomId(dto.getMessageRoomId())
+                    .sendAccountId(dto.getSendAccountId())
+                    .content(dto.getContent())
+                    .createdDate(createdDate)
+                    .build();
+        }
+    }
+
+    private static class RoomDelta {
+        private SavedMessage last;
+        private long lowUnread;
+        private long highUnread;
+    }
+}
@@ -3,30 +3,40 @@ package efub.assignment.community.message.service;
 
 import efub.assignment.community.account.domain.Account;
 import efub.assignment.community.account.service.AccountService;
-import efub.assignment.community.board.domain.Board;
 import efub.assignment.community.message.domain.Message;
+import efub.assignment.community.message.dto.MessageHistoryDto;
+import efub.assignment.community.message.event.MessageCreatedEvent;
 import efub.assignment.community.message.dto.MessageRequestDto;
 import efub.assignment.community.message.repository.MessageRepository;
 import efub.assignment.community.messageRoom.domain.MessageRoom;
-import efub.assignment.community.messageRoom.dto.MessageRoomRequestDto;
 import efub.assignment.community.messageRoom.service.MessageRoomService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class MessageService {
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private MessageRoomService messageRoomService;
     @Autowired
     private AccountService accountService;
     @Autowired
     private MessageRepository messageRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
 
     // message 생성
@@ -34,22 +44,31 @@ public class MessageService {
 
         MessageRoom messageRoom = messageRoomService.findMessageRoomById(dto.getMessageRoomId());
         Account sendAccount = accountService.findAccountById(dto.getSendAccountId());
-        Message message = dto.toEntity(messageRoom, sendAccount, dto.getContent());
-        return messageRepository.save(message);
+        return createMessage(messageRoom, sendAccount, dto.getContent());
     }
 
-    // messageRoom 생성 시 첫 message 생성
-    public Message createFirstMessage(Long messageRoomId, MessageRoomRequestDto dto) {
-
-        MessageRoom messageRoom = messageRoomService.findMessageRoomById(messageRoomId);
-        Account sendAccount = accountService.findAccountById(dto.getFirstSendAccountId());
-        Message message = MessageRequestDto.toEntity(messageRoom, sendAccount, dto.getFirstContent());
-        return messageRepository.save(message);
+    // 이미 확인한 쪽지방과 보낸 사람으로 쪽지 저장 (보낸 사람은 참조만 있어도 됨)
+    // 쪽지방의 마지막 쪽지와 안 읽은 쪽지 수를 UPDATE 한 번으로 갱신
+    public Message createMessage(MessageRoom messageRoom, Account sendAccount, String content) {
+        Message message = MessageRequestDto.toEntity(messageRoom, sendAccount, content);
+        messageRepository.save(message);
+        messageRoomService.recordMessage(message);
+        // 커밋 후 쪽지방 구독자에게 전달
+        eventPublisher.publishEvent(new MessageCreatedEvent(message.getMessageId(), messageRoom.getMessageRoomId(),
+                sendAccount.getAccountId(), message.getContent(), message.getCreatedDate()));
+        return message;
     }
 
+    // 쪽지방에서 before(쪽지 id)보다 오래된 쪽지 중 가장 최근 limit개를 화면에 보여줄 순서(오래된 순)로 반환
+    // before가 없으면 가장 최근 쪽지부터, hasNext는 더 오래된 쪽지가 남아 있는지
     @Transactional(readOnly = true)
-    public List<Message> findMessageRoomMessageList(Long messageRoomId) {
-        MessageRoom messageRoom = messageRoomService.findMessageRoomById(messageRoomId);
-        return messageRepository.findAllByMessageRoom(messageRoom);
+    public Slice<MessageHistoryDto> findMessageRoomMessageList(Long messageRoomId, Long before, int limit) {
+        PageRequest pageRequest = PageRequest.of(0, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+        List<MessageHistoryDto> messages = messageRepository.findHistoryBefore(messageRoomId,
+                before == null ? Long.MAX_VALUE : before, PageRequest.of(0, pageRequest.getPageSize() + 1));
+        boolean hasNext = messages.size() > pageRequest.getPageSize();
+        List<MessageHistoryDto> page = new ArrayList<>(hasNext ? messages.subList(0, pageRequest.getPageSize()) : messages);
+        Collections.reverse(page);
+        return new SliceImpl<>(page, pageRequest, hasNext);
     }
 }
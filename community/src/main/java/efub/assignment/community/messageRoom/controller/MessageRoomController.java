@@ -1,59 +1,45 @@
 package efub.assignment.community.messageRoom.controller;
 
-import efub.assignment.community.account.domain.Account;
 import efub.assignment.community.messageRoom.dto.MessageRoomListResponseDto;
-import efub.assignment.community.account.service.AccountService;
-import efub.assignment.community.message.domain.Message;
-import efub.assignment.community.message.service.MessageService;
-import efub.assignment.community.messageRoom.domain.MessageRoom;
 import efub.assignment.community.messageRoom.dto.MessageRoomIdResponseDto;
 import efub.assignment.community.messageRoom.dto.MessageRoomRequestDto;
 import efub.assignment.community.messageRoom.dto.MessageRoomResponseDto;
+import efub.assignment.community.messageRoom.dto.MessageRoomSummary;
+import efub.assignment.community.messageRoom.service.MessageRoomCreateService;
 import efub.assignment.community.messageRoom.service.MessageRoomService;
-import efub.assignment.community.notice.service.NoticeService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/messageRooms")
 public class MessageRoomController {
-    private final AccountService accountService;
     private final MessageRoomService messageRoomService;
-    private final MessageService messageService;
-    private final NoticeService noticeService;
+    private final MessageRoomCreateService messageRoomCreateService;
 
-    // 쪽지방 생성 api
+    // 쪽지방 생성 api, 새로 만들었으면 201, 이미 있던 쪽지방에 쪽지만 보냈으면 200
     @PostMapping
-    @ResponseStatus(value = HttpStatus.CREATED)
-    public MessageRoomResponseDto createMessageRoom(@RequestBody @Valid final MessageRoomRequestDto requestDto){
-        //messageRoom 생성
-        MessageRoom messageRoom = messageRoomService.createMessageRoom(requestDto);
-        // 처음 쪽지를 받는 사람에게 알림 생성
-        noticeService.createMessageRoomNotice(requestDto.getFirstReceiveAccountId());
-
-        // 첫 쪽지 생성
-        messageService.createFirstMessage(messageRoom.getMessageRoomId(),requestDto);
-
-        List<Message> messageList = messageService.findMessageRoomMessageList(messageRoom.getMessageRoomId());
-
-        return MessageRoomResponseDto.from(messageRoom, messageList);
+    public ResponseEntity<MessageRoomResponseDto> createMessageRoom(@RequestBody @Valid final MessageRoomRequestDto requestDto){
+        // 쪽지방, 첫 쪽지, 알림을 한 트랜잭션에서 생성
+        MessageRoomResponseDto responseDto = messageRoomCreateService.createMessageRoom(requestDto);
+        return ResponseEntity.status(responseDto.isCreated() ? HttpStatus.CREATED : HttpStatus.OK)
+                .body(responseDto);
     }
 
-    //쪽지방 목록 조회 api
+    //쪽지방 목록 조회 api (최근 쪽지 순)
     @GetMapping
     @ResponseStatus(value = HttpStatus.OK)
-    public MessageRoomListResponseDto getMessageRoomList(@RequestParam(name = "viewAccountId")Long viewAccountId){
-        // 조회하는 사람 account
-        Account viewAccount = accountService.findAccountById(viewAccountId);
-        // viewAccount가 포함되어 있는 쪽지방 List
-        List<MessageRoom> messageRoomList = messageRoomService.findMessageRoomList(viewAccount);
+    public MessageRoomListResponseDto getMessageRoomList(@RequestParam(name = "viewAccountId")Long viewAccountId,
+                                                         @RequestParam(name = "cursor", required = false) String cursor,
+                                                         @RequestParam(name = "size", defaultValue = "20") int size){
+        // viewAccount가 포함되어 있는 쪽지방
+        Slice<MessageRoomSummary> messageRooms = messageRoomService.findMessageRoomList(viewAccountId, cursor, size);
 
-        return MessageRoomListResponseDto.of(messageRoomList);
+        return MessageRoomListResponseDto.of(messageRooms.getContent(), messageRooms.hasNext());
     }
 
     // 쪽지방 여부 조회 api
@@ -64,14 +50,9 @@ public class MessageRoomController {
                                                      @RequestParam(name = "receiveAccountId")Long receiveAccountId,
                                                      @RequestParam(name = "postId")Long postId){
 
-        MessageRoom messageRoom = messageRoomService.getMessageRoomId(viewAccountId, receiveAccountId, postId);
-
-        if(messageRoom == null){
-            return null;
-        }
-        else{
-            return MessageRoomIdResponseDto.from(messageRoom);
-        }
+        return messageRoomService.getMessageRoomId(viewAccountId, receiveAccountId, postId)
+                .map(MessageRoomIdResponseDto::from)
+                .orElse(null);
     }
 
     // 쪽지방 삭제 api
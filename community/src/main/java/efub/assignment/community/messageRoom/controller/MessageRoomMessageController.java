@@ -3,17 +3,19 @@ package efub.assignment.community.messageRoom.controller;
 
 import efub.assignment.community.account.domain.Account;
 import efub.assignment.community.account.service.AccountService;
-import efub.assignment.community.message.domain.Message;
+import efub.assignment.community.message.dto.MessageHistoryDto;
+import efub.assignment.community.message.push.MessageSubscriberRegistry;
 import efub.assignment.community.message.service.MessageService;
 import efub.assignment.community.messageRoom.dto.MessageRoomMessageResponseDto;
 import efub.assignment.community.messageRoom.service.MessageRoomService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequiredArgsConstructor
@@ -25,19 +27,34 @@ public class MessageRoomMessageController {
     private AccountService accountService;
     @Autowired
     private MessageRoomService messageRoomService;
+    @Autowired
+    private MessageSubscriberRegistry messageSubscriberRegistry;
 
-    //쪽지방에 있는 모든 message 조회 api
+    //쪽지방 message 조회 api, before(쪽지 id)보다 오래된 쪽지 중 최근 limit개
     @GetMapping
     public ResponseEntity<MessageRoomMessageResponseDto> getMessageRoomMessageList(@PathVariable(name = "messageRoomId")Long messageRoomId,
-                                                                                   @RequestParam(name = "viewAccountId")Long viewAccountId){
+                                                                                   @RequestParam(name = "viewAccountId")Long viewAccountId,
+                                                                                   @RequestParam(name = "before", required = false)Long before,
+                                                                                   @RequestParam(name = "limit", defaultValue = "30")int limit){
         //조회하는 사람 계정
         Account viewAccount = accountService.findAccountById(viewAccountId);
         //쪽지방의 상대 accountId
         Long corespondentAccountId = messageRoomService.findCorrespondentAccountId(messageRoomId,viewAccount);
         //쪽지방의 쪽지 리스트
-        List<Message> messageList = messageService.findMessageRoomMessageList(messageRoomId);
+        Slice<MessageHistoryDto> messages = messageService.findMessageRoomMessageList(messageRoomId, before, limit);
 
         return ResponseEntity.status(HttpStatus.OK)
-                .body(MessageRoomMessageResponseDto.of(messageRoomId, corespondentAccountId, messageList));
+                .body(MessageRoomMessageResponseDto.of(messageRoomId, corespondentAccountId, messages.getContent(), messages.hasNext()));
+    }
+
+    //쪽지방 새 쪽지 구독 api (SSE), 연결한 뒤 저장된 쪽지가 "message" 이벤트로 전달됨
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeMessageRoomMessages(@PathVariable(name = "messageRoomId")Long messageRoomId,
+                                                   @RequestParam(name = "viewAccountId")Long viewAccountId){
+        //쪽지방에 포함된 account만 구독할 수 있게 권한 확인
+        Account viewAccount = accountService.findAccountById(viewAccountId);
+        messageRoomService.findCorrespondentAccountId(messageRoomId, viewAccount);
+
+        return messageSubscriberRegistry.subscribe(messageRoomId);
     }
 }
@@ -7,15 +7,29 @@ import efub.assignment.community.post.domain.Post;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+        // 쪽지방 목록: 보낸 쪽, 받은 쪽 각각 최근 쪽지 순으로 범위 조회
+        @Index(name = "idx_message_room_send_recent", columnList = "send_account_id, lastMessageAt, messageRoom_id"),
+        @Index(name = "idx_message_room_receive_recent", columnList = "receive_account_id, lastMessageAt, messageRoom_id"),
+        // 계정별 안 읽은 쪽지 수 합계를 인덱스만 읽어 계산
+        @Index(name = "idx_message_room_low_unread", columnList = "low_account_id, low_unread_count"),
+        @Index(name = "idx_message_room_high_unread", columnList = "high_account_id, low_account_id, high_unread_count")
+}, uniqueConstraints = {
+        // 두 사람이 같은 글에서 시작한 쪽지방은 누가 먼저 보냈는지와 관계없이 하나
+        @UniqueConstraint(name = "uk_message_room_participants", columnNames = {"low_account_id", "high_account_id", "post_id"})
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Builder
 @AllArgsConstructor
 public class MessageRoom extends BaseTimeEntity {
+    public static final int PREVIEW_LENGTH = 100;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "messageRoom_id", updatable = false)
@@ -37,11 +51,40 @@ public class MessageRoom extends BaseTimeEntity {
     @JoinColumn(name = "post_id", updatable = false)
     private Post startPost;
 
+    // 두 참여자 account id 중 작은 값, 큰 값 (쪽지방 중복 확인용)
+    @Column(name = "low_account_id", updatable = false)
+    private Long lowAccountId;
+
+    @Column(name = "high_account_id", updatable = false)
+    private Long highAccountId;
+
+    // 참여자별로 마지막으로 읽은 쪽지 id와 그 뒤로 상대방이 보낸 쪽지 수
+    // 쪽지를 저장할 때 MessageRoomRepository.recordMessage가, 읽음 처리 때 markRead가 UPDATE 한 번으로 갱신
+    @Column(name = "low_last_read_message_id", nullable = false)
+    private long lowLastReadMessageId;
+
+    @Column(name = "high_last_read_message_id", nullable = false)
+    private long highLastReadMessageId;
+
+    @Column(name = "low_unread_count", nullable = false)
+    private long lowUnreadCount;
+
+    @Column(name = "high_unread_count", nullable = false)
+    private long highUnreadCount;
+
     // mappedBy : 연관관계의 주인
     // 쪽지 리스트
     @OneToMany(mappedBy = "messageRoom", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Message> messageList = new ArrayList<>();
 
+    // 쪽지방 목록 조회용으로 복사해 둔 가장 최근 쪽지, 쪽지를 저장할 때 MessageRoomRepository.recordMessage로 갱신
+    private Long lastMessageId;
+
+    @Column(length = PREVIEW_LENGTH)
+    private String lastMessagePreview;
+
+    private LocalDateTime lastMessageAt;
+
 
     public MessageRoom(Account sendAccount, Account receiveAccount, String firstContent, Post startPost){
         this.firstSendAccount = sendAccount;
@@ -50,4 +93,20 @@ public class MessageRoom extends BaseTimeEntity {
         this.startPost = startPost;
     }
 
+    @PrePersist
+    private void assignParticipants(){
+        Long sendAccountId = firstSendAccount.getAccountId();
+        Long receiveAccountId = firstReceiveAccount.getAccountId();
+        this.lowAccountId = Math.min(sendAccountId, receiveAccountId);
+        this.highAccountId = Math.max(sendAccountId, receiveAccountId);
+    }
+
+    // 쪽지 내용을 목록에 보여줄 길이로 자름
+    public static String preview(String content){
+        if(content == null || content.length() <= PREVIEW_LENGTH){
+            return content;
+        }
+        return content.substring(0, PREVIEW_LENGTH);
+    }
+
 }
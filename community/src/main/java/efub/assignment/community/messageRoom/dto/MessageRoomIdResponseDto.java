@@ -14,8 +14,12 @@ public class MessageRoomIdResponseDto {
     private Long messageRoomId;
 
     public static MessageRoomIdResponseDto from(MessageRoom messageRoom){
+        return from(messageRoom.getMessageRoomId());
+    }
+
+    public static MessageRoomIdResponseDto from(Long messageRoomId){
         return MessageRoomIdResponseDto.builder()
-                .messageRoomId(messageRoom.getMessageRoomId())
+                .messageRoomId(messageRoomId)
                 .build();
     }
 }
@@ -0,0 +1,14 @@
+package efub.assignment.community.messageRoom.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/* low/high가 비어 있는 쪽지방의 처음 보낸 사람, 받은 사람, 시작 글 (참여자 쌍 backfill용, 글과의 연결이 끊긴 쪽지방은 postId가 null) */
+@Getter
+@AllArgsConstructor
+public class MessageRoomLegacyDto {
+    private Long messageRoomId;
+    private Long sendAccountId;
+    private Long receiveAccountId;
+    private Long postId;
+}
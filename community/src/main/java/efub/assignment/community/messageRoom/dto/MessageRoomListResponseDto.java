@@ -1,22 +1,24 @@
 package efub.assignment.community.messageRoom.dto;
 
-import efub.assignment.community.message.domain.Message;
-import efub.assignment.community.messageRoom.domain.MessageRoom;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import efub.assignment.community.global.pagination.KeysetCursor;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 
 import java.time.LocalDateTime;
-import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Getter
 @Builder
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class MessageRoomListResponseDto {
     private List<SingleAccountMessageRoom> accountMessageRoomList;
+    // 다음 페이지 cursor, 마지막 페이지면 null
+    private String nextCursor;
 
     @Getter
     public static class SingleAccountMessageRoom{
@@ -27,39 +29,38 @@ public class MessageRoomListResponseDto {
         private String lastMessage;
         //최신 쪽지방 최근 쪽지 날짜
         private LocalDateTime lastMessageDate;
+        // 안 읽은 쪽지 수
+        private Long unreadCount;
 
         // 하나의 쪽지방
-        // messageRoom을 파라미터로 받음
-        public SingleAccountMessageRoom(Long messageRoomId, String lastMessage, LocalDateTime lastMessageDate){
+        public SingleAccountMessageRoom(Long messageRoomId, String lastMessage, LocalDateTime lastMessageDate, Long unreadCount){
             //쪽지방 id
             this.messageRoomId = messageRoomId;
-            // 가장 최근 쪽지
+            // 가장 최근 쪽지 (앞부분만)
             this.lastMessage = lastMessage;
             // 가장 최근 쪽지 날짜
             this.lastMessageDate = lastMessageDate;
+            // 안 읽은 쪽지 수
+            this.unreadCount = unreadCount;
         }
 
-        public static MessageRoomListResponseDto.SingleAccountMessageRoom of(MessageRoom messageRoom){
-
-            Long messageRoomId = messageRoom.getMessageRoomId();
-            List<Message> messages = messageRoom.getMessageList();
-
-            // 쪽지 리스트에서 가장 최근에 작성된 쪽지
-            Message lastMessage = messages.stream()
-                    .max(Comparator.comparing(Message::getCreatedDate)) // 생성일자를 기준으로 내림차순 정렬
-                    .orElse(null); // 비어있는 경우 null
-
-            String lastMessageContent = lastMessage.getContent();
-            LocalDateTime lastMessageDate = lastMessage.getCreatedDate();
-
-            return new MessageRoomListResponseDto.SingleAccountMessageRoom(messageRoomId, lastMessageContent, lastMessageDate);
+        // 쪽지방에 복사해 둔 마지막 쪽지로 만듦
+        public static MessageRoomListResponseDto.SingleAccountMessageRoom of(MessageRoomSummary messageRoom){
+            return new MessageRoomListResponseDto.SingleAccountMessageRoom(
+                    messageRoom.getMessageRoomId(), messageRoom.getLastMessagePreview(), messageRoom.getLastMessageAt(),
+                    messageRoom.getUnreadCount());
         }
     }
 
-    public static MessageRoomListResponseDto of(List<MessageRoom> messageRoomList){
-
+    public static MessageRoomListResponseDto of(List<MessageRoomSummary> messageRoomList, boolean hasNext){
+        String nextCursor = null;
+        if(hasNext && !messageRoomList.isEmpty()){
+            MessageRoomSummary last = messageRoomList.get(messageRoomList.size() - 1);
+            nextCursor = KeysetCursor.of(last.getLastMessageAt(), last.getMessageRoomId()).encode();
+        }
         return MessageRoomListResponseDto.builder()
                 .accountMessageRoomList(messageRoomList.stream().map(MessageRoomListResponseDto.SingleAccountMessageRoom::of).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
                 .build();
     }
 }
@@ -1,8 +1,7 @@
 package efub.assignment.community.messageRoom.dto;
 
-import efub.assignment.community.message.domain.Message;
-import efub.assignment.community.message.dto.MessageRequestDto;
-import efub.assignment.community.message.dto.MessageResponseDto;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import efub.assignment.community.message.dto.MessageHistoryDto;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -15,43 +14,54 @@ import java.util.stream.Collectors;
 @Getter
 @Builder
 @AllArgsConstructor(access = AccessLevel.PRIVATE )
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class MessageRoomMessageResponseDto {
     private Long messageRoomId;
     private Long correspondentAccountId;
     private List<SingleMessage> messageRoomMessageList;
+    // 더 오래된 쪽지를 불러올 때 before로 넘길 값, 더 없으면 null
+    private Long nextBefore;
 
     @Getter
     public static class SingleMessage{
 
+        private Long messageId;
         private Long messageRoomId;
+        private Long sendAccountId;
         private String sendOrReceive;
         private String content;
         private LocalDateTime createdDate;
 
-        public SingleMessage(Long messageRoomId, String sendOrReceive, String content, LocalDateTime createdDate){
+        public SingleMessage(Long messageId, Long messageRoomId, Long sendAccountId, String sendOrReceive, String content, LocalDateTime createdDate){
+            this.messageId = messageId;
             this.messageRoomId = messageRoomId;
+            this.sendAccountId = sendAccountId;
             this.sendOrReceive = sendOrReceive;
             this.content = content;
             this.createdDate = createdDate;
         }
-        public static MessageRoomMessageResponseDto.SingleMessage of(Message message, Long correspondentAccountId){
+        public static MessageRoomMessageResponseDto.SingleMessage of(MessageHistoryDto message, Long correspondentAccountId){
             String sendOrReceive;
-            if (correspondentAccountId == message.getSendAccount().getAccountId()){
+            if (correspondentAccountId.equals(message.getSendAccountId())){
                 sendOrReceive = "receive";
             }
             else{
                 sendOrReceive = "send";
             }
-            return new MessageRoomMessageResponseDto.SingleMessage(message.getMessageRoom().getMessageRoomId(),sendOrReceive, message.getContent(), message.getCreatedDate());
+            return new MessageRoomMessageResponseDto.SingleMessage(message.getMessageId(), message.getMessageRoomId(), message.getSendAccountId(),
+                    sendOrReceive, message.getContent(), message.getCreatedDate());
         }
     }
 
-    public static MessageRoomMessageResponseDto of(Long messageRoomId,Long correspondentAccountId, List<Message> messageList){
+    // messageList는 오래된 순, hasNext면 가장 오래된 쪽지 id가 다음 before
+    public static MessageRoomMessageResponseDto of(Long messageRoomId,Long correspondentAccountId, List<MessageHistoryDto> messageList, boolean hasNext){
+        Long nextBefore = hasNext && !messageList.isEmpty() ? messageList.get(0).getMessageId() : null;
         return MessageRoomMessageResponseDto.builder()
                 .messageRoomId(messageRoomId)
                 .correspondentAccountId(correspondentAccountId)
                 .messageRoomMessageList(messageList.stream()
                         .map(message -> SingleMessage.of(message, correspondentAccountId)).collect(Collectors.toList()))
+                .nextBefore(nextBefore)
                 .build();
     }
 
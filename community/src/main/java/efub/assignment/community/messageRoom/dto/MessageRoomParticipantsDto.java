@@ -0,0 +1,13 @@
+package efub.assignment.community.messageRoom.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/* 쪽지방의 두 참여자 id (쪽지 일괄 저장 시 받는 쪽 계산용) */
+@Getter
+@AllArgsConstructor
+public class MessageRoomParticipantsDto {
+    private Long messageRoomId;
+    private Long lowAccountId;
+    private Long highAccountId;
+}
@@ -0,0 +1,35 @@
+package efub.assignment.community.messageRoom.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/* 쪽지방 여러 개의 읽음 처리 요청, 쪽지방마다 마지막으로 읽은 쪽지 id */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class MessageRoomReadRequestDto {
+    public static final int MAX_READS = 100;
+
+    @NotEmpty(message = "읽음 처리할 쪽지방은 필수입니다.")
+    @Size(max = MAX_READS, message = "한 번에 읽음 처리할 수 있는 쪽지방은 최대 " + MAX_READS + "개입니다.")
+    private List<@Valid Read> reads;
+
+    @Getter
+    @NoArgsConstructor(access = AccessLevel.PROTECTED)
+    @AllArgsConstructor
+    public static class Read {
+        @NotNull(message = "messageRoomId는 필수입니다.")
+        private Long messageRoomId;
+
+        @NotNull(message = "마지막으로 읽은 쪽지 id는 필수입니다.")
+        private Long lastReadMessageId;
+    }
+}
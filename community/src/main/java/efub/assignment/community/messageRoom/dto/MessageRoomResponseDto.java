@@ -1,5 +1,6 @@
 package efub.assignment.community.messageRoom.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import efub.assignment.community.message.domain.Message;
 import efub.assignment.community.message.service.MessageService;
 import efub.assignment.community.messageRoom.domain.MessageRoom;
@@ -19,6 +20,21 @@ public class MessageRoomResponseDto {
     private Long firstReceiveAccountId;
     private String firstContent;
     private LocalDateTime createdDate;
+    // 이 요청으로 쪽지방을 새로 만들었는지 (응답 상태 코드용, 본문에는 넣지 않음)
+    @JsonIgnore
+    private boolean created;
+
+    // 쪽지방 생성 요청의 응답, 내용은 이 요청으로 보낸 쪽지
+    public static MessageRoomResponseDto of(MessageRoom messageRoom, Message message, boolean created) {
+        return MessageRoomResponseDto.builder()
+                .messageRoomId(messageRoom.getMessageRoomId())
+                .firstSendAccountId(messageRoom.getFirstSendAccount().getAccountId())
+                .firstReceiveAccountId(messageRoom.getFirstReceiveAccount().getAccountId())
+                .firstContent(message.getContent())
+                .createdDate(messageRoom.getCreatedDate())
+                .created(created)
+                .build();
+    }
 
     public static MessageRoomResponseDto from(MessageRoom messageRoom, List<Message> messageList) {
 
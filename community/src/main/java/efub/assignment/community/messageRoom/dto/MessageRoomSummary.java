@@ -0,0 +1,17 @@
+package efub.assignment.community.messageRoom.dto;
+
+import java.time.LocalDateTime;
+
+/* 쪽지방 목록 한 줄 (native 쿼리 결과를 받는 projection) */
+public interface MessageRoomSummary {
+    Long getMessageRoomId();
+
+    Long getLastMessageId();
+
+    String getLastMessagePreview();
+
+    LocalDateTime getLastMessageAt();
+
+    // 조회한 account 쪽에서 안 읽은 쪽지 수
+    Long getUnreadCount();
+}
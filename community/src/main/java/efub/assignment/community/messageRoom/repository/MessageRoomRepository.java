@@ -1,22 +1,207 @@
 package efub.assignment.community.messageRoom.repository;
 
-import efub.assignment.community.account.domain.Account;
-import efub.assignment.community.message.domain.Message;
 import efub.assignment.community.messageRoom.domain.MessageRoom;
+import efub.assignment.community.messageRoom.dto.MessageRoomLegacyDto;
+import efub.assignment.community.messageRoom.dto.MessageRoomParticipantsDto;
+import efub.assignment.community.messageRoom.dto.MessageRoomSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface MessageRoomRepository extends JpaRepository<MessageRoom, Long> {
 
+    // 쪽지방 목록: 보낸 쪽, 받은 쪽을 각자의 (account, last_message_at, messageRoom_id) 인덱스에서 limit개씩 읽어 합친 뒤 다시 limit개
+    // 자기 자신과의 쪽지방이 두 번 나오지 않도록 받은 쪽에서는 보낸 사람이 자신인 방을 뺌
+    String SELECT_INBOX = "select r.message_room_id as messageRoomId, r.last_message_id as lastMessageId, " +
+            "r.last_message_preview as lastMessagePreview, r.last_message_at as lastMessageAt, " +
+            "case when r.low_account_id = :accountId then r.low_unread_count else r.high_unread_count end as unreadCount " +
+            "from message_room r ";
+    String INBOX_SEND_SIDE = "where r.send_account_id = :accountId and r.last_message_at is not null ";
+    String INBOX_RECEIVE_SIDE = "where r.receive_account_id = :accountId and r.send_account_id <> :accountId and r.last_message_at is not null ";
+    String INBOX_AFTER_CURSOR = "and (r.last_message_at < :lastMessageAt or (r.last_message_at = :lastMessageAt and r.message_room_id < :messageRoomId)) ";
+    String INBOX_BRANCH_ORDER = "order by r.last_message_at desc, r.message_room_id desc limit :limit";
+    String INBOX_ORDER = " order by lastMessageAt desc, messageRoomId desc limit :limit";
 
-    Optional<MessageRoom> findByFirstSendAccountAndFirstReceiveAccount(Account account1, Account account2);
+    // 첫 페이지 (최근 쪽지 순)
+    @Query(value = "(" + SELECT_INBOX + INBOX_SEND_SIDE + INBOX_BRANCH_ORDER + ") union all (" +
+            SELECT_INBOX + INBOX_RECEIVE_SIDE + INBOX_BRANCH_ORDER + ")" + INBOX_ORDER, nativeQuery = true)
+    List<MessageRoomSummary> findFirstInboxPage(@Param("accountId") Long accountId, @Param("limit") int limit);
 
-    List<MessageRoom> findAllByFirstSendAccount(Account account);
+    // cursor(lastMessageAt, messageRoomId) 다음 페이지
+    @Query(value = "(" + SELECT_INBOX + INBOX_SEND_SIDE + INBOX_AFTER_CURSOR + INBOX_BRANCH_ORDER + ") union all (" +
+            SELECT_INBOX + INBOX_RECEIVE_SIDE + INBOX_AFTER_CURSOR + INBOX_BRANCH_ORDER + ")" + INBOX_ORDER, nativeQuery = true)
+    List<MessageRoomSummary> findNextInboxPage(@Param("accountId") Long accountId,
+                                               @Param("lastMessageAt") LocalDateTime lastMessageAt,
+                                               @Param("messageRoomId") Long messageRoomId,
+                                               @Param("limit") int limit);
 
-    List<MessageRoom> findAllByFirstReceiveAccount(Account account);
+    String IS_LATEST_MESSAGE = "(r.lastMessageId is null or r.lastMessageId < :messageId)";
+
+    // 저장된 쪽지를 UPDATE 한 번으로 반영: 받는 쪽의 안 읽은 쪽지 수 +1, 마지막 쪽지 갱신
+    // 더 최근 쪽지로 이미 갱신되어 있으면 마지막 쪽지는 덮어쓰지 않음
+    // MySQL은 SET을 왼쪽부터 적용하고 뒤의 식에서 바뀐 값을 읽으므로 lastMessageId는 마지막에 바꿈
+    @Modifying
+    @Query("update MessageRoom r set " +
+            "r.lowUnreadCount = r.lowUnreadCount + case when r.lowAccountId <> :sendAccountId then 1 else 0 end, " +
+            "r.highUnreadCount = r.highUnreadCount + case when r.highAccountId <> :sendAccountId then 1 else 0 end, " +
+            "r.lastMessagePreview = case when " + IS_LATEST_MESSAGE + " then :preview else r.lastMessagePreview end, " +
+            "r.lastMessageAt = case when " + IS_LATEST_MESSAGE + " then :sentAt else r.lastMessageAt end, " +
+            "r.lastMessageId = case when " + IS_LATEST_MESSAGE + " then :messageId else r.lastMessageId end " +
+            "where r.messageRoomId = :messageRoomId")
+    int recordMessage(@Param("messageRoomId") Long messageRoomId,
+                      @Param("messageId") Long messageId,
+                      @Param("sendAccountId") Long sendAccountId,
+                      @Param("preview") String preview,
+                      @Param("sentAt") LocalDateTime sentAt);
+
+    // 여러 쪽지를 한 번에 반영: 쪽지방 하나당 UPDATE 한 번, 안 읽은 쪽지 수는 쪽마다 더할 값을 받음
+    @Modifying
+    @Query("update MessageRoom r set " +
+            "r.lowUnreadCount = r.lowUnreadCount + :lowUnread, " +
+            "r.highUnreadCount = r.highUnreadCount + :highUnread, " +
+            "r.lastMessagePreview = case when " + IS_LATEST_MESSAGE + " then :preview else r.lastMessagePreview end, " +
+            "r.lastMessageAt = case when " + IS_LATEST_MESSAGE + " then :sentAt else r.lastMessageAt end, " +
+            "r.lastMessageId = case when " + IS_LATEST_MESSAGE + " then :messageId else r.lastMessageId end " +
+            "where r.messageRoomId = :messageRoomId")
+    int recordMessages(@Param("messageRoomId") Long messageRoomId,
+                       @Param("messageId") Long messageId,
+                       @Param("preview") String preview,
+                       @Param("sentAt") LocalDateTime sentAt,
+                       @Param("lowUnread") long lowUnread,
+                       @Param("highUnread") long highUnread);
+
+    @Query("select new efub.assignment.community.messageRoom.dto.MessageRoomParticipantsDto(r.messageRoomId, r.lowAccountId, r.highAccountId) " +
+            "from MessageRoom r where r.messageRoomId in :messageRoomIds")
+    List<MessageRoomParticipantsDto> findParticipantsByIds(@Param("messageRoomIds") Collection<Long> messageRoomIds);
+
+    // 클라이언트가 보낸 id는 쪽지방의 마지막 쪽지를 넘지 않도록 자름 (다른 쪽지방의 id나 잘못된 id로 표시가 앞서 나가지 않도록)
+    String READ_UP_TO = "least(:lastReadMessageId, coalesce(r.lastMessageId, 0))";
+    String IS_LOW_READ_FORWARD = "r.lowLastReadMessageId < " + READ_UP_TO;
+    String IS_HIGH_READ_FORWARD = "r.highLastReadMessageId < " + READ_UP_TO;
+    String COUNT_UNREAD = "select count(m) from Message m where m.messageRoom.messageRoomId = r.messageRoomId " +
+            "and m.messageId > " + READ_UP_TO + " and m.sendAccount.accountId <> :accountId";
+
+    // account 쪽의 마지막으로 읽은 쪽지를 lastReadMessageId(마지막 쪽지 id를 넘으면 마지막 쪽지)로 옮기고, 그 뒤로 상대방이 보낸 쪽지 수를 다시 셈
+    // 이미 더 뒤까지 읽었으면 바꾸지 않음, 안 읽은 쪽지만 (messageRoom_id, message_id) 인덱스로 셈
+    @Modifying
+    @Query("update MessageRoom r set " +
+            "r.lowUnreadCount = case when r.lowAccountId = :accountId and " + IS_LOW_READ_FORWARD + " then (" + COUNT_UNREAD + ") else r.lowUnreadCount end, " +
+            "r.highUnreadCount = case when r.highAccountId = :accountId and " + IS_HIGH_READ_FORWARD + " then (" + COUNT_UNREAD + ") else r.highUnreadCount end, " +
+            "r.lowLastReadMessageId = case when r.lowAccountId = :accountId and " + IS_LOW_READ_FORWARD + " then " + READ_UP_TO + " else r.lowLastReadMessageId end, " +
+            "r.highLastReadMessageId = case when r.highAccountId = :accountId and " + IS_HIGH_READ_FORWARD + " then " + READ_UP_TO + " else r.highLastReadMessageId end " +
+            "where r.messageRoomId = :messageRoomId and (r.lowAccountId = :accountId or r.highAccountId = :accountId)")
+    int markRead(@Param("messageRoomId") Long messageRoomId,
+                 @Param("accountId") Long accountId,
+                 @Param("lastReadMessageId") Long lastReadMessageId);
+
+    // account가 참여한 모든 쪽지방의 안 읽은 쪽지 수 합계, 두 쪽 모두 (account, unread_count) 인덱스만 읽음
+    // 자기 자신과의 쪽지방이 두 번 더해지지 않도록 high 쪽에서는 low도 자신인 방을 뺌
+    @Query(value = "select (select coalesce(sum(low_unread_count), 0) from message_room where low_account_id = :accountId) + " +
+            "(select coalesce(sum(high_unread_count), 0) from message_room where high_account_id = :accountId and low_account_id <> :accountId)",
+            nativeQuery = true)
+    long sumUnreadCount(@Param("accountId") Long accountId);
+
+    // 두 참여자(작은 id, 큰 id)와 시작 글로 쪽지방 id만 조회, uk_message_room_participants 인덱스만 읽음
+    @Query("select r.messageRoomId from MessageRoom r " +
+            "where r.lowAccountId = :lowAccountId and r.highAccountId = :highAccountId and r.startPost.postId = :postId")
+    Optional<Long> findIdByParticipants(@Param("lowAccountId") Long lowAccountId,
+                                        @Param("highAccountId") Long highAccountId,
+                                        @Param("postId") Long postId);
+
+    // 두 참여자와 시작 글로 쪽지방 조회, 시작 글이 삭제 표시되었으면 빈 값
+    @Query("select r from MessageRoom r join r.startPost p " +
+            "where r.lowAccountId = :lowAccountId and r.highAccountId = :highAccountId and p.postId = :postId and p.deleted = false")
+    Optional<MessageRoom> findByParticipants(@Param("lowAccountId") Long lowAccountId,
+                                             @Param("highAccountId") Long highAccountId,
+                                             @Param("postId") Long postId);
+
+    // 같은 참여자, 같은 글의 쪽지방이 이미 있으면 아무것도 하지 않음, 삽입된 행 수(0 또는 1) 반환
+    @Modifying
+    @Query(value = "insert ignore into message_room " +
+            "(send_account_id, receive_account_id, post_id, low_account_id, high_account_id, " +
+            "low_last_read_message_id, high_last_read_message_id, low_unread_count, high_unread_count, created_date, modified_date) " +
+            "values (:sendAccountId, :receiveAccountId, :postId, :lowAccountId, :highAccountId, " +
+            "0, 0, 0, 0, :createdDate, :createdDate)", nativeQuery = true)
+    int insertIgnore(@Param("sendAccountId") Long sendAccountId,
+                     @Param("receiveAccountId") Long receiveAccountId,
+                     @Param("postId") Long postId,
+                     @Param("lowAccountId") Long lowAccountId,
+                     @Param("highAccountId") Long highAccountId,
+                     @Param("createdDate") LocalDateTime createdDate);
+
+    // 참여자 쌍은 MessageRoom.assignParticipants와 같은 규칙(작은 id, 큰 id)으로 정함
+    default int insertIgnore(Long sendAccountId, Long receiveAccountId, Long postId, LocalDateTime createdDate){
+        return insertIgnore(sendAccountId, receiveAccountId, postId,
+                Math.min(sendAccountId, receiveAccountId), Math.max(sendAccountId, receiveAccountId), createdDate);
+    }
 
     Optional<MessageRoom> findMessageRoomByMessageRoomId(Long messageRoomId);
 
+    @Query("select coalesce(max(r.messageRoomId), 0) from MessageRoom r")
+    long findMaxMessageRoomId();
+
+    // (fromId, toId] 구간에서 마지막 쪽지가 비어 있는 쪽지방(마지막 쪽지 도입 전에 만들어진 쪽지방)에 가장 최근 쪽지 id를 채움
+    @Modifying
+    @Query("update MessageRoom r set r.lastMessageId = " +
+            "(select max(m.messageId) from Message m where m.messageRoom.messageRoomId = r.messageRoomId) " +
+            "where r.lastMessageId is null and r.messageRoomId > :fromId and r.messageRoomId <= :toId " +
+            "and exists (select 1 from Message m where m.messageRoom.messageRoomId = r.messageRoomId)")
+    int backfillLastMessageId(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    // 같은 구간에서 채워진 마지막 쪽지 id로 미리보기와 보낸 시각을 채움 (backfillLastMessageId 다음에 실행)
+    @Modifying
+    @Query("update MessageRoom r set " +
+            "r.lastMessagePreview = (select substring(m.content, 1, " + MessageRoom.PREVIEW_LENGTH + ") from Message m where m.messageId = r.lastMessageId), " +
+            "r.lastMessageAt = (select m.createdDate from Message m where m.messageId = r.lastMessageId) " +
+            "where r.lastMessageAt is null and r.lastMessageId is not null and r.messageRoomId > :fromId and r.messageRoomId <= :toId")
+    int backfillLastMessageDetails(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    // (fromId, toId] 구간에서 low/high가 비어 있는 쪽지방(참여자 쌍 도입 전에 만들어진 쪽지방)을 id 순으로 조회
+    @Query("select new efub.assignment.community.messageRoom.dto.MessageRoomLegacyDto(r.messageRoomId, s.accountId, v.accountId, p.postId) " +
+            "from MessageRoom r join r.firstSendAccount s join r.firstReceiveAccount v left join r.startPost p " +
+            "where r.lowAccountId is null and r.messageRoomId > :fromId and r.messageRoomId <= :toId order by r.messageRoomId")
+    List<MessageRoomLegacyDto> findLegacyRooms(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    // 비어 있는 참여자 쌍을 채움 (low/high는 엔티티에서 수정할 수 없는 칼럼이라 native)
+    @Modifying
+    @Query(value = "update message_room set low_account_id = :lowAccountId, high_account_id = :highAccountId " +
+            "where message_room_id = :messageRoomId and low_account_id is null", nativeQuery = true)
+    int fillParticipants(@Param("messageRoomId") Long messageRoomId,
+                         @Param("lowAccountId") Long lowAccountId,
+                         @Param("highAccountId") Long highAccountId);
+
+    // 다른 쪽지방의 쪽지를 옮겨 온 뒤 안 읽은 쪽지 수와 마지막 쪽지 id를 쪽지 기준으로 다시 계산 (읽음 표시는 그대로 둠)
+    @Modifying
+    @Query("update MessageRoom r set " +
+            "r.lowUnreadCount = (select count(m) from Message m where m.messageRoom.messageRoomId = r.messageRoomId " +
+            "and m.messageId > r.lowLastReadMessageId and m.sendAccount.accountId <> r.lowAccountId), " +
+            "r.highUnreadCount = (select count(m) from Message m where m.messageRoom.messageRoomId = r.messageRoomId " +
+            "and m.messageId > r.highLastReadMessageId and m.sendAccount.accountId <> r.highAccountId), " +
+            "r.lastMessageId = (select max(m.messageId) from Message m where m.messageRoom.messageRoomId = r.messageRoomId) " +
+            "where r.messageRoomId = :messageRoomId")
+    int recountMessages(@Param("messageRoomId") Long messageRoomId);
+
+    // recountMessages로 바뀐 마지막 쪽지 id로 미리보기와 보낸 시각을 다시 채움
+    @Modifying
+    @Query("update MessageRoom r set " +
+            "r.lastMessagePreview = (select substring(m.content, 1, " + MessageRoom.PREVIEW_LENGTH + ") from Message m where m.messageId = r.lastMessageId), " +
+            "r.lastMessageAt = (select m.createdDate from Message m where m.messageId = r.lastMessageId) " +
+            "where r.messageRoomId = :messageRoomId")
+    int refreshLastMessageDetails(@Param("messageRoomId") Long messageRoomId);
+
+    // 글을 지울 때 그 글에서 시작된 쪽지방은 남기고 글과의 연결만 끊음 (post_id는 엔티티에서 수정할 수 없는 칼럼이라 native)
+    @Modifying
+    @Query(value = "update message_room set post_id = null where post_id = :postId", nativeQuery = true)
+    int detachFromPost(@Param("postId") Long postId);
+
+    @Modifying
+    @Query("delete from MessageRoom r where r.messageRoomId = :messageRoomId")
+    int deleteByMessageRoomId(@Param("messageRoomId") Long messageRoomId);
+
 }
@@ -0,0 +1,70 @@
+package efub.assignment.community.messageRoom.service;
+
+import efub.assignment.community.account.AccountRepository;
+import efub.assignment.community.account.service.AccountService;
+import efub.assignment.community.message.domain.Message;
+import efub.assignment.community.message.service.MessageService;
+import efub.assignment.community.messageRoom.domain.MessageRoom;
+import efub.assignment.community.messageRoom.dto.MessageRoomRequestDto;
+import efub.assignment.community.messageRoom.dto.MessageRoomResponseDto;
+import efub.assignment.community.messageRoom.repository.MessageRoomRepository;
+import efub.assignment.community.notice.service.NoticeService;
+import efub.assignment.community.post.service.PostService;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/* 쪽지방 생성 요청 하나(쪽지방 + 첫 쪽지 + 알림)를 한 트랜잭션에서 처리 */
+/* 새 쪽지방: insert ignore, 쪽지방 조회, 쪽지 insert, 마지막 쪽지와 안 읽은 쪽지 수 update, 알림 outbox insert로 SQL 5번 */
+/* 이미 있던 쪽지방: 알림 없이 SQL 4번 */
+/* 쪽지 저장은 MessageService와 같은 경로를 쓰고, 보낸 사람은 참조만 넘김, 응답은 방금 저장한 쪽지로 만듦 */
+@Service
+@RequiredArgsConstructor
+public class MessageRoomCreateService {
+
+    private final MessageRoomRepository messageRoomRepository;
+    private final MessageService messageService;
+    private final AccountRepository accountRepository;
+    private final AccountService accountService;
+    private final PostService postService;
+    private final NoticeService noticeService;
+
+    // 두 사람이 같은 글에서 시작한 쪽지방이 이미 있으면 그 쪽지방에 쪽지를 보냄
+    // 잠금 없이 insert ignore 후 unique 인덱스로 다시 조회하므로 동시에 요청해도 같은 쪽지방이 됨
+    // 다른 트랜잭션이 방금 커밋한 쪽지방도 보이도록 READ COMMITTED로 실행
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    // 새로 만들었는지는 응답의 created로 알려줌 (응답 본문에는 포함하지 않음)
+    public MessageRoomResponseDto createMessageRoom(MessageRoomRequestDto requestDto) {
+        Long sendAccountId = requestDto.getFirstSendAccountId();
+        Long receiveAccountId = requestDto.getFirstReceiveAccountId();
+        Long postId = requestDto.getStartPostId();
+
+        int inserted = messageRoomRepository.insertIgnore(sendAccountId, receiveAccountId, postId, LocalDateTime.now());
+        MessageRoom messageRoom = messageRoomRepository.findByParticipants(
+                        Math.min(sendAccountId, receiveAccountId), Math.max(sendAccountId, receiveAccountId), postId)
+                .orElseThrow(() -> missingParticipant(requestDto));
+
+        Message message = messageService.createMessage(messageRoom, accountRepository.getReferenceById(sendAccountId),
+                requestDto.getFirstContent());
+
+        boolean created = inserted == 1;
+        if(created){
+            // 처음 쪽지를 받는 사람에게 보낼 알림은 같은 트랜잭션에서 outbox에 저장
+            noticeService.enqueueMessageRoomNotice(receiveAccountId);
+        }
+        return MessageRoomResponseDto.of(messageRoom, message, created);
+    }
+
+    // 쪽지방이 만들어지지 않았거나 (MySQL의 insert ignore는 FK 위반도 무시함) 시작 글이 삭제 표시된 경우 없는 대상을 찾아 알려줌
+    // 예외로 트랜잭션이 롤백되므로 삭제 표시된 글에 방금 추가된 쪽지방도 남지 않음
+    private EntityNotFoundException missingParticipant(MessageRoomRequestDto requestDto) {
+        accountService.findAccountById(requestDto.getFirstSendAccountId());
+        accountService.findAccountById(requestDto.getFirstReceiveAccountId());
+        postService.findPostById(requestDto.getStartPostId());
+        return new EntityNotFoundException("쪽지방을 만들 수 없습니다. postId=" + requestDto.getStartPostId());
+    }
+}
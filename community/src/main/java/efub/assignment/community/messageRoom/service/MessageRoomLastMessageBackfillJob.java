@@ -0,0 +1,54 @@
+package efub.assignment.community.messageRoom.service;
+
+import efub.assignment.community.messageRoom.repository.MessageRoomRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/* 마지막 쪽지 칼럼 도입 전에 만들어진 쪽지방의 last_message_id, preview, at을 가장 최근 쪽지로 채우는 일회성 job */
+/* 쪽지방 목록은 last_message_at이 있는 쪽지방만 보여주므로, 채워지기 전까지는 그 쪽지방들이 목록에서 빠짐 */
+/* message-room.last-message-backfill.enabled=true로 배포하면 기동 직후 한 번 실행, 다 채운 뒤에는 설정을 끄면 됨 (다시 실행해도 결과는 같음) */
+/* 그 사이 새 쪽지가 오면 recordMessage가 먼저 채우고, job은 비어 있는 쪽지방만 건드림 */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "message-room.last-message-backfill.enabled", havingValue = "true")
+public class MessageRoomLastMessageBackfillJob {
+
+    private final MessageRoomRepository messageRoomRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long chunkSize;
+
+    public MessageRoomLastMessageBackfillJob(MessageRoomRepository messageRoomRepository,
+                                             TransactionTemplate transactionTemplate,
+                                             @Value("${message-room.last-message-backfill.chunk-size:1000}") long chunkSize){
+        this.messageRoomRepository = messageRoomRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady(){
+        int filled = backfill();
+        log.info("쪽지방 마지막 쪽지 backfill 완료: {}건", filled);
+    }
+
+    // id 구간 (fromId, toId]을 chunkSize 단위로 나누고, 구간마다 짧은 트랜잭션에서 id를 채운 뒤 미리보기와 시각을 채움
+    int backfill(){
+        long maxId = messageRoomRepository.findMaxMessageRoomId();
+        int filled = 0;
+        for(long fromId = 0; fromId < maxId; fromId += chunkSize){
+            final long from = fromId;
+            final long to = Math.min(fromId + chunkSize, maxId);
+            Integer updated = transactionTemplate.execute(status -> {
+                messageRoomRepository.backfillLastMessageId(from, to);
+                return messageRoomRepository.backfillLastMessageDetails(from, to);
+            });
+            filled += updated == null ? 0 : updated;
+        }
+        return filled;
+    }
+}
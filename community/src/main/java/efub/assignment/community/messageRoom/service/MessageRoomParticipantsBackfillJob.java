@@ -0,0 +1,87 @@
+package efub.assignment.community.messageRoom.service;
+
+import efub.assignment.community.message.repository.MessageRepository;
+import efub.assignment.community.messageRoom.dto.MessageRoomLegacyDto;
+import efub.assignment.community.messageRoom.repository.MessageRoomRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+/* 참여자 쌍 도입 전에 만들어진 쪽지방의 low_account_id, high_account_id를 채우는 일회성 job */
+/* 같은 두 사람이 같은 글에서 시작한 쪽지방이 이미 있으면 채우지 않고 그 쪽지방으로 합침 (쪽지를 옮기고, 안 읽은 쪽지 수와 마지막 쪽지를 다시 계산한 뒤 삭제) */
+/* 쪽지방을 id 순으로 보므로 같은 쌍 중 가장 먼저 만들어진 쪽지방이 남음, 글과의 연결이 끊긴 쪽지방은 합치지 않고 채우기만 함 */
+/* 채워지기 전까지 그 쪽지방은 참여자 쌍으로 찾을 수 없고, 다 채운 뒤에야 uk_message_room_participants가 중복 없이 유지됨 */
+/* message-room.participants-backfill.enabled=true로 배포하면 기동 직후 한 번 실행, 다 채운 뒤에는 설정을 끄면 됨 (다시 실행해도 결과는 같음) */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "message-room.participants-backfill.enabled", havingValue = "true")
+public class MessageRoomParticipantsBackfillJob {
+
+    private final MessageRoomRepository messageRoomRepository;
+    private final MessageRepository messageRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long chunkSize;
+
+    public MessageRoomParticipantsBackfillJob(MessageRoomRepository messageRoomRepository,
+                                              MessageRepository messageRepository,
+                                              TransactionTemplate transactionTemplate,
+                                              @Value("${message-room.participants-backfill.chunk-size:1000}") long chunkSize){
+        this.messageRoomRepository = messageRoomRepository;
+        this.messageRepository = messageRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady(){
+        Result result = backfill();
+        log.info("쪽지방 참여자 쌍 backfill 완료: 채움 {}건, 합침 {}건", result.filled(), result.merged());
+    }
+
+    // id 구간 (fromId, toId]을 chunkSize 단위로 나누고, 구간마다 짧은 트랜잭션에서 채우거나 합침
+    Result backfill(){
+        long maxId = messageRoomRepository.findMaxMessageRoomId();
+        int filled = 0;
+        int merged = 0;
+        for(long fromId = 0; fromId < maxId; fromId += chunkSize){
+            final long from = fromId;
+            final long to = Math.min(fromId + chunkSize, maxId);
+            Result chunk = transactionTemplate.execute(status -> backfillChunk(from, to));
+            filled += chunk.filled();
+            merged += chunk.merged();
+        }
+        return new Result(filled, merged);
+    }
+
+    private Result backfillChunk(long fromId, long toId){
+        int filled = 0;
+        int merged = 0;
+        for(MessageRoomLegacyDto room : messageRoomRepository.findLegacyRooms(fromId, toId)){
+            Long lowAccountId = Math.min(room.getSendAccountId(), room.getReceiveAccountId());
+            Long highAccountId = Math.max(room.getSendAccountId(), room.getReceiveAccountId());
+            Optional<Long> keeperId = room.getPostId() == null
+                    ? Optional.empty()
+                    : messageRoomRepository.findIdByParticipants(lowAccountId, highAccountId, room.getPostId());
+            if(keeperId.isPresent()){
+                messageRepository.moveToMessageRoom(room.getMessageRoomId(), keeperId.get());
+                messageRoomRepository.deleteByMessageRoomId(room.getMessageRoomId());
+                messageRoomRepository.recountMessages(keeperId.get());
+                messageRoomRepository.refreshLastMessageDetails(keeperId.get());
+                merged++;
+            }
+            else{
+                filled += messageRoomRepository.fillParticipants(room.getMessageRoomId(), lowAccountId, highAccountId);
+            }
+        }
+        return new Result(filled, merged);
+    }
+
+    record Result(int filled, int merged) {
+    }
+}
@@ -4,48 +4,41 @@ import efub.assignment.community.account.domain.Account;
 import efub.assignment.community.account.service.AccountService;
 import efub.assignment.community.exception.CustomDeleteException;
 import efub.assignment.community.exception.ErrorCode;
+import efub.assignment.community.global.deletion.AggregateDeletionService;
+import efub.assignment.community.global.pagination.KeysetCursor;
+import efub.assignment.community.message.domain.Message;
+import efub.assignment.community.message.repository.MessageRepository;
 import efub.assignment.community.messageRoom.domain.MessageRoom;
-import efub.assignment.community.messageRoom.dto.MessageRoomRequestDto;
+import efub.assignment.community.messageRoom.dto.MessageRoomReadRequestDto;
+import efub.assignment.community.messageRoom.dto.MessageRoomSummary;
 import efub.assignment.community.messageRoom.repository.MessageRoomRepository;
-import efub.assignment.community.post.domain.Post;
-import efub.assignment.community.post.service.PostService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class MessageRoomService {
+    private static final int MAX_PAGE_SIZE = 100;
 
     private final MessageRoomRepository messageRoomRepository;
     private final AccountService accountService;
-    private final PostService postService;
+    private final MessageRepository messageRepository;
+    private final AggregateDeletionService aggregateDeletionService;
 
-    // 쪽지방 생성
-    public MessageRoom createMessageRoom(MessageRoomRequestDto requestDto) {
-        Account sendAccount = accountService.findAccountById(requestDto.getFirstSendAccountId());
-        Account receiveAccount = accountService.findAccountById(requestDto.getFirstReceiveAccountId());
-        Post post = postService.findPostById(requestDto.getStartPostId());
-
-        MessageRoom messageRoom = requestDto.toEntity(sendAccount,receiveAccount,post);
-
-        messageRoomRepository.save(messageRoom);
-        return messageRoom;
-    }
-
-    //messageRoom 여부 조회
+    //messageRoom 여부 조회, 두 사람이 postId 글에서 시작한 쪽지방 id (방향 무관)
     @Transactional(readOnly = true)
-    public MessageRoom getMessageRoomId(Long viewAccountId, Long receiveAccountId, Long postId) {
-
-        Account viewAccount = accountService.findAccountById(viewAccountId);
-        Account receiveAccount = accountService.findAccountById(receiveAccountId);
-
-        return messageRoomRepository.findByFirstSendAccountAndFirstReceiveAccount(viewAccount, receiveAccount).orElseGet(()->null);
+    public Optional<Long> getMessageRoomId(Long viewAccountId, Long receiveAccountId, Long postId) {
+        return messageRoomRepository.findIdByParticipants(
+                Math.min(viewAccountId, receiveAccountId), Math.max(viewAccountId, receiveAccountId), postId);
     }
 
     //messageRoom 삭제
@@ -55,23 +48,56 @@ public class MessageRoomService {
         if(accountId != messageRoom.getFirstSendAccount().getAccountId()){
             throw new CustomDeleteException(ErrorCode.PERMISSION_REJECTED_USER);
         }
-        messageRoomRepository.delete(messageRoom);
+        // 쪽지가 많으면 별도 스레드에서 삭제
+        if(aggregateDeletionService.isSmall(messageRepository.countByMessageRoom_MessageRoomId(messageRoomId))){
+            aggregateDeletionService.deleteMessageRoom(messageRoomId);
+        }
+        else{
+            aggregateDeletionService.deleteMessageRoomAsync(messageRoomId);
+        }
     }
 
-    // account가 속해있는 messageroom List 반환
+    // account가 속해있는 쪽지방을 최근 쪽지 순으로 cursor 이후부터 size개 조회
+    // 쪽지방에 복사해 둔 마지막 쪽지를 읽으므로 쪽지 목록은 읽지 않음
     @Transactional(readOnly = true)
-    public List<MessageRoom> findMessageRoomList(Account account) {
+    public Slice<MessageRoomSummary> findMessageRoomList(Long accountId, String cursor, int size) {
+        PageRequest pageRequest = PageRequest.of(0, Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        // 다음 페이지가 있는지 알기 위해 한 개 더 조회
+        int limit = pageRequest.getPageSize() + 1;
+        List<MessageRoomSummary> messageRooms;
+        if(cursor == null || cursor.isBlank()){
+            messageRooms = messageRoomRepository.findFirstInboxPage(accountId, limit);
+        }
+        else{
+            KeysetCursor keysetCursor = KeysetCursor.decode(cursor);
+            messageRooms = messageRoomRepository.findNextInboxPage(accountId, keysetCursor.getCreatedDate(), keysetCursor.getId(), limit);
+        }
+        boolean hasNext = messageRooms.size() > pageRequest.getPageSize();
+        if(hasNext){
+            messageRooms = messageRooms.subList(0, pageRequest.getPageSize());
+        }
+        return new SliceImpl<>(messageRooms, pageRequest, hasNext);
+    }
 
-        // account가 FirstSendAccount 혹은 FirstReceiveAccount인 messageRoomList를 각각 찾음
-        List<MessageRoom> messageRoomList1 = messageRoomRepository.findAllByFirstSendAccount(account);
-        List<MessageRoom> messageRoomList2 = messageRoomRepository.findAllByFirstReceiveAccount(account);
+    // 저장된 쪽지를 쪽지방에 반영 (마지막 쪽지, 받는 쪽의 안 읽은 쪽지 수)
+    public void recordMessage(Message message) {
+        messageRoomRepository.recordMessage(message.getMessageRoom().getMessageRoomId(), message.getMessageId(),
+                message.getSendAccount().getAccountId(), MessageRoom.preview(message.getContent()), message.getCreatedDate());
+    }
 
-        // 두 리스트 합쳐서 전체 리스트 반환
-        List<MessageRoom> combinedmessageRoomList = new ArrayList<>();
-        combinedmessageRoomList.addAll(messageRoomList1);
-        combinedmessageRoomList.addAll(messageRoomList2);
+    // 여러 쪽지방의 읽음 처리를 한 트랜잭션에서, 쪽지방마다 UPDATE 한 번
+    // account가 참여하지 않은 쪽지방이나 이미 더 뒤까지 읽은 쪽지방은 그대로 둠
+    // 한 번에 처리할 수 있는 쪽지방 수는 MessageRoomReadRequestDto에서 검증
+    public void markRead(Long accountId, List<MessageRoomReadRequestDto.Read> reads) {
+        for(MessageRoomReadRequestDto.Read read : reads){
+            messageRoomRepository.markRead(read.getMessageRoomId(), accountId, read.getLastReadMessageId());
+        }
+    }
 
-        return combinedmessageRoomList;
+    // account가 참여한 모든 쪽지방의 안 읽은 쪽지 수 합계
+    @Transactional(readOnly = true)
+    public long countUnreadMessages(Long accountId) {
+        return messageRoomRepository.sumUnreadCount(accountId);
     }
 
     //messageRoomId로 messageRoom 찾기
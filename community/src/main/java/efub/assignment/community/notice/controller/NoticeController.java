@@ -1,16 +1,14 @@
 package efub.assignment.community.notice.controller;
 
-import efub.assignment.community.notice.domain.Notice;
 import efub.assignment.community.notice.dto.AllNoticeResponseDto;
 import efub.assignment.community.notice.dto.NoticeResponseDto;
+import efub.assignment.community.notice.dto.NoticeUnreadResponseDto;
 import efub.assignment.community.notice.service.NoticeService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/notices")
@@ -18,11 +16,28 @@ public class NoticeController {
 
     private final NoticeService noticeService;
 
-    // 알림 조회 api
+    // 알림 조회 api, 최신순으로 cursor 기반 size개씩
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public AllNoticeResponseDto getAllNotice(@RequestParam(name="accountId")Long accountId){
-        List<Notice> notices = noticeService.findAllNotices(accountId);
-        return new AllNoticeResponseDto(notices.stream().map(NoticeResponseDto::of).collect(Collectors.toList()));
+    public AllNoticeResponseDto getAllNotice(@RequestParam(name="accountId")Long accountId,
+                                             @RequestParam(name="cursor", required = false) String cursor,
+                                             @RequestParam(name="size", defaultValue = "20") int size){
+        Slice<NoticeResponseDto> notices = noticeService.findNotices(accountId, cursor, size);
+        return AllNoticeResponseDto.of(notices.getContent(), notices.hasNext());
+    }
+
+    // 안 읽은 알림 수 (배지용)
+    @GetMapping("/unread")
+    @ResponseStatus(HttpStatus.OK)
+    public NoticeUnreadResponseDto getUnreadCount(@RequestParam(name="accountId")Long accountId){
+        return new NoticeUnreadResponseDto(accountId, noticeService.countUnreadNotices(accountId));
+    }
+
+    // 모든 알림 읽음 처리
+    @PatchMapping("/read")
+    @ResponseStatus(HttpStatus.OK)
+    public NoticeUnreadResponseDto markAllRead(@RequestParam(name="accountId")Long accountId){
+        noticeService.markAllRead(accountId);
+        return new NoticeUnreadResponseDto(accountId, noticeService.countUnreadNotices(accountId));
     }
 }
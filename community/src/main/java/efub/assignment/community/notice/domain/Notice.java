@@ -8,13 +8,25 @@ import lombok.*;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = {
+        // 계정별 알림 목록 (최신순 keyset 페이지네이션)
+        @Index(name = "idx_notice_account_created", columnList = "account_id, createdDate, notice_id"),
+        // 안 읽은 알림 수를 인덱스만 읽어서 셈
+        @Index(name = "idx_notice_account_unread", columnList = "account_id, isRead"),
+        // 보관 기간이 지난 알림을 type별로 오래된 것부터 골라냄
+        @Index(name = "idx_notice_type_created", columnList = "type, createdDate, notice_id")
+})
 public class Notice extends BaseTimeEntity {
+    public static final String TYPE_COMMENT = "댓글";
+    public static final String TYPE_MESSAGE_ROOM = "쪽지방";
+
     @Id
     @GeneratedValue( strategy = GenerationType.IDENTITY)
     @Column(name = "notice_id", updatable = false)
     private Long noticeId;
 
-    @ManyToOne
+    // 목록은 DTO로 바로 조회하므로 계정을 함께 읽지 않음
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "account_id")
     private Account account;
 
@@ -27,6 +39,9 @@ public class Notice extends BaseTimeEntity {
     @Column(nullable = true)
     private String boardName;
 
+    @Column(nullable = false)
+    private boolean isRead;
+
     @Builder
     public Notice(String type, String content, String boardName, Account account){
         this.account = account;
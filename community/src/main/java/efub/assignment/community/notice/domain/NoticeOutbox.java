@@ -0,0 +1,57 @@
+package efub.assignment.community.notice.domain;
+
+import efub.assignment.community.global.entity.BaseTimeEntity;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/* 알림 생성 요청 (transactional outbox) */
+/* 댓글, 쪽지방을 만드는 트랜잭션 안에서 함께 저장되고, NoticeOutboxWorker가 Notice로 만든 뒤 삭제 */
+/* 최대 시도 횟수를 넘긴 행은 지우지 않고 남겨 원인을 확인할 수 있게 함 */
+@Entity
+@Table(indexes = @Index(name = "idx_notice_outbox_available", columnList = "availableAt"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class NoticeOutbox extends BaseTimeEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "notice_outbox_id")
+    private Long noticeOutboxId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private NoticeOutboxType type;
+
+    // 알림을 받을 계정
+    @Column(nullable = false)
+    private Long accountId;
+
+    private Long postId;
+
+    @Column(length = 1000)
+    private String content;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    // 이 시각 이후에 처리 (재시도 시 뒤로 미룸)
+    @Column(nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Builder
+    public NoticeOutbox(NoticeOutboxType type, Long accountId, Long postId, String content){
+        this.type = type;
+        this.accountId = accountId;
+        this.postId = postId;
+        this.content = content;
+        this.availableAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,7 @@
+package efub.assignment.community.notice.domain;
+
+/* 알림 outbox 행의 종류 */
+public enum NoticeOutboxType {
+    COMMENT,      // 게시글에 댓글이 달림 (postId, content 사용)
+    MESSAGE_ROOM  // 쪽지방이 생김
+}
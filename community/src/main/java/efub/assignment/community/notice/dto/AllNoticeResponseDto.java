@@ -1,5 +1,7 @@
 package efub.assignment.community.notice.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import efub.assignment.community.global.pagination.KeysetCursor;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -7,6 +9,18 @@ import java.util.List;
 
 @Getter
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class AllNoticeResponseDto {
     private List<NoticeResponseDto> notices;
+    // 다음 페이지 cursor, 마지막 페이지면 null
+    private String nextCursor;
+
+    public static AllNoticeResponseDto of(List<NoticeResponseDto> notices, boolean hasNext){
+        String nextCursor = null;
+        if(hasNext && !notices.isEmpty()){
+            NoticeResponseDto last = notices.get(notices.size() - 1);
+            nextCursor = KeysetCursor.of(last.getCreatedDate(), last.getNoticeId()).encode();
+        }
+        return new AllNoticeResponseDto(notices, nextCursor);
+    }
 }
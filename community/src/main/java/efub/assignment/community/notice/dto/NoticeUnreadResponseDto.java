@@ -0,0 +1,12 @@
+package efub.assignment.community.notice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/* 계정의 안 읽은 알림 수 */
+@Getter
+@AllArgsConstructor
+public class NoticeUnreadResponseDto {
+    private Long accountId;
+    private long unreadCount;
+}
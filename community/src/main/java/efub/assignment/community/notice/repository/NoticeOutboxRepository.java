@@ -0,0 +1,40 @@
+package efub.assignment.community.notice.repository;
+
+import efub.assignment.community.notice.domain.NoticeOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface NoticeOutboxRepository extends JpaRepository<NoticeOutbox, Long> {
+
+    // 처리할 차례인 행을 lock을 걸고 가져옴, 다른 worker가 잡고 있는 행은 건너뜀 (lock timeout -2 = SKIP LOCKED)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select o from NoticeOutbox o where o.availableAt <= :now and o.attempts < :maxAttempts " +
+            "order by o.noticeOutboxId")
+    List<NoticeOutbox> findDeliverable(@Param("now") LocalDateTime now,
+                                       @Param("maxAttempts") int maxAttempts,
+                                       Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select o from NoticeOutbox o where o.noticeOutboxId = :id and o.attempts < :maxAttempts")
+    Optional<NoticeOutbox> findDeliverableById(@Param("id") Long id, @Param("maxAttempts") int maxAttempts);
+
+    @Modifying
+    @Query("update NoticeOutbox o set o.attempts = o.attempts + 1, o.lastError = :error, o.availableAt = :nextAttemptAt " +
+            "where o.noticeOutboxId = :id")
+    int markFailed(@Param("id") Long id,
+                   @Param("error") String error,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+}
@@ -1,12 +1,58 @@
 package efub.assignment.community.notice.repository;
 
-import efub.assignment.community.account.domain.Account;
 import efub.assignment.community.notice.domain.Notice;
+import efub.assignment.community.notice.dto.NoticeResponseDto;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface NoticeRepository extends JpaRepository<Notice, Long> {
 
-    List<Notice> findByAccount(Account account);
+    // n.account.accountId는 FK 컬럼을 그대로 읽으므로 account를 join하지 않음
+    String SELECT_NOTICE_RESPONSE = "select new efub.assignment.community.notice.dto.NoticeResponseDto(" +
+            "n.noticeId, n.type, n.content, n.boardName, n.isRead, n.createdDate) " +
+            "from Notice n ";
+
+    // 계정의 알림 첫 페이지 (최신순)
+    @Query(SELECT_NOTICE_RESPONSE + "where n.account.accountId = :accountId " +
+            "order by n.createdDate desc, n.noticeId desc")
+    Slice<NoticeResponseDto> findFirstPageByAccountId(@Param("accountId") Long accountId, Pageable pageable);
+
+    // cursor(createdDate, noticeId) 다음 페이지, (account_id, createdDate, notice_id) 인덱스 범위 조회
+    @Query(SELECT_NOTICE_RESPONSE + "where n.account.accountId = :accountId " +
+            "and (n.createdDate < :createdDate or (n.createdDate = :createdDate and n.noticeId < :noticeId)) " +
+            "order by n.createdDate desc, n.noticeId desc")
+    Slice<NoticeResponseDto> findNextPageByAccountId(@Param("accountId") Long accountId,
+                                                     @Param("createdDate") LocalDateTime createdDate,
+                                                     @Param("noticeId") Long noticeId,
+                                                     Pageable pageable);
+
+    // (account_id, isRead) 인덱스만 읽음
+    @Query("select count(n) from Notice n where n.account.accountId = :accountId and n.isRead = false")
+    long countUnreadByAccountId(@Param("accountId") Long accountId);
+
+    // 안 읽은 알림만 UPDATE 한 번으로 읽음 처리
+    @Modifying
+    @Query("update Notice n set n.isRead = true where n.account.accountId = :accountId and n.isRead = false")
+    int markAllRead(@Param("accountId") Long accountId);
+
+    // 보관 기간이 지난 알림 id를 오래된 순으로, (type, createdDate, notice_id) 인덱스 범위 조회
+    @Query("select n.noticeId from Notice n where n.type = :type and n.createdDate < :cutoff " +
+            "order by n.createdDate, n.noticeId")
+    List<Long> findExpiredIds(@Param("type") String type, @Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("delete from Notice n where n.noticeId in :noticeIds")
+    int deleteByNoticeIds(@Param("noticeIds") Collection<Long> noticeIds);
+
+    // type의 가장 오래된 알림 생성일시, 없으면 null
+    @Query("select min(n.createdDate) from Notice n where n.type = :type")
+    LocalDateTime findOldestCreatedDate(@Param("type") String type);
 }
@@ -0,0 +1,104 @@
+package efub.assignment.community.notice.service;
+
+import efub.assignment.community.notice.domain.NoticeOutbox;
+import efub.assignment.community.notice.repository.NoticeOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/* 알림 outbox를 주기적으로 비우는 worker */
+/* batchSize개씩 SKIP LOCKED로 가져와 한 트랜잭션에서 알림 생성 후 outbox 행 삭제, 여러 서버에서 동시에 실행되어도 같은 행을 두 번 처리하지 않음 */
+/* batch가 실패하면 한 건씩 다시 처리하고, 실패한 행은 시도 횟수를 늘려 지수적으로 미룬 뒤 재시도 */
+@Slf4j
+@Component
+public class NoticeOutboxWorker {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final NoticeOutboxRepository noticeOutboxRepository;
+    private final NoticeService noticeService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+
+    public NoticeOutboxWorker(NoticeOutboxRepository noticeOutboxRepository,
+                              NoticeService noticeService,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${notice.outbox.batch-size:100}") int batchSize,
+                              @Value("${notice.outbox.max-attempts:5}") int maxAttempts,
+                              @Value("${notice.outbox.retry-backoff-ms:1000}") long retryBackoffMs){
+        this.noticeOutboxRepository = noticeOutboxRepository;
+        this.noticeService = noticeService;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+    }
+
+    // 가득 찬 batch가 나오는 동안은 쉬지 않고 이어서 처리
+    @Scheduled(fixedDelayString = "${notice.outbox.poll-interval-ms:1000}")
+    public void drain(){
+        int drained;
+        do {
+            drained = drainBatch();
+        } while(drained == batchSize);
+    }
+
+    // batch 하나를 처리하고 가져온 행 수 반환
+    int drainBatch(){
+        // 롤백되더라도 어떤 행을 가져왔었는지 알 수 있도록 트랜잭션 밖에 기록 (id -> 시도 횟수)
+        Map<Long, Integer> claimed = new LinkedHashMap<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<NoticeOutbox> outboxes = noticeOutboxRepository.findDeliverable(
+                        LocalDateTime.now(), maxAttempts, PageRequest.of(0, batchSize));
+                outboxes.forEach(outbox -> claimed.put(outbox.getNoticeOutboxId(), outbox.getAttempts()));
+                deliver(outboxes);
+            });
+        } catch (RuntimeException e) {
+            log.warn("알림 outbox batch 처리 실패, 한 건씩 다시 시도합니다. ({}건)", claimed.size(), e);
+            claimed.forEach(this::retryOne);
+        }
+        return claimed.size();
+    }
+
+    private void retryOne(Long outboxId, int attempts){
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    noticeOutboxRepository.findDeliverableById(outboxId, maxAttempts)
+                            .ifPresent(outbox -> deliver(List.of(outbox))));
+        } catch (RuntimeException e) {
+            String error = NestedExceptionUtils.getMostSpecificCause(e).toString();
+            if(error.length() > MAX_ERROR_LENGTH){
+                error = error.substring(0, MAX_ERROR_LENGTH);
+            }
+            if(attempts + 1 >= maxAttempts){
+                log.error("알림 outbox 처리를 포기합니다. id={}, error={}", outboxId, error);
+            }
+            // 1, 2, 4, 8... 배로 늘려 미룸
+            LocalDateTime nextAttemptAt = LocalDateTime.now().plus(Duration.ofMillis(retryBackoffMs << Math.min(attempts, 20)));
+            String lastError = error;
+            transactionTemplate.executeWithoutResult(status ->
+                    noticeOutboxRepository.markFailed(outboxId, lastError, nextAttemptAt));
+        }
+    }
+
+    private void deliver(List<NoticeOutbox> outboxes){
+        if(outboxes.isEmpty()){
+            return;
+        }
+        noticeService.createNotices(outboxes);
+        noticeOutboxRepository.deleteAllInBatch(outboxes);
+    }
+}
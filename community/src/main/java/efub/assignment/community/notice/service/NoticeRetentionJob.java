@@ -0,0 +1,156 @@
+package efub.assignment.community.notice.service;
+
+import efub.assignment.community.notice.domain.Notice;
+import efub.assignment.community.notice.repository.NoticeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/* 보관 기간이 지난 알림을 type별로 지우는 job */
+/* chunkSize개씩 id를 골라 DELETE ... WHERE notice_id IN (...)으로 지우고, chunk마다 트랜잭션을 끝낸 뒤 pauseMs만큼 쉬어 락을 오래 잡지 않음 */
+/* 한 번에 maxChunksPerRun개 chunk까지만 지우고 남은 행은 다음 실행에서 이어서 지움, 밀린 정도는 lag 지표로 확인 */
+/* 보관 일수가 0 이하인 type은 지우지 않음 */
+/* chunk 사이에 쉬는 동안 공유 스케줄러 스레드(outbox, 좋아요 flush 등)를 막지 않도록 실제 삭제는 전용 스레드에서 실행 */
+@Slf4j
+@Component
+public class NoticeRetentionJob {
+
+    private final NoticeRepository noticeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final List<RetentionPolicy> policies = new ArrayList<>();
+    private final int chunkSize;
+    private final long pauseMs;
+    private final int maxChunksPerRun;
+    private final ExecutorService purgeExecutor =
+            Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "notice-retention"));
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public NoticeRetentionJob(NoticeRepository noticeRepository,
+                              TransactionTemplate transactionTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${notice.retention.comment-days:30}") int commentDays,
+                              @Value("${notice.retention.message-room-days:90}") int messageRoomDays,
+                              @Value("${notice.retention.chunk-size:500}") int chunkSize,
+                              @Value("${notice.retention.pause-ms:50}") long pauseMs,
+                              @Value("${notice.retention.max-chunks-per-run:200}") int maxChunksPerRun){
+        this.noticeRepository = noticeRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.pauseMs = pauseMs;
+        this.maxChunksPerRun = maxChunksPerRun;
+        addPolicy(meterRegistry, Notice.TYPE_COMMENT, "comment", commentDays);
+        addPolicy(meterRegistry, Notice.TYPE_MESSAGE_ROOM, "message_room", messageRoomDays);
+    }
+
+    private void addPolicy(MeterRegistry meterRegistry, String type, String tag, int days){
+        if(days <= 0){
+            return;
+        }
+        Counter purged = Counter.builder("notice.retention.purged")
+                .description("보관 기간이 지나 삭제된 알림 수")
+                .tag("type", tag)
+                .register(meterRegistry);
+        AtomicLong lagSeconds = new AtomicLong();
+        Gauge.builder("notice.retention.lag", lagSeconds, AtomicLong::get)
+                .description("가장 오래된 알림이 보관 기한을 넘긴 시간")
+                .baseUnit("seconds")
+                .tag("type", tag)
+                .register(meterRegistry);
+        policies.add(new RetentionPolicy(type, Duration.ofDays(days), purged, lagSeconds));
+    }
+
+    @Scheduled(initialDelayString = "${notice.retention.initial-delay-ms:60000}",
+            fixedDelayString = "${notice.retention.interval-ms:600000}")
+    public void purge(){
+        // 스케줄러 스레드는 넘겨주기만 하고 바로 반환, 이전 실행이 아직 끝나지 않았으면 이번 실행은 건너뜀
+        if(!running.compareAndSet(false, true)){
+            return;
+        }
+        purgeExecutor.execute(() -> {
+            try {
+                purgeExpired(LocalDateTime.now());
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    // 쉬는 중인 삭제를 interrupt해서 멈춤, 이미 지운 chunk는 커밋되어 있음
+    @PreDestroy
+    public void shutdown(){
+        purgeExecutor.shutdownNow();
+    }
+
+    // now 기준으로 만료된 알림을 지우고 지운 행 수 반환
+    long purgeExpired(LocalDateTime now){
+        long purged = 0;
+        for(RetentionPolicy policy : policies){
+            LocalDateTime cutoff = now.minus(policy.retention());
+            try {
+                purged += purgeType(policy, cutoff);
+                updateLag(policy, cutoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return purged;
+            } catch (RuntimeException e) {
+                log.error("알림 보관 기간 정리 실패, 이미 지운 chunk는 유지되고 다음 실행에서 이어서 지움. type={}", policy.type(), e);
+            }
+        }
+        return purged;
+    }
+
+    private long purgeType(RetentionPolicy policy, LocalDateTime cutoff) throws InterruptedException {
+        long purged = 0;
+        for(int chunk = 0; chunk < maxChunksPerRun; chunk++){
+            int deleted = transactionTemplate.execute(status -> {
+                List<Long> noticeIds = noticeRepository.findExpiredIds(policy.type(), cutoff, PageRequest.of(0, chunkSize));
+                return noticeIds.isEmpty() ? 0 : noticeRepository.deleteByNoticeIds(noticeIds);
+            });
+            policy.purged().increment(deleted);
+            purged += deleted;
+            if(deleted < chunkSize){
+                break;
+            }
+            // 다른 요청의 쓰기가 끼어들 수 있도록 chunk 사이에 쉼
+            Thread.sleep(pauseMs);
+        }
+        if(purged > 0){
+            log.info("보관 기간이 지난 알림 {}건 삭제. type={}", purged, policy.type());
+        }
+        return purged;
+    }
+
+    // 남아 있는 가장 오래된 알림이 cutoff보다 얼마나 오래됐는지 (다 지웠으면 0)
+    private void updateLag(RetentionPolicy policy, LocalDateTime cutoff){
+        LocalDateTime oldest = noticeRepository.findOldestCreatedDate(policy.type());
+        long lag = oldest != null && oldest.isBefore(cutoff) ? Duration.between(oldest, cutoff).getSeconds() : 0;
+        policy.lagSeconds().set(lag);
+    }
+
+    long getLagSeconds(String type){
+        return policies.stream()
+                .filter(policy -> policy.type().equals(type))
+                .mapToLong(policy -> policy.lagSeconds().get())
+                .findFirst()
+                .orElse(0);
+    }
+
+    private record RetentionPolicy(String type, Duration retention, Counter purged, AtomicLong lagSeconds) {
+    }
+}
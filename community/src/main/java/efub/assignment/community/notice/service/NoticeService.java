@@ -2,54 +2,120 @@ package efub.assignment.community.notice.service;
 
 import efub.assignment.community.account.domain.Account;
 import efub.assignment.community.account.service.AccountService;
-import efub.assignment.community.board.domain.Board;
-import efub.assignment.community.comment.domain.Comment;
+import efub.assignment.community.global.pagination.KeysetCursor;
 import efub.assignment.community.notice.domain.Notice;
+import efub.assignment.community.notice.domain.NoticeOutbox;
+import efub.assignment.community.notice.domain.NoticeOutboxType;
+import efub.assignment.community.notice.dto.NoticeResponseDto;
+import efub.assignment.community.notice.repository.NoticeOutboxRepository;
 import efub.assignment.community.notice.repository.NoticeRepository;
-import efub.assignment.community.post.domain.Post;
-import efub.assignment.community.post.dto.PostRequestDto;
 import efub.assignment.community.post.service.PostService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class NoticeService {
+    private static final int MAX_CONTENT_LENGTH = 500;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final NoticeRepository noticeRepository;
+    private final NoticeOutboxRepository noticeOutboxRepository;
     private final AccountService accountService;
     private final PostService postService;
 
-    //notice 생성
-    public void createCommentNotice(Long postId, String content ){
-        Post post = postService.findPostById(postId);
-        Notice notice = Notice.builder()
-                .account(post.getAccount())
-                .type("댓글")
-                .content("새로운 댓글이 달렸어요: "+content)
-                .boardName(post.getBoard().getBoardName())
-                .build();
-        noticeRepository.save(notice);
+    // 댓글 알림 요청을 outbox에 저장, 댓글을 저장하는 트랜잭션 안에서 호출
+    public void enqueueCommentNotice(Long postWriterId, Long postId, String content){
+        noticeOutboxRepository.save(NoticeOutbox.builder()
+                .type(NoticeOutboxType.COMMENT)
+                .accountId(postWriterId)
+                .postId(postId)
+                .content(content)
+                .build());
+    }
+
+    // 쪽지방 생성 알림 요청을 outbox에 저장, 쪽지방을 저장하는 트랜잭션 안에서 호출
+    public void enqueueMessageRoomNotice(Long accountId){
+        noticeOutboxRepository.save(NoticeOutbox.builder()
+                .type(NoticeOutboxType.MESSAGE_ROOM)
+                .accountId(accountId)
+                .build());
+    }
+
+    // outbox 행들로 알림 생성, 받을 계정과 게시판 이름은 한 번에 조회
+    // 그사이 계정이나 글이 삭제된 행은 알림 없이 건너뜀
+    public void createNotices(List<NoticeOutbox> outboxes){
+        Map<Long, Account> accounts = accountService.findAccountsByIds(
+                outboxes.stream().map(NoticeOutbox::getAccountId).collect(Collectors.toSet()));
+        Set<Long> postIds = outboxes.stream()
+                .filter(outbox -> outbox.getType() == NoticeOutboxType.COMMENT)
+                .map(NoticeOutbox::getPostId)
+                .collect(Collectors.toSet());
+        Map<Long, String> boardNames = postIds.isEmpty() ? Map.of() : postService.findBoardNames(postIds);
+
+        List<Notice> notices = new ArrayList<>(outboxes.size());
+        for(NoticeOutbox outbox : outboxes){
+            Account account = accounts.get(outbox.getAccountId());
+            if(account == null){
+                continue;
+            }
+            if(outbox.getType() == NoticeOutboxType.COMMENT){
+                String boardName = boardNames.get(outbox.getPostId());
+                if(boardName == null){
+                    continue;
+                }
+                notices.add(Notice.builder()
+                        .account(account)
+                        .type(Notice.TYPE_COMMENT)
+                        .content(truncate("새로운 댓글이 달렸어요: " + outbox.getContent()))
+                        .boardName(boardName)
+                        .build());
+            }
+            else{
+                notices.add(Notice.builder()
+                        .account(account)
+                        .type(Notice.TYPE_MESSAGE_ROOM)
+                        .content("새로운 쪽지방이 생겼어요")
+                        .build());
+            }
+        }
+        noticeRepository.saveAll(notices);
     }
 
-    // 쪽지방 생성 알림 생성
-    public void createMessageRoomNotice(Long accountId){
-        Account account = accountService.findAccountById(accountId);
-        Notice notice = Notice.builder()
-                .account(account)
-                .type("쪽지방")
-                .content("새로운 쪽지방이 생겼어요")
-                .build();
-        noticeRepository.save(notice);
+    private String truncate(String content){
+        return content.length() <= MAX_CONTENT_LENGTH ? content : content.substring(0, MAX_CONTENT_LENGTH);
     }
 
-    // 모든 알림 조회
+    // 계정의 알림을 cursor 기반으로 size개씩 최신순 조회 (cursor가 없으면 첫 페이지)
+    // 없는 계정이면 빈 목록 대신 404가 되도록 계정부터 확인
     @Transactional(readOnly = true)
-    public List<Notice> findAllNotices(Long accountId) {
-        Account account = accountService.findAccountById(accountId);
-        return noticeRepository.findByAccount(account);
+    public Slice<NoticeResponseDto> findNotices(Long accountId, String cursor, int size) {
+        accountService.findAccountById(accountId);
+        PageRequest pageRequest = PageRequest.of(0, Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        if(cursor == null || cursor.isBlank()){
+            return noticeRepository.findFirstPageByAccountId(accountId, pageRequest);
+        }
+        KeysetCursor keysetCursor = KeysetCursor.decode(cursor);
+        return noticeRepository.findNextPageByAccountId(accountId, keysetCursor.getCreatedDate(), keysetCursor.getId(), pageRequest);
+    }
+
+    @Transactional(readOnly = true)
+    public long countUnreadNotices(Long accountId) {
+        return noticeRepository.countUnreadByAccountId(accountId);
+    }
+
+    // 안 읽은 알림을 모두 읽음 처리하고 처리한 알림 수 반환
+    public int markAllRead(Long accountId) {
+        return noticeRepository.markAllRead(accountId);
     }
 }
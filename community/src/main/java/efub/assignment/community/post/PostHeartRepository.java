@@ -3,12 +3,20 @@ package efub.assignment.community.post;
 import efub.assignment.community.account.domain.Account;
 import efub.assignment.community.post.domain.Post;
 import efub.assignment.community.post.domain.PostHeart;
+import efub.assignment.community.post.domain.PostHeartId;
+import efub.assignment.community.post.dto.PostActivityCountDto;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface PostHeartRepository extends JpaRepository<PostHeart, Long> {
+public interface PostHeartRepository extends JpaRepository<PostHeart, PostHeartId> {
     Integer countByPost(Post post);
 
     List<PostHeart> findByWriter(Account account);
@@ -17,4 +25,38 @@ public interface PostHeartRepository extends JpaRepository<PostHeart, Long> {
 
     Optional<PostHeart> findByWriterAndPost (Account account, Post post);
 
+    // 주어진 post id 중 해당 계정이 좋아요를 누른 것, (post_id, account_id) 기본키로 한 번에 조회
+    @Query("select h.post.postId from PostHeart h where h.writer.accountId = :accountId and h.post.postId in :postIds")
+    List<Long> findHeartedPostIds(@Param("accountId") Long accountId, @Param("postIds") Collection<Long> postIds);
+
+    // 해당 post에 좋아요를 누른 모든 account id
+    @Query("select h.writer.accountId from PostHeart h where h.post.postId = :postId")
+    List<Long> findAccountIdsByPostId(@Param("postId") Long postId);
+
+    // 일괄 삭제용 chunk 조회
+    @Query("select h.writer.accountId from PostHeart h where h.post.postId = :postId")
+    List<Long> findAccountIdsByPostId(@Param("postId") Long postId, Pageable pageable);
+
+    @Modifying
+    @Query("delete from PostHeart h where h.post.postId = :postId and h.writer.accountId in :accountIds")
+    int deleteByPostIdAndAccountIds(@Param("postId") Long postId, @Param("accountIds") Collection<Long> accountIds);
+
+    // 이미 같은 (post_id, account_id) 행이 있으면 아무것도 하지 않음, 삽입된 행 수(0 또는 1) 반환
+    @Modifying
+    @Query(value = "insert ignore into post_heart (post_id, account_id, created_date) values (:postId, :accountId, :createdDate)", nativeQuery = true)
+    int insertIgnore(@Param("postId") Long postId, @Param("accountId") Long accountId, @Param("createdDate") LocalDateTime createdDate);
+
+    default int insertIgnore(Long postId, Long accountId){
+        return insertIgnore(postId, accountId, LocalDateTime.now());
+    }
+
+    // [from, to) 구간에 눌린 좋아요 수를 글별로 집계 (인기글 재구성용)
+    @Query("select new efub.assignment.community.post.dto.PostActivityCountDto(p.postId, p.board.boardId, count(h)) " +
+            "from PostHeart h join h.post p where h.createdDate >= :from and h.createdDate < :to " +
+            "group by p.postId, p.board.boardId")
+    List<PostActivityCountDto> countHeartsByPostBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query("delete from PostHeart h where h.post.postId = :postId and h.writer.accountId = :accountId")
+    int deleteByPostIdAndAccountId(@Param("postId") Long postId, @Param("accountId") Long accountId);
 }
@@ -1,9 +1,130 @@
 package efub.assignment.community.post;
 
 import efub.assignment.community.post.domain.Post;
+import efub.assignment.community.post.dto.PostBoardNameDto;
+import efub.assignment.community.post.dto.PostResponseDto;
+import efub.assignment.community.post.dto.PostSearchSourceDto;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface PostRepository extends JpaRepository<Post,Long> {
 
+    // 글, 작성자 닉네임, 게시판 id를 account 한 번의 join으로 PostResponseDto에 바로 담음, 삭제 표시된 글은 조회하지 않음
+    String SELECT_POST_RESPONSE = "select new efub.assignment.community.post.dto.PostResponseDto(" +
+            "p.postId, p.board.boardId, a.nickname, p.title, p.content, p.writerOpen, p.createdDate, p.modifiedDate, p.heartCount, p.commentCount) " +
+            "from Post p join p.account a where p.deleted = false ";
+
+    @Query(SELECT_POST_RESPONSE + "and p.postId = :postId")
+    Optional<PostResponseDto> findResponseById(@Param("postId") Long postId);
+
+    // 순서는 보장하지 않음, 호출하는 쪽에서 정렬
+    @Query(SELECT_POST_RESPONSE + "and p.postId in :postIds")
+    List<PostResponseDto> findResponsesByIds(@Param("postIds") Collection<Long> postIds);
+
+    // 검색 색인 재구성용, post_id 순으로 afterId 다음부터
+    @Query("select new efub.assignment.community.post.dto.PostSearchSourceDto(p.postId, p.board.boardId, p.title, p.content) " +
+            "from Post p where p.postId > :afterId and p.deleted = false order by p.postId")
+    List<PostSearchSourceDto> findSearchSourcesAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("select p.board.boardId from Post p where p.postId = :postId")
+    Optional<Long> findBoardIdByPostId(@Param("postId") Long postId);
+
+    @Query("select new efub.assignment.community.post.dto.PostBoardNameDto(p.postId, b.boardName) " +
+            "from Post p join p.board b where p.postId in :postIds")
+    List<PostBoardNameDto> findBoardNamesByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    // 게시판의 첫 페이지 (최신순)
+    @Query(SELECT_POST_RESPONSE + "and p.board.boardId = :boardId " +
+            "order by p.createdDate desc, p.postId desc")
+    Slice<PostResponseDto> findFirstPageByBoardId(@Param("boardId") Long boardId, Pageable pageable);
+
+    // cursor(createdDate, postId) 다음 페이지, (board_id, createdDate, post_id) 인덱스 범위 조회
+    @Query(SELECT_POST_RESPONSE + "and p.board.boardId = :boardId " +
+            "and (p.createdDate < :createdDate or (p.createdDate = :createdDate and p.postId < :postId)) " +
+            "order by p.createdDate desc, p.postId desc")
+    Slice<PostResponseDto> findNextPageByBoardId(@Param("boardId") Long boardId,
+                                                 @Param("createdDate") LocalDateTime createdDate,
+                                                 @Param("postId") Long postId,
+                                                 Pageable pageable);
+
+    long countByBoard_BoardIdAndDeletedFalse(Long boardId);
+
+    // 삭제 표시되지 않은 글만 조회
+    Optional<Post> findByPostIdAndDeletedFalse(Long postId);
+
+    boolean existsByPostIdAndDeletedFalse(Long postId);
+
+    // 삭제 표시된 글에는 반영하지 않고 0 반환
+    @Modifying
+    @Query("update Post p set p.heartCount = p.heartCount + :delta where p.postId = :postId and p.deleted = false")
+    int addHeartCount(@Param("postId") Long postId, @Param("delta") long delta);
+
+    // 좋아요 수가 가장 많은 글 id (좋아요 bitmap 캐시 대상 선정용, 주기적으로만 호출)
+    @Query("select p.postId from Post p where p.heartCount >= :minHeartCount and p.deleted = false order by p.heartCount desc")
+    List<Long> findHotPostIds(@Param("minHeartCount") long minHeartCount, Pageable pageable);
+
+    @Modifying
+    @Query("update Post p set p.commentCount = p.commentCount + :delta where p.postId = :postId")
+    int addCommentCount(@Param("postId") Long postId, @Param("delta") long delta);
+
+    @Query("select p.commentCount from Post p where p.postId = :postId")
+    Optional<Long> findCommentCountById(@Param("postId") Long postId);
+
+    // 일괄 삭제용 chunk 조회
+    @Query("select p.postId from Post p where p.board.boardId = :boardId")
+    List<Long> findIdsByBoardId(@Param("boardId") Long boardId, Pageable pageable);
+
+    // 글을 지울 때 함께 지우거나 고쳐야 하는 행 수 (글, 댓글, 글 좋아요, 댓글 좋아요, 연결을 끊을 쪽지방), 좋아요는 비정규화된 카운터로 계산
+    @Query("select p.commentCount + p.heartCount + 1 " +
+            "+ (select coalesce(sum(c.heartCount), 0) from Comment c where c.post.postId = p.postId) " +
+            "+ (select count(r) from MessageRoom r where r.startPost.postId = p.postId) " +
+            "from Post p where p.postId = :postId")
+    long countAggregateRowsByPostId(@Param("postId") Long postId);
+
+    // 게시판을 지울 때 함께 지워야 하는 행 수, 글 단위 계산과 같은 기준
+    @Query("select coalesce(sum(p.commentCount + p.heartCount + 1), 0) " +
+            "+ (select coalesce(sum(c.heartCount), 0) from Comment c where c.post.board.boardId = :boardId) " +
+            "+ (select count(r) from MessageRoom r where r.startPost.board.boardId = :boardId) " +
+            "from Post p where p.board.boardId = :boardId")
+    long countAggregateRowsByBoardId(@Param("boardId") Long boardId);
+
+    // 나중에 지울 글에 삭제 표시
+    @Modifying
+    @Query("update Post p set p.deleted = true where p.postId = :postId")
+    int markDeleted(@Param("postId") Long postId);
+
+    // 나중에 지울 게시판의 글 전체에 삭제 표시
+    @Modifying
+    @Query("update Post p set p.deleted = true where p.board.boardId = :boardId")
+    int markDeletedByBoardId(@Param("boardId") Long boardId);
+
+    @Modifying
+    @Query("delete from Post p where p.postId = :postId")
+    int deleteByPostId(@Param("postId") Long postId);
+
+    @Query("select coalesce(max(p.postId), 0) from Post p")
+    long findMaxPostId();
+
+    // (fromId, toId] 구간에서 heart_count가 실제 좋아요 수와 다른 글만 보정
+    @Modifying
+    @Query(value = "update post p set p.heart_count = (select count(*) from post_heart h where h.post_id = p.post_id) " +
+            "where p.post_id > :fromId and p.post_id <= :toId " +
+            "and p.heart_count <> (select count(*) from post_heart h where h.post_id = p.post_id)", nativeQuery = true)
+    int reconcileHeartCount(@Param("fromId") long fromId, @Param("toId") long toId);
 
+    // (fromId, toId] 구간에서 comment_count가 실제 댓글 수와 다른 글만 보정
+    @Modifying
+    @Query(value = "update post p set p.comment_count = (select count(*) from comment c where c.post_id = p.post_id) " +
+            "where p.post_id > :fromId and p.post_id <= :toId " +
+            "and p.comment_count <> (select count(*) from comment c where c.post_id = p.post_id)", nativeQuery = true)
+    int reconcileCommentCount(@Param("fromId") long fromId, @Param("toId") long toId);
 }
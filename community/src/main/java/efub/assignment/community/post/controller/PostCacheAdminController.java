@@ -0,0 +1,35 @@
+package efub.assignment.community.post.controller;
+
+import efub.assignment.community.post.dto.PostCacheStatsResponseDto;
+import efub.assignment.community.post.service.PostDetailCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+/* 게시글 상세 캐시 확인 및 비우기 (운영용) */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/posts/cache")
+public class PostCacheAdminController {
+    private final PostDetailCache postDetailCache;
+
+    @GetMapping
+    @ResponseStatus(value = HttpStatus.OK)
+    public PostCacheStatsResponseDto getCacheStats(){
+        return PostCacheStatsResponseDto.of(postDetailCache.size(), postDetailCache.stats());
+    }
+
+    @DeleteMapping
+    @ResponseStatus(value = HttpStatus.OK)
+    public String flushCache(){
+        postDetailCache.invalidateAll();
+        return "게시글 캐시를 비웠습니다.";
+    }
+
+    @DeleteMapping("/{post_id}")
+    @ResponseStatus(value = HttpStatus.OK)
+    public String evictPost(@PathVariable(name = "post_id") Long post_id){
+        postDetailCache.invalidate(post_id);
+        return "게시글 캐시에서 삭제하였습니다.";
+    }
+}
@@ -4,43 +4,53 @@ package efub.assignment.community.post.controller;
 import efub.assignment.community.comment.domain.Comment;
 import efub.assignment.community.comment.dto.CommentRequestDto;
 import efub.assignment.community.comment.dto.CommentResponseDto;
+import efub.assignment.community.comment.dto.CommentThreadResponseDto;
 import efub.assignment.community.comment.service.CommentService;
-import efub.assignment.community.notice.domain.Notice;
-import efub.assignment.community.notice.service.NoticeService;
 import efub.assignment.community.post.dto.PostCommentResponseDto;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/posts/{postId}/comments")
 public class PostCommentController {
 
     private final CommentService commentService;
-    private final NoticeService noticeService;
 
     /* 게시글에 댓글 생성 */
     @PostMapping
     public ResponseEntity<CommentResponseDto> createComment(@PathVariable("postId") Long postId,
                                                             @RequestBody CommentRequestDto requestDto){
         Comment comment = commentService.saveComment(postId, requestDto);
-        //댓글 알림 생성
-        noticeService.createCommentNotice(postId, comment.getContent());
 
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(CommentResponseDto.of(comment));
     }
 
-    /* 게시글의 댓글 목록 조회 */
+    /* 게시글의 댓글 스레드 목록 조회, size개 스레드마다 처음 replies개의 답글 포함 */
+    /* cursor는 이전 응답의 nextCursor (첫 페이지는 생략) */
     @GetMapping
-    public ResponseEntity<PostCommentResponseDto> getPostCommentList(@PathVariable("postId") Long postId){
-        List<Comment> commentList = commentService.findPostCommentList(postId);
+    public ResponseEntity<PostCommentResponseDto> getPostCommentList(@PathVariable("postId") Long postId,
+                                                                     @RequestParam(name = "cursor", required = false) Long cursor,
+                                                                     @RequestParam(name = "size", defaultValue = "20") int size,
+                                                                     @RequestParam(name = "replies", defaultValue = "3") int replies){
+        long count = commentService.countPostComments(postId);
+        Slice<CommentResponseDto> comments = commentService.findPostThreads(postId, cursor, size, replies);
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(PostCommentResponseDto.of(postId, comments, count));
+    }
+
+    /* 댓글 하나와 그 아래 모든 답글 조회 */
+    @GetMapping("/{commentId}/thread")
+    public ResponseEntity<CommentThreadResponseDto> getCommentThread(@PathVariable("postId") Long postId,
+                                                                     @PathVariable("commentId") Long commentId){
+        Slice<CommentResponseDto> comments = commentService.findThread(postId, commentId);
 
         return ResponseEntity.status(HttpStatus.OK)
-                .body(PostCommentResponseDto.of(postId, commentList));
+                .body(CommentThreadResponseDto.of(commentId, comments));
     }
 }
@@ -5,20 +5,27 @@ import efub.assignment.community.board.service.BoardService;
 import efub.assignment.community.comment.dto.HeartRequestDto;
 import efub.assignment.community.post.domain.Post;
 import efub.assignment.community.post.dto.AllPostsResponseDto;
+import efub.assignment.community.post.dto.PostBulkResponseDto;
 import efub.assignment.community.post.dto.PostRequestDto;
 import efub.assignment.community.post.dto.PostResponseDto;
+import efub.assignment.community.post.dto.PostSearchResponseDto;
 import efub.assignment.community.post.dto.PostUpdateDto;
+import efub.assignment.community.post.service.PostBulkService;
+import efub.assignment.community.post.service.PostHeartBuffer;
 import efub.assignment.community.post.service.PostHeartService;
 import efub.assignment.community.post.service.PostService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.util.Optional;
 
 import static java.util.Arrays.stream;
 
@@ -28,6 +35,9 @@ import static java.util.Arrays.stream;
 public class PostController {
     private final PostService postService;
     private final PostHeartService postHeartService;
+    private final PostBulkService postBulkService;
+    // write-behind 모드(heart.write-behind.enabled=true)에서만 존재
+    private final Optional<PostHeartBuffer> postHeartBuffer;
 
     @PostMapping("/posts")
     @ResponseStatus(value = HttpStatus.CREATED)
@@ -36,30 +46,49 @@ public class PostController {
         return PostResponseDto.from(savedPost,savedPost.getAccount().getNickname(),savedPost.getBoard().getBoardId());
     }
 
+    // 게시글 일괄 등록 api, JSON 배열을 스트리밍으로 읽어 batch 단위로 저장하고 항목별 실패를 함께 반환
+    @PostMapping(value = "/posts/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(value = HttpStatus.OK)
+    public PostBulkResponseDto createPostsInBulk(HttpServletRequest request) throws IOException {
+        return postBulkService.ingest(request.getInputStream());
+    }
+
     @GetMapping("/boards/{board_id}/posts")
     @ResponseStatus(value = HttpStatus.OK)
-    public AllPostsResponseDto getAllPost(@PathVariable(name="board_id")Long board_id){
-
-        List<PostResponseDto> list = new ArrayList<>();
-        List<Post> posts = postService.findAllPosts();
-        posts.stream().forEach(post -> { //posts리스트를 스트림으로 변환 후, 각 글에 대해
-            PostResponseDto dto = PostResponseDto.from(post, post.getAccount().getNickname(), post.getBoard().getBoardId());
-            list.add(dto);
-        });
-
-        //for (Post post : posts){
-        //    PostResponseDto dto = PostResponseDto.from(post, post.getAccount().getNickname(), post.getBoard().getBoardId());
-        //    list.add(dto);
-        //}
-        long count = postService.countAllPosts();
-        return new AllPostsResponseDto(list,count);
+    public AllPostsResponseDto getAllPost(@PathVariable(name="board_id")Long board_id,
+                                          @RequestParam(name="cursor", required = false) String cursor,
+                                          @RequestParam(name="size", defaultValue = "20") int size,
+                                          @RequestParam(name="withCount", defaultValue = "false") boolean withCount){
+
+        Slice<PostResponseDto> posts = postService.findBoardPosts(board_id, cursor, size);
+
+        // 전체 글 수는 요청한 경우에만 조회
+        Long count = withCount ? postService.countBoardPosts(board_id) : null;
+        return AllPostsResponseDto.of(posts.getContent(), posts.hasNext(), count);
+    }
+
+    // 게시판 인기글 (최근 좋아요, 댓글이 많은 순, 오래된 활동일수록 가중치가 줄어듦)
+    @GetMapping("/boards/{board_id}/posts/trending")
+    @ResponseStatus(value = HttpStatus.OK)
+    public AllPostsResponseDto getTrendingPosts(@PathVariable(name="board_id")Long board_id,
+                                                @RequestParam(name="size", defaultValue = "10") int size){
+        return AllPostsResponseDto.of(postService.findTrendingPosts(board_id, size), false, null);
+    }
+
+    // 게시판 글 검색 (제목, 내용), 관련도 순
+    @GetMapping("/boards/{board_id}/posts/search")
+    @ResponseStatus(value = HttpStatus.OK)
+    public PostSearchResponseDto searchPosts(@PathVariable(name="board_id")Long board_id,
+                                             @RequestParam(name="q") String q,
+                                             @RequestParam(name="page", defaultValue = "0") int page,
+                                             @RequestParam(name="size", defaultValue = "20") int size){
+        return postService.searchBoardPosts(board_id, q, page, size);
     }
 
     @GetMapping("/posts/{post_id}")
     @ResponseStatus(value = HttpStatus.OK)
     public PostResponseDto getOnePost(@PathVariable(name="post_id")Long post_id){
-        Post post = postService.findPostById(post_id);
-        return PostResponseDto.from(post, post.getAccount().getNickname(), post.getBoard().getBoardId());
+        return postService.findPostResponseById(post_id);
     }
 
     @PutMapping("/posts/{post_id}")
@@ -67,8 +96,7 @@ public class PostController {
     public PostResponseDto updatePost(@PathVariable(name="post_id")Long post_id,
                                       @RequestBody @Valid PostUpdateDto dto){
         Long postId = postService.updatePost(post_id,dto);
-        Post post = postService.findPostById(postId);
-        return PostResponseDto.from(post, post.getAccount().getNickname(), post.getBoard().getBoardId());
+        return postService.findPostResponseById(postId);
     }
 
     @DeleteMapping("/posts/{post_id}")
@@ -84,7 +112,12 @@ public class PostController {
     @PostMapping("/posts/{postId}/hearts")
     @ResponseStatus(HttpStatus.CREATED)
     public String createPostHeart(@PathVariable(name = "postId") final Long postId, @RequestBody final HeartRequestDto requestDto){
-        postHeartService.create(postId, requestDto.getAccountId());
+        if(postHeartBuffer.isPresent()){
+            postHeartBuffer.get().offer(postId, requestDto.getAccountId(), true);
+        }
+        else{
+            postHeartService.create(postId, requestDto.getAccountId());
+        }
         return "좋아요를 눌렀습니다.";
     }
 
@@ -92,7 +125,39 @@ public class PostController {
     @DeleteMapping("/posts/{postId}/hearts")
     @ResponseStatus(HttpStatus.OK)
     public String deletePostHeart(@PathVariable(name ="postId") final Long postId, @RequestParam(name ="accountId") final Long accountId){
-        postHeartService.delete(postId, accountId);
+        if(postHeartBuffer.isPresent()){
+            postHeartBuffer.get().offer(postId, accountId, false);
+        }
+        else{
+            postHeartService.delete(postId, accountId);
+        }
+        return "좋아요가 취소되었습니다.";
+    }
+
+    // 게시글 좋아요 api (멱등), 이미 좋아요를 누른 상태여도 성공, 글이나 계정이 없으면 404
+    @PutMapping("/posts/{postId}/hearts/{accountId}")
+    @ResponseStatus(HttpStatus.OK)
+    public String putPostHeart(@PathVariable(name = "postId") final Long postId,
+                               @PathVariable(name = "accountId") final Long accountId){
+        if(postHeartBuffer.isPresent()){
+            // 버퍼는 DB를 거치지 않고 받기만 함, 없는 글/계정의 요청은 flush에서 버려짐
+            postHeartBuffer.get().offer(postId, accountId, true);
+            return "좋아요를 눌렀습니다.";
+        }
+        return postHeartService.put(postId, accountId) ? "좋아요를 눌렀습니다." : "이미 좋아요를 누른 게시물입니다.";
+    }
+
+    // 게시글 좋아요 취소 api (멱등), 좋아요가 없는 상태여도 성공
+    @DeleteMapping("/posts/{postId}/hearts/{accountId}")
+    @ResponseStatus(HttpStatus.OK)
+    public String removePostHeart(@PathVariable(name = "postId") final Long postId,
+                                  @PathVariable(name = "accountId") final Long accountId){
+        if(postHeartBuffer.isPresent()){
+            postHeartBuffer.get().offer(postId, accountId, false);
+        }
+        else{
+            postHeartService.remove(postId, accountId);
+        }
         return "좋아요가 취소되었습니다.";
     }
 
@@ -0,0 +1,27 @@
+package efub.assignment.community.post.controller;
+
+import efub.assignment.community.post.search.PostSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+/* 게시글 검색 색인 확인 및 재구성 (운영용) */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/posts/search-index")
+public class PostSearchAdminController {
+    private final PostSearchIndex postSearchIndex;
+
+    @GetMapping
+    @ResponseStatus(value = HttpStatus.OK)
+    public String getIndexSize(){
+        return "색인된 글 " + postSearchIndex.size() + "개";
+    }
+
+    @PostMapping("/rebuild")
+    @ResponseStatus(value = HttpStatus.OK)
+    public String rebuildIndex(){
+        int indexed = postSearchIndex.rebuild();
+        return "검색 색인을 재구성하였습니다. 글 " + indexed + "개";
+    }
+}
@@ -12,11 +12,14 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@DynamicUpdate // 변경된 칼럼만 UPDATE, 글 수정이 원자적으로 증감되는 heart_count를 덮어쓰지 않도록
+@Table(indexes = @Index(name = "idx_post_board_created", columnList = "board_id, createdDate, post_id"))
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter
 public class Post extends BaseTimeEntity {
@@ -25,11 +28,11 @@ public class Post extends BaseTimeEntity {
     @Column(name = "post_id",updatable = false)
     private Long postId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "account_id",updatable = false)  //외래키 매핑
     private Account account;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "board_id",updatable = false)  //외래키 매핑
     private Board board;
 
@@ -42,6 +45,18 @@ public class Post extends BaseTimeEntity {
     @Column(nullable = false, length = 10)
     private String writerOpen;
 
+    // 좋아요 수 (PostHeart 행 수를 비정규화, UPDATE 문으로만 증감)
+    @Column(nullable = false)
+    private long heartCount;
+
+    // 댓글 수 (Comment 행 수를 비정규화, UPDATE 문으로만 증감)
+    @Column(nullable = false)
+    private long commentCount;
+
+    // 삭제 표시, 자식 행이 많아 나중에 지우는 글은 먼저 표시해서 조회와 쓰기에서 제외 (UPDATE 문으로만 변경)
+    @Column(nullable = false)
+    private boolean deleted;
+
     /* mappedBy : 연관관계의 주인 */
     /* cascade : 엔티티 삭제 시 연관된 엔티티의 처리 방식 */
     /* orphanRemoval : 고아 객체의 처리 방식 */
@@ -7,19 +7,25 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
 
 @Entity
 @Getter
+@IdClass(PostHeartId.class)
+@EntityListeners(AuditingEntityListener.class)
+@Table(indexes = @Index(name = "idx_post_heart_created", columnList = "createdDate"))
 @NoArgsConstructor(access= AccessLevel.PROTECTED)
 public class PostHeart {
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @Column(name = "post_heart_id")
-    private Long id;
+    // (post_id, account_id) 복합 기본키
+    // 같은 계정이 같은 post에 좋아요를 두 번 누를 수 없고, post_id 순으로 clustered 저장됨
 
     // 각 post는 좋아요를 여러 개 가질 수 있음
     // 각 좋아요는 하나의 post에 속함
     // 양방향 연관관계
+    @Id
     @ManyToOne(fetch = FetchType.LAZY)
     @NotNull(message = "게시글은 필수로 입력되어야 합니다.")
     @JoinColumn(name = "post_id", updatable = false)
@@ -29,11 +35,17 @@ public class PostHeart {
     // 각 post 좋아요는 한 명의 작성자를 가짐
     // Account에서는 PostHeart 객체를 사용하지 않지만, PostHeart는 'account_id'를 참조
     // -> 단방향 연관관계
+    @Id
     @ManyToOne(fetch = FetchType.LAZY)
     @NotNull(message = "작성자는 필수로 입력되어야 합니다.")
     @JoinColumn(name = "account_id", updatable = false)
     private Account writer;
 
+    // 좋아요를 누른 시각 (인기글 집계 재구성용)
+    @CreatedDate
+    @Column(updatable = false)
+    private LocalDateTime createdDate;
+
     @Builder
     public PostHeart(Post post, Account account){
         this.post = post;
@@ -0,0 +1,18 @@
+package efub.assignment.community.post.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/* PostHeart의 복합 기본키 (post_id, account_id) */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class PostHeartId implements Serializable {
+    private Long post;
+    private Long writer;
+}
@@ -1,5 +1,7 @@
 package efub.assignment.community.post.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import efub.assignment.community.global.pagination.KeysetCursor;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -7,7 +9,20 @@ import java.util.List;
 
 @Getter
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class AllPostsResponseDto {
     private List<PostResponseDto> posts;
-    private long count;
-}
\ No newline at end of file
+    // 다음 페이지 cursor, 마지막 페이지면 null
+    private String nextCursor;
+    // 요청한 경우에만 채워지는 게시판 전체 글 수 (페이지 조회 시점과 다를 수 있는 근사값)
+    private Long count;
+
+    public static AllPostsResponseDto of(List<PostResponseDto> posts, boolean hasNext, Long count){
+        String nextCursor = null;
+        if(hasNext && !posts.isEmpty()){
+            PostResponseDto last = posts.get(posts.size() - 1);
+            nextCursor = KeysetCursor.of(last.getCreatedDate(), last.getPostId()).encode();
+        }
+        return new AllPostsResponseDto(posts, nextCursor, count);
+    }
+}
@@ -0,0 +1,13 @@
+package efub.assignment.community.post.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/* 일정 구간 동안 글별로 집계한 활동(좋아요, 댓글) 수 */
+@Getter
+@AllArgsConstructor
+public class PostActivityCountDto {
+    private Long postId;
+    private Long boardId;
+    private Long count;
+}
@@ -0,0 +1,12 @@
+package efub.assignment.community.post.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/* 글이 속한 게시판 이름 (알림 생성용) */
+@Getter
+@AllArgsConstructor
+public class PostBoardNameDto {
+    private Long postId;
+    private String boardName;
+}
@@ -0,0 +1,28 @@
+package efub.assignment.community.post.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class PostBulkResponseDto {
+    private Long received;
+    private Long inserted;
+    private Long failed;
+    // 실패한 항목 (배열 내 순서, 사유), 최대 개수까지만 담음
+    private List<Failure> failures;
+
+    public static PostBulkResponseDto of(long received, long inserted, long failed, List<Failure> failures){
+        return new PostBulkResponseDto(received, inserted, failed, failures);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Failure {
+        private Long index;
+        private String reason;
+    }
+}
@@ -1,28 +1,42 @@
 package efub.assignment.community.post.dto;
 
-import efub.assignment.community.comment.domain.Comment;
 import efub.assignment.community.comment.dto.CommentResponseDto;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Getter
 @Builder
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class PostCommentResponseDto {
     private Long postId;
-    private List<CommentResponseDto> postCommentList;
-    private Long count;
+    private List<CommentResponseDto> postCommentList; // 스레드별로 루트 다음에 답글이 깊이 우선 순서로 이어짐
+    private Long count; // 게시글의 전체 댓글 수 (답글 포함)
+    private boolean hasNext;
+    private Long nextCursor; // 다음 페이지 요청 시 cursor로 전달 (마지막 스레드의 루트 댓글 id), 마지막 페이지면 null
 
-    public static PostCommentResponseDto of(Long postId, List<Comment> commentList){
+    public static PostCommentResponseDto of(Long postId, Slice<CommentResponseDto> comments, long count){
+        List<CommentResponseDto> commentList = comments.getContent();
+        Long nextCursor = comments.hasNext() ? lastRootId(commentList) : null;
         return PostCommentResponseDto.builder()
                 .postId(postId)
-                .postCommentList(commentList.stream().map(CommentResponseDto::of).collect(Collectors.toList()))
-                .count((long) commentList.size())
+                .postCommentList(commentList)
+                .count(count)
+                .hasNext(comments.hasNext())
+                .nextCursor(nextCursor)
                 .build();
     }
+
+    private static Long lastRootId(List<CommentResponseDto> commentList){
+        for(int i = commentList.size() - 1; i >= 0; i--){
+            if(commentList.get(i).getParentId() == null){
+                return commentList.get(i).getCommentId();
+            }
+        }
+        return null;
+    }
 }
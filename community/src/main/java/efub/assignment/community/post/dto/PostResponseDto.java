@@ -20,6 +20,8 @@ public class PostResponseDto {
     private String writerOpen;
     private LocalDateTime createdDate;
     private LocalDateTime modifiedDate;
+    private Long heartCount;
+    private Long commentCount;
 
     public static PostResponseDto from(Post post, String writerName, Long boardId){
         return new PostResponseDto(
@@ -30,7 +32,9 @@ public class PostResponseDto {
                 post.getContent(),
                 post.getWriterOpen(),
                 post.getCreatedDate(),
-                post.getModifiedDate()
+                post.getModifiedDate(),
+                post.getHeartCount(),
+                post.getCommentCount()
         );
     }
 }
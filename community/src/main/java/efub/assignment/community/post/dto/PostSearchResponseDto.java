@@ -0,0 +1,29 @@
+package efub.assignment.community.post.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class PostSearchResponseDto {
+    private List<PostResponseDto> posts; // 관련도 순
+    private Integer page;
+    private Integer size;
+    private Long totalCount;
+    private Boolean hasNext;
+
+    public static PostSearchResponseDto of(List<PostResponseDto> posts, int page, int size, long totalCount){
+        return PostSearchResponseDto.builder()
+                .posts(posts)
+                .page(page)
+                .size(size)
+                .totalCount(totalCount)
+                .hasNext((long) (page + 1) * size < totalCount)
+                .build();
+    }
+}
@@ -0,0 +1,14 @@
+package efub.assignment.community.post.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/* 검색 색인 재구성 시 DB에서 읽어오는 글 정보 */
+@Getter
+@AllArgsConstructor
+public class PostSearchSourceDto {
+    private Long postId;
+    private Long boardId;
+    private String title;
+    private String content;
+}
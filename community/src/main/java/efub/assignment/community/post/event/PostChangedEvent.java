@@ -0,0 +1,5 @@
+package efub.assignment.community.post.event;
+
+/* 게시글이 수정된 경우 발행 (수정된 제목, 내용 포함) */
+public record PostChangedEvent(Long postId, Long boardId, String title, String content) {
+}
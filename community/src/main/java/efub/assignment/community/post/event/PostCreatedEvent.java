@@ -0,0 +1,5 @@
+package efub.assignment.community.post.event;
+
+/* 게시글이 작성된 경우 발행 */
+public record PostCreatedEvent(Long postId, Long boardId, String title, String content) {
+}
@@ -0,0 +1,5 @@
+package efub.assignment.community.post.event;
+
+/* 게시글이 삭제된 경우 발행 */
+public record PostDeletedEvent(Long postId, Long boardId) {
+}
@@ -0,0 +1,5 @@
+package efub.assignment.community.post.event;
+
+/* 게시글 좋아요가 실제로 추가(hearted=true) 또는 삭제(hearted=false)된 경우 발행 */
+public record PostHeartEvent(Long postId, Long accountId, boolean hearted) {
+}
@@ -0,0 +1,5 @@
+package efub.assignment.community.post.event;
+
+/* 게시글에 삭제 표시를 한 경우 발행, 실제로 지운 뒤에는 PostDeletedEvent */
+public record PostMarkedDeletedEvent(Long postId, Long boardId) {
+}
@@ -0,0 +1,44 @@
+package efub.assignment.community.post.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/* 글자 2개 단위(bigram)로 자르는 토크나이저 */
+/* 형태소 분석 없이도 한국어 조사, 어미가 붙은 단어를 부분 일치로 찾을 수 있음 ("게시판에서" -> 게시, 시판, 판에, 에서) */
+/* 한 글자 단어는 그 글자 자체를 토큰으로 사용 */
+public final class BigramTokenizer {
+
+    private BigramTokenizer(){
+    }
+
+    public static List<String> tokenize(String text){
+        List<String> tokens = new ArrayList<>();
+        if(text == null || text.isBlank()){
+            return tokens;
+        }
+        // 전각/반각, 호환 자모 등을 통일하고 대소문자 구분 없앰
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        int[] codePoints = normalized.codePoints().toArray();
+        int wordStart = 0;
+        for(int i = 0; i <= codePoints.length; i++){
+            if(i < codePoints.length && Character.isLetterOrDigit(codePoints[i])){
+                continue;
+            }
+            addWord(codePoints, wordStart, i, tokens);
+            wordStart = i + 1;
+        }
+        return tokens;
+    }
+
+    private static void addWord(int[] codePoints, int from, int to, List<String> tokens){
+        int length = to - from;
+        if(length == 1){
+            tokens.add(new String(codePoints, from, 1));
+        }
+        for(int i = from; i + 1 < to; i++){
+            tokens.add(new String(codePoints, i, 2));
+        }
+    }
+}
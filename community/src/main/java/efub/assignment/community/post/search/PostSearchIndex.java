@@ -0,0 +1,270 @@
+package efub.assignment.community.post.search;
+
+import efub.assignment.community.post.PostRepository;
+import efub.assignment.community.post.dto.PostSearchSourceDto;
+import efub.assignment.community.post.event.PostChangedEvent;
+import efub.assignment.community.post.event.PostCreatedEvent;
+import efub.assignment.community.post.event.PostDeletedEvent;
+import efub.assignment.community.post.event.PostMarkedDeletedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/* 게시글 제목, 내용에 대한 메모리 역색인 (게시판별) */
+/* bigram 토큰 -> (postId -> 출현 횟수) 목록을 유지하고, 검색어의 모든 토큰을 포함하는 글을 BM25 점수 순으로 반환 */
+/* 글 작성/수정/삭제는 커밋 이후 이벤트로 바로 반영하고, 서버 시작 시 또는 요청 시 DB에서 다시 구성 */
+@Slf4j
+@Component
+public class PostSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // 제목에 나온 토큰은 내용보다 가중치를 크게
+    private static final int TITLE_BOOST = 2;
+
+    private final PostRepository postRepository;
+    private final int rebuildChunkSize;
+
+    private volatile Index index = new Index();
+    // 재구성 중에 들어온 변경, 새 색인으로 교체하기 전에 다시 적용 (this로 동기화)
+    private List<Consumer<Index>> pendingChanges;
+    private final Object rebuildLock = new Object();
+
+    public PostSearchIndex(PostRepository postRepository,
+                           @Value("${search.rebuild-chunk-size:1000}") int rebuildChunkSize){
+        this.postRepository = postRepository;
+        this.rebuildChunkSize = rebuildChunkSize;
+    }
+
+    // 게시판에서 검색어와 관련된 글 id를 관련도 순으로 page번째 size개, 전체 일치 건수와 함께 반환
+    public SearchResult search(Long boardId, String query, int page, int size){
+        List<Long> ranked = index.search(boardId, BigramTokenizer.tokenize(query));
+        int from = (int) Math.min((long) page * size, ranked.size());
+        int to = Math.min(from + size, ranked.size());
+        return new SearchResult(List.copyOf(ranked.subList(from, to)), ranked.size());
+    }
+
+    public int size(){
+        return index.postBoards.size();
+    }
+
+    @TransactionalEventListener
+    public void onPostCreated(PostCreatedEvent event){
+        apply(target -> target.upsert(event.postId(), event.boardId(), event.title(), event.content()));
+    }
+
+    @TransactionalEventListener
+    public void onPostChanged(PostChangedEvent event){
+        apply(target -> target.upsert(event.postId(), event.boardId(), event.title(), event.content()));
+    }
+
+    @TransactionalEventListener
+    public void onPostDeleted(PostDeletedEvent event){
+        apply(target -> target.remove(event.postId()));
+    }
+
+    // 삭제 표시된 글은 실제로 지워지기 전에 검색 결과에서 뺌
+    @TransactionalEventListener
+    public void onPostMarkedDeleted(PostMarkedDeletedEvent event){
+        apply(target -> target.remove(event.postId()));
+    }
+
+    private synchronized void apply(Consumer<Index> change){
+        change.accept(index);
+        if(pendingChanges != null){
+            pendingChanges.add(change);
+        }
+    }
+
+    // 서버 시작을 막지 않도록 별도 스레드에서 재구성, 그동안은 이벤트로 들어온 글만 검색됨
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup(){
+        Thread thread = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.error("검색 색인 재구성 실패", e);
+            }
+        }, "post-search-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // 전체 글을 post_id 순으로 chunk 단위로 읽어 새 색인을 만든 뒤 한 번에 교체, 색인된 글 수 반환
+    public int rebuild(){
+        synchronized (rebuildLock){
+            synchronized (this){
+                pendingChanges = new ArrayList<>();
+            }
+            try {
+                Index fresh = new Index();
+                long afterId = 0;
+                List<PostSearchSourceDto> chunk;
+                do {
+                    chunk = postRepository.findSearchSourcesAfter(afterId, PageRequest.of(0, rebuildChunkSize));
+                    for(PostSearchSourceDto post : chunk){
+                        fresh.upsert(post.getPostId(), post.getBoardId(), post.getTitle(), post.getContent());
+                        afterId = post.getPostId();
+                    }
+                } while(chunk.size() == rebuildChunkSize);
+
+                synchronized (this){
+                    pendingChanges.forEach(change -> change.accept(fresh));
+                    index = fresh;
+                }
+                log.info("검색 색인 재구성 완료: 글 {}개", fresh.postBoards.size());
+                return fresh.postBoards.size();
+            } finally {
+                synchronized (this){
+                    pendingChanges = null;
+                }
+            }
+        }
+    }
+
+    public record SearchResult(List<Long> postIds, long totalCount) {
+    }
+
+    // 게시판별 색인 묶음, 교체 시 통째로 바뀜
+    private static final class Index {
+        private final Map<Long, BoardIndex> boards = new ConcurrentHashMap<>();
+        private final Map<Long, Long> postBoards = new ConcurrentHashMap<>();
+
+        private void upsert(Long postId, Long boardId, String title, String content){
+            Map<String, Integer> termFreqs = new HashMap<>();
+            for(String token : BigramTokenizer.tokenize(title)){
+                termFreqs.merge(token, TITLE_BOOST, Integer::sum);
+            }
+            for(String token : BigramTokenizer.tokenize(content)){
+                termFreqs.merge(token, 1, Integer::sum);
+            }
+            Long oldBoardId = postBoards.put(postId, boardId);
+            if(oldBoardId != null && !oldBoardId.equals(boardId)){
+                boards.get(oldBoardId).remove(postId);
+            }
+            boards.computeIfAbsent(boardId, id -> new BoardIndex()).put(postId, termFreqs);
+        }
+
+        private void remove(Long postId){
+            Long boardId = postBoards.remove(postId);
+            if(boardId != null){
+                boards.get(boardId).remove(postId);
+            }
+        }
+
+        private List<Long> search(Long boardId, List<String> tokens){
+            BoardIndex board = boards.get(boardId);
+            if(board == null || tokens.isEmpty()){
+                return List.of();
+            }
+            return board.search(new ArrayList<>(new LinkedHashSet<>(tokens)));
+        }
+    }
+
+    private static final class BoardIndex {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        // 토큰 -> (postId -> 가중 출현 횟수)
+        private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+        // postId -> 토큰별 출현 횟수 (수정, 삭제 시 postings에서 지우기 위함)
+        private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+        private final Map<Long, Integer> lengths = new HashMap<>();
+        private long totalLength;
+
+        private void put(Long postId, Map<String, Integer> termFreqs){
+            lock.writeLock().lock();
+            try {
+                removeLocked(postId);
+                int length = 0;
+                for(Map.Entry<String, Integer> term : termFreqs.entrySet()){
+                    postings.computeIfAbsent(term.getKey(), key -> new HashMap<>()).put(postId, term.getValue());
+                    length += term.getValue();
+                }
+                documents.put(postId, termFreqs);
+                lengths.put(postId, length);
+                totalLength += length;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void remove(Long postId){
+            lock.writeLock().lock();
+            try {
+                removeLocked(postId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void removeLocked(Long postId){
+            Map<String, Integer> termFreqs = documents.remove(postId);
+            if(termFreqs == null){
+                return;
+            }
+            for(String term : termFreqs.keySet()){
+                Map<Long, Integer> posting = postings.get(term);
+                posting.remove(postId);
+                if(posting.isEmpty()){
+                    postings.remove(term);
+                }
+            }
+            totalLength -= lengths.remove(postId);
+        }
+
+        // 모든 토큰을 포함하는 글만, 가장 짧은 posting부터 교집합을 구한 뒤 BM25 점수 순 정렬
+        private List<Long> search(List<String> terms){
+            lock.readLock().lock();
+            try {
+                List<Map<Long, Integer>> termPostings = new ArrayList<>(terms.size());
+                for(String term : terms){
+                    Map<Long, Integer> posting = postings.get(term);
+                    if(posting == null){
+                        return List.of();
+                    }
+                    termPostings.add(posting);
+                }
+                termPostings.sort(Comparator.comparingInt(Map::size));
+
+                int documentCount = documents.size();
+                double averageLength = (double) totalLength / documentCount;
+                Map<Long, Double> scores = new HashMap<>();
+                candidates:
+                for(Long postId : termPostings.get(0).keySet()){
+                    double score = 0;
+                    double lengthNorm = K1 * (1 - B + B * lengths.get(postId) / averageLength);
+                    for(Map<Long, Integer> posting : termPostings){
+                        Integer termFreq = posting.get(postId);
+                        if(termFreq == null){
+                            continue candidates;
+                        }
+                        double idf = Math.log(1 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+                        score += idf * termFreq * (K1 + 1) / (termFreq + lengthNorm);
+                    }
+                    scores.put(postId, score);
+                }
+
+                List<Long> ranked = new ArrayList<>(scores.keySet());
+                ranked.sort(Comparator.<Long>comparingDouble(scores::get).reversed()
+                        .thenComparing(Comparator.reverseOrder()));
+                return ranked;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
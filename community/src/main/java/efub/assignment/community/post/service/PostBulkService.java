@@ -0,0 +1,243 @@
+package efub.assignment.community.post.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import efub.assignment.community.account.service.AccountService;
+import efub.assignment.community.board.service.BoardService;
+import efub.assignment.community.post.dto.PostBulkResponseDto;
+import efub.assignment.community.post.dto.PostRequestDto;
+import efub.assignment.community.post.event.PostCreatedEvent;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/* 게시글 일괄 등록 */
+/* JSON 배열을 한 항목씩 스트리밍으로 읽어 batchSize개씩 모은 뒤, 작성자와 게시판은 chunk 단위 IN 쿼리로 확인하고 */
+/* JDBC batch insert로 저장 (IDENTITY 키 때문에 Hibernate는 insert를 batch로 묶지 못함) */
+/* 메모리에는 현재 chunk와 최대 개수까지의 실패 내역만 남음 */
+/* MySQL에서 실제로 한 번의 다중 행 insert가 되려면 JDBC URL에 rewriteBatchedStatements=true 필요 */
+@Slf4j
+@Service
+public class PostBulkService {
+
+    private static final String INSERT_POST = "insert into post " +
+            "(account_id, board_id, title, content, writer_open, heart_count, comment_count, deleted, created_date, modified_date) " +
+            "values (?, ?, ?, ?, ?, 0, 0, false, ?, ?)";
+    private static final String DEFAULT_WRITER_OPEN = "false";
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final AccountService accountService;
+    private final BoardService boardService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int maxReportedFailures;
+
+    public PostBulkService(ObjectMapper objectMapper,
+                           Validator validator,
+                           AccountService accountService,
+                           BoardService boardService,
+                           JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${post.bulk.batch-size:500}") int batchSize,
+                           @Value("${post.bulk.max-reported-failures:100}") int maxReportedFailures){
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.accountService = accountService;
+        this.boardService = boardService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.maxReportedFailures = maxReportedFailures;
+    }
+
+    // 잘못된 항목은 실패로 기록하고 나머지는 계속 저장, JSON 형식 자체가 깨지면 그때까지 읽은 항목만 저장하고 중단
+    public PostBulkResponseDto ingest(InputStream body) throws IOException {
+        BulkResult result = new BulkResult();
+        List<BulkItem> chunk = new ArrayList<>(batchSize);
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if(parser.nextToken() != JsonToken.START_ARRAY){
+                throw new IllegalArgumentException("요청 본문은 JSON 배열이어야 합니다.");
+            }
+            try {
+                JsonToken token;
+                while((token = parser.nextToken()) != JsonToken.END_ARRAY){
+                    if(token == null){
+                        result.fail(result.received, "JSON 배열이 닫히지 않았습니다.");
+                        break;
+                    }
+                    long index = result.received;
+                    // 항목 하나만 트리로 읽으므로 항목별 변환 오류는 다음 항목에 영향을 주지 않음
+                    JsonNode node = parser.readValueAsTree();
+                    result.received++;
+                    BulkItem item = toItem(index, node, result);
+                    if(item != null){
+                        chunk.add(item);
+                    }
+                    if(chunk.size() == batchSize){
+                        writeChunk(chunk, result);
+                        chunk.clear();
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                result.fail(result.received, "JSON 형식 오류: " + e.getOriginalMessage());
+            }
+        }
+        writeChunk(chunk, result);
+        return PostBulkResponseDto.of(result.received, result.inserted, result.failed, result.failures);
+    }
+
+    private BulkItem toItem(long index, JsonNode node, BulkResult result){
+        PostRequestDto dto;
+        try {
+            dto = objectMapper.treeToValue(node, PostRequestDto.class);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            result.fail(index, "형식이 올바르지 않습니다.");
+            return null;
+        }
+        Set<ConstraintViolation<PostRequestDto>> violations = validator.validate(dto);
+        if(!violations.isEmpty()){
+            result.fail(index, violations.iterator().next().getMessage());
+            return null;
+        }
+        try {
+            return new BulkItem(index, dto, Long.parseLong(dto.getBoardId()));
+        } catch (NumberFormatException e) {
+            result.fail(index, "게시판 id는 숫자여야 합니다.");
+            return null;
+        }
+    }
+
+    private void writeChunk(List<BulkItem> chunk, BulkResult result){
+        if(chunk.isEmpty()){
+            return;
+        }
+        // 작성자 닉네임, 게시판 id를 chunk 단위로 한 번에 확인
+        Set<String> nicknames = chunk.stream().map(item -> item.dto().getWriterNickname()).collect(Collectors.toSet());
+        Set<Long> boardIds = chunk.stream().map(BulkItem::boardId).collect(Collectors.toSet());
+        Map<String, Long> accountIds = accountService.findAccountIdsByNicknames(nicknames);
+        Set<Long> existingBoardIds = new HashSet<>(boardService.findExistingBoardIds(boardIds));
+
+        List<PostRow> rows = new ArrayList<>(chunk.size());
+        for(BulkItem item : chunk){
+            Long accountId = accountIds.get(item.dto().getWriterNickname());
+            if(accountId == null){
+                result.fail(item.index(), "해당 nickname를 가진 Account를 찾을 수 없습니다. nickname=" + item.dto().getWriterNickname());
+            }
+            else if(!existingBoardIds.contains(item.boardId())){
+                result.fail(item.index(), "해당 id를 가진 board를 찾을 수 없습니다.id=" + item.boardId());
+            }
+            else{
+                PostRequestDto dto = item.dto();
+                String writerOpen = dto.getWriterOpen() == null ? DEFAULT_WRITER_OPEN : dto.getWriterOpen();
+                rows.add(new PostRow(item.index(), accountId, item.boardId(), dto.getTitle(), dto.getContent(), writerOpen));
+            }
+        }
+        if(rows.isEmpty()){
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(rows));
+            result.inserted += rows.size();
+        } catch (DataAccessException e) {
+            // chunk 전체가 롤백되었으므로 한 건씩 다시 저장해서 실패한 항목만 골라냄
+            log.warn("게시글 일괄 등록 batch 실패, 한 건씩 다시 시도합니다. ({}건)", rows.size());
+            for(PostRow row : rows){
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(row)));
+                    result.inserted++;
+                } catch (DataAccessException rowException) {
+                    result.fail(row.index(), "저장 실패: " + NestedExceptionUtils.getMostSpecificCause(rowException).getMessage());
+                }
+            }
+        }
+    }
+
+    // 하나의 PreparedStatement에 모든 행을 addBatch 한 뒤 한 번에 실행, 생성된 post_id로 작성 이벤트 발행
+    private void insert(List<PostRow> rows){
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_POST, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        PostRow row = rows.get(i);
+                        ps.setLong(1, row.accountId());
+                        ps.setLong(2, row.boardId());
+                        ps.setString(3, row.title());
+                        ps.setString(4, row.content());
+                        ps.setString(5, row.writerOpen());
+                        ps.setTimestamp(6, now);
+                        ps.setTimestamp(7, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                }, keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if(keys.size() != rows.size()){
+            log.warn("생성된 키 개수가 행 수와 다릅니다. rows={}, keys={}", rows.size(), keys.size());
+            return;
+        }
+        for(int i = 0; i < rows.size(); i++){
+            PostRow row = rows.get(i);
+            Long postId = ((Number) keys.get(i).values().iterator().next()).longValue();
+            eventPublisher.publishEvent(new PostCreatedEvent(postId, row.boardId(), row.title(), row.content()));
+        }
+    }
+
+    private record BulkItem(long index, PostRequestDto dto, Long boardId) {
+    }
+
+    private record PostRow(long index, Long accountId, Long boardId, String title, String content, String writerOpen) {
+    }
+
+    private class BulkResult {
+        private long received;
+        private long inserted;
+        private long failed;
+        private final List<PostBulkResponseDto.Failure> failures = new ArrayList<>();
+
+        private void fail(long index, String reason){
+            failed++;
+            if(failures.size() < maxReportedFailures){
+                failures.add(new PostBulkResponseDto.Failure(index, reason));
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package efub.assignment.community.post.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import efub.assignment.community.account.event.AccountNicknameChangedEvent;
+import efub.assignment.community.board.event.BoardMarkedDeletedEvent;
+import efub.assignment.community.comment.event.CommentCreatedEvent;
+import efub.assignment.community.comment.event.CommentDeletedEvent;
+import efub.assignment.community.post.dto.PostResponseDto;
+import efub.assignment.community.post.event.PostChangedEvent;
+import efub.assignment.community.post.event.PostDeletedEvent;
+import efub.assignment.community.post.event.PostMarkedDeletedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/* 게시글 상세 조회 결과(PostResponseDto) 캐시 */
+/* 크기와 TTL로 제한하고, 글 수정/삭제와 작성자 닉네임 변경 시 커밋 이후 해당 항목만 무효화 */
+/* 좋아요 수는 무효화 대상이 아니므로 최대 TTL만큼 늦게 반영될 수 있음 */
+@Component
+public class PostDetailCache {
+
+    private final Cache<Long, PostResponseDto> cache;
+
+    public PostDetailCache(MeterRegistry meterRegistry,
+                           @Value("${post.detail-cache.max-size:10000}") long maxSize,
+                           @Value("${post.detail-cache.ttl-seconds:30}") long ttlSeconds){
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        // cache.gets / cache.puts / cache.evictions 등 hit, miss, eviction 지표 등록
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "postDetail");
+    }
+
+    // 캐시에 없으면 loader로 읽어서 저장, loader가 예외를 던지면 저장하지 않음
+    public PostResponseDto get(Long postId, Function<Long, PostResponseDto> loader){
+        return cache.get(postId, loader);
+    }
+
+    // 캐시에 없는 글만 모아서 loader 한 번으로 읽음, loader 결과에 없는 글(삭제된 글)은 빠짐
+    public Map<Long, PostResponseDto> getAll(Collection<Long> postIds, Function<Set<? extends Long>, Map<Long, PostResponseDto>> loader){
+        return cache.getAll(postIds, loader);
+    }
+
+    public void invalidate(Long postId){
+        cache.invalidate(postId);
+    }
+
+    public void invalidateAll(){
+        cache.invalidateAll();
+    }
+
+    public long size(){
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats(){
+        return cache.stats();
+    }
+
+    @TransactionalEventListener
+    public void onPostChanged(PostChangedEvent event){
+        invalidate(event.postId());
+    }
+
+    @TransactionalEventListener
+    public void onPostDeleted(PostDeletedEvent event){
+        invalidate(event.postId());
+    }
+
+    // 삭제 표시된 글은 DB 조회에서 걸러지므로 캐시에서만 빼면 됨
+    @TransactionalEventListener
+    public void onPostMarkedDeleted(PostMarkedDeletedEvent event){
+        invalidate(event.postId());
+    }
+
+    // 게시판 삭제 표시는 드물기 때문에 캐시 전체를 훑어 해당 게시판의 글만 제거
+    @TransactionalEventListener
+    public void onBoardMarkedDeleted(BoardMarkedDeletedEvent event){
+        cache.asMap().values().removeIf(post -> event.boardId().equals(post.getBoardId()));
+    }
+
+    // 캐시된 응답의 댓글 수가 바뀜
+    @TransactionalEventListener
+    public void onCommentCreated(CommentCreatedEvent event){
+        invalidate(event.postId());
+    }
+
+    @TransactionalEventListener
+    public void onCommentDeleted(CommentDeletedEvent event){
+        invalidate(event.postId());
+    }
+
+    // 닉네임 변경은 드물기 때문에 캐시 전체를 훑어 해당 작성자의 글만 제거
+    @TransactionalEventListener
+    public void onNicknameChanged(AccountNicknameChangedEvent event){
+        cache.asMap().values().removeIf(post -> event.oldNickname().equals(post.getWriterNickname()));
+    }
+}
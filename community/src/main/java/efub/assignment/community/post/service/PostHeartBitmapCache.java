@@ -0,0 +1,170 @@
+package efub.assignment.community.post.service;
+
+import efub.assignment.community.post.PostHeartRepository;
+import efub.assignment.community.post.PostRepository;
+import efub.assignment.community.post.event.PostDeletedEvent;
+import efub.assignment.community.post.event.PostHeartEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/* 좋아요가 많은 게시글의 좋아요 계정 id를 압축 bitmap으로 메모리에 보관 (heart.bitmap.enabled=true 일 때만 등록) */
+/* 캐시된 게시글은 "이 계정이 좋아요를 눌렀는가"를 DB 조회 없이 답함 */
+/* 대상 게시글은 주기적으로 heart_count 상위 글로 다시 선정하고, 좋아요 변경은 커밋 이후 이벤트로 반영 */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "heart.bitmap.enabled", havingValue = "true")
+public class PostHeartBitmapCache {
+
+    private final PostHeartRepository postHeartRepository;
+    private final PostRepository postRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxPosts;
+    private final long minHeartCount;
+
+    // postId -> 좋아요를 누른 account id, 각 bitmap은 자기 자신을 lock으로 사용
+    private final Map<Long, Roaring64Bitmap> bitmaps = new ConcurrentHashMap<>();
+    // DB에서 읽어오는 중인 게시글에 도착한 이벤트, 로딩이 끝나면 순서대로 다시 적용
+    private final Map<Long, List<PostHeartEvent>> pendingEvents = new ConcurrentHashMap<>();
+    private final Object loadLock = new Object();
+
+    public PostHeartBitmapCache(PostHeartRepository postHeartRepository,
+                                PostRepository postRepository,
+                                TransactionTemplate transactionTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${heart.bitmap.max-posts:1000}") int maxPosts,
+                                @Value("${heart.bitmap.min-heart-count:1000}") long minHeartCount){
+        this.postHeartRepository = postHeartRepository;
+        this.postRepository = postRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.maxPosts = maxPosts;
+        this.minHeartCount = minHeartCount;
+        Gauge.builder("post.heart.bitmap.posts", bitmaps, Map::size)
+                .description("좋아요 bitmap이 메모리에 올라와 있는 게시글 수")
+                .register(meterRegistry);
+        Gauge.builder("post.heart.bitmap.bytes", this, PostHeartBitmapCache::sizeInBytes)
+                .description("좋아요 bitmap이 차지하는 메모리")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    // 캐시된 게시글이면 좋아요 여부를, 캐시되지 않은 게시글이면 null 반환
+    public Boolean contains(Long postId, Long accountId){
+        Roaring64Bitmap bitmap = bitmaps.get(postId);
+        if(bitmap == null){
+            return null;
+        }
+        synchronized (bitmap){
+            return bitmap.contains(accountId);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp(){
+        refresh();
+    }
+
+    // heart_count 상위 글로 캐시 대상을 다시 선정, 빠진 글은 버리고 새로 들어온 글만 DB에서 읽음
+    @Scheduled(fixedDelayString = "${heart.bitmap.refresh-interval-ms:600000}",
+            initialDelayString = "${heart.bitmap.refresh-interval-ms:600000}")
+    public synchronized void refresh(){
+        Set<Long> hotPostIds = new HashSet<>(postRepository.findHotPostIds(minHeartCount, PageRequest.of(0, maxPosts)));
+        bitmaps.keySet().retainAll(hotPostIds);
+        for(Long postId : hotPostIds){
+            if(!bitmaps.containsKey(postId)){
+                load(postId);
+            }
+        }
+        log.info("좋아요 bitmap 캐시 갱신: {}개 게시글, {} bytes", bitmaps.size(), sizeInBytes());
+    }
+
+    private void load(Long postId){
+        synchronized (loadLock){
+            pendingEvents.put(postId, new ArrayList<>());
+        }
+        Roaring64Bitmap bitmap = new Roaring64Bitmap();
+        try {
+            List<Long> accountIds = transactionTemplate.execute(status -> postHeartRepository.findAccountIdsByPostId(postId));
+            accountIds.forEach(bitmap::addLong);
+            bitmap.runOptimize();
+        } catch (RuntimeException e) {
+            synchronized (loadLock){
+                pendingEvents.remove(postId);
+            }
+            log.error("좋아요 bitmap 로딩 실패 postId={}", postId, e);
+            return;
+        }
+        // 읽는 동안 커밋된 변경을 적용한 뒤 공개, 이미 반영된 변경을 다시 적용해도 결과는 같음
+        synchronized (loadLock){
+            List<PostHeartEvent> pending = pendingEvents.remove(postId);
+            // 읽는 동안 게시글이 삭제되었으면 공개하지 않음
+            if(pending == null){
+                return;
+            }
+            pending.forEach(event -> apply(bitmap, event));
+            bitmaps.put(postId, bitmap);
+        }
+    }
+
+    // 삭제된 게시글은 다음 refresh를 기다리지 않고 바로 버림, 로딩 중이면 로딩 결과도 버려지도록 pending을 지움
+    @TransactionalEventListener
+    public void onPostDeleted(PostDeletedEvent event){
+        synchronized (loadLock){
+            pendingEvents.remove(event.postId());
+            bitmaps.remove(event.postId());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onPostHeart(PostHeartEvent event){
+        synchronized (loadLock){
+            List<PostHeartEvent> pending = pendingEvents.get(event.postId());
+            if(pending != null){
+                pending.add(event);
+                return;
+            }
+        }
+        Roaring64Bitmap bitmap = bitmaps.get(event.postId());
+        if(bitmap != null){
+            synchronized (bitmap){
+                apply(bitmap, event);
+            }
+        }
+    }
+
+    private void apply(Roaring64Bitmap bitmap, PostHeartEvent event){
+        if(event.hearted()){
+            bitmap.addLong(event.accountId());
+        }
+        else{
+            bitmap.removeLong(event.accountId());
+        }
+    }
+
+    private long sizeInBytes(){
+        long bytes = 0;
+        for(Roaring64Bitmap bitmap : bitmaps.values()){
+            synchronized (bitmap){
+                bytes += bitmap.getLongSizeInBytes();
+            }
+        }
+        return bytes;
+    }
+}
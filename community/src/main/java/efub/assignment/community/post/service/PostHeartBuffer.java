@@ -0,0 +1,175 @@
+package efub.assignment.community.post.service;
+
+import efub.assignment.community.account.service.AccountService;
+import efub.assignment.community.post.PostHeartRepository;
+import efub.assignment.community.post.event.PostHeartEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/* 게시글 좋아요 write-behind 버퍼 (heart.write-behind.enabled=true 일 때만 등록) */
+/* 좋아요/취소 요청을 postId 기준으로 나뉜 메모리 버퍼에 모아두고, */
+/* 주기적으로 또는 버퍼가 일정 크기를 넘으면 post 단위로 중복을 제거해 한 번에 DB에 반영 */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "heart.write-behind.enabled", havingValue = "true")
+public class PostHeartBuffer {
+
+    private final PostHeartRepository postHeartRepository;
+    private final PostService postService;
+    private final AccountService accountService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // (postId, accountId) -> 마지막으로 요청된 상태 (true: 좋아요, false: 취소)
+    private final List<ConcurrentHashMap<HeartKey, Boolean>> stripes;
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ExecutorService flushExecutor =
+            Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "post-heart-flush"));
+    private final int flushThreshold;
+    private final Timer flushTimer;
+
+    public PostHeartBuffer(PostHeartRepository postHeartRepository,
+                           PostService postService,
+                           AccountService accountService,
+                           TransactionTemplate transactionTemplate,
+                           ApplicationEventPublisher eventPublisher,
+                           MeterRegistry meterRegistry,
+                           @Value("${heart.write-behind.stripes:16}") int stripeCount,
+                           @Value("${heart.write-behind.flush-threshold:1000}") int flushThreshold){
+        this.postHeartRepository = postHeartRepository;
+        this.postService = postService;
+        this.accountService = accountService;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.flushThreshold = flushThreshold;
+        this.stripes = new ArrayList<>(stripeCount);
+        for(int i = 0; i < stripeCount; i++){
+            stripes.add(new ConcurrentHashMap<>());
+        }
+        Gauge.builder("post.heart.buffer.depth", depth, AtomicLong::get)
+                .description("DB에 반영되지 않은 게시글 좋아요 요청 수")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("post.heart.buffer.flush")
+                .description("게시글 좋아요 버퍼 flush 소요 시간")
+                .register(meterRegistry);
+    }
+
+    // 좋아요(true) / 취소(false) 요청 기록, 같은 (post, account)에 대해서는 마지막 요청만 남음
+    public void offer(Long postId, Long accountId, boolean hearted){
+        Map<HeartKey, Boolean> stripe = stripes.get(Math.floorMod(postId.hashCode(), stripes.size()));
+        if(stripe.put(new HeartKey(postId, accountId), hearted) == null
+                && depth.incrementAndGet() >= flushThreshold
+                && flushRequested.compareAndSet(false, true)){
+            flushExecutor.execute(() -> {
+                flushRequested.set(false);
+                flush();
+            });
+        }
+    }
+
+    public long getDepth(){
+        return depth.get();
+    }
+
+    @Scheduled(fixedDelayString = "${heart.write-behind.flush-interval-ms:200}")
+    public void scheduledFlush(){
+        flush();
+    }
+
+    // 버퍼의 요청을 post 단위로 DB에 반영, flush는 한 번에 하나만 수행
+    public synchronized void flush(){
+        if(depth.get() == 0){
+            return;
+        }
+        Timer.Sample sample = Timer.start();
+        for(ConcurrentHashMap<HeartKey, Boolean> stripe : stripes){
+            Map<Long, Map<Long, Boolean>> togglesByPost = new HashMap<>();
+            stripe.forEach((key, hearted) ->
+                    togglesByPost.computeIfAbsent(key.postId(), id -> new HashMap<>()).put(key.accountId(), hearted));
+
+            togglesByPost.forEach((postId, toggles) -> {
+                try {
+                    write(postId, toggles);
+                } catch (RuntimeException e) {
+                    // 반영에 실패한 요청은 버퍼에 남겨 다음 flush에서 재시도
+                    log.error("게시글 좋아요 반영 실패 postId={}", postId, e);
+                    return;
+                }
+                // flush 도중 같은 키로 새 요청이 들어왔다면 값이 달라졌으므로 지우지 않음
+                toggles.forEach((accountId, hearted) -> {
+                    if(stripe.remove(new HeartKey(postId, accountId), hearted)){
+                        depth.decrementAndGet();
+                    }
+                });
+            });
+        }
+        sample.stop(flushTimer);
+    }
+
+    // 한 post에 대한 요청들을 하나의 트랜잭션에서 반영하고 좋아요 수는 증감분만큼 한 번에 갱신
+    private void write(Long postId, Map<Long, Boolean> toggles){
+        transactionTemplate.executeWithoutResult(status -> {
+            if(!postService.existsPostById(postId)){
+                log.warn("존재하지 않는 게시글의 좋아요 요청을 버립니다. postId={}", postId);
+                return;
+            }
+            List<Long> accountIds = accountService.findExistingAccountIds(toggles.keySet());
+            if(accountIds.isEmpty()){
+                return;
+            }
+
+            // 복합 기본키 덕분에 기존 좋아요 여부를 먼저 조회하지 않고 insert ignore / delete 결과로 증감분 계산
+            long delta = 0;
+            for(Long accountId : accountIds){
+                boolean hearted = toggles.get(accountId);
+                int changed = hearted
+                        ? postHeartRepository.insertIgnore(postId, accountId)
+                        : postHeartRepository.deleteByPostIdAndAccountId(postId, accountId);
+                if(changed == 1){
+                    delta += hearted ? 1 : -1;
+                    eventPublisher.publishEvent(new PostHeartEvent(postId, accountId, hearted));
+                }
+            }
+            if(delta != 0){
+                postService.addHeartCount(postId, delta);
+            }
+        });
+    }
+
+    // 종료 시 남은 요청을 모두 반영
+    @PreDestroy
+    public void drain() throws InterruptedException {
+        flushExecutor.shutdown();
+        flushExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        for(int attempt = 0; attempt < 3 && depth.get() > 0; attempt++){
+            flush();
+        }
+        if(depth.get() > 0){
+            log.error("종료 전에 반영하지 못한 게시글 좋아요 요청 {}건", depth.get());
+        }
+    }
+
+    private record HeartKey(Long postId, Long accountId) {
+    }
+}
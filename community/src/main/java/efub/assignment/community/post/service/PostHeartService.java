@@ -4,12 +4,21 @@ import efub.assignment.community.account.domain.Account;
 import efub.assignment.community.account.service.AccountService;
 import efub.assignment.community.post.PostHeartRepository;
 import efub.assignment.community.post.domain.Post;
-import efub.assignment.community.post.domain.PostHeart;
+import efub.assignment.community.post.event.PostHeartEvent;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
 @Slf4j
 @Service
 @Transactional
@@ -19,31 +28,63 @@ public class PostHeartService {
     private final PostHeartRepository postHeartRepository;
     private final PostService postService;
     private final AccountService accountService;
+    private final ApplicationEventPublisher eventPublisher;
+    // heart.bitmap.enabled=true 일 때만 존재
+    private final Optional<PostHeartBitmapCache> postHeartBitmapCache;
 
     // post 좋아요 생성
     public void create(Long postId, Long accountId){
         Account account = accountService.findAccountById(accountId);
         Post post = postService.findPostById(postId);
 
-        if(isExistsByWriterAndPost(account, post)){
+        // 존재 확인 후 삽입하지 않고 insert ignore 한 번으로 중복 여부를 판단 (동시 요청에도 한 행만 생김)
+        if(postHeartRepository.insertIgnore(post.getPostId(), account.getAccountId()) == 0){
             throw new RuntimeException("이미 좋아요를 누른 게시물입니다.");
         }
-
-        PostHeart postHeart = PostHeart.builder()
-                .post(post)
-                .account(account)
-                .build();
-
-        postHeartRepository.save(postHeart);
+        addHeartCount(postId);
+        eventPublisher.publishEvent(new PostHeartEvent(postId, accountId, true));
     }
 
     // post 좋아요 삭제
     public void delete(Long postId, Long accountId){
         Post post = postService.findPostById(postId);
         Account account = accountService.findAccountById(accountId);
-        PostHeart postLike = postHeartRepository.findByWriterAndPost(account, post)
-                .orElseThrow(()-> new RuntimeException("좋아요가 존재하지 않습니다."));
-        postHeartRepository.delete(postLike);
+        if(postHeartRepository.deleteByPostIdAndAccountId(post.getPostId(), account.getAccountId()) == 0){
+            throw new RuntimeException("좋아요가 존재하지 않습니다.");
+        }
+        postService.addHeartCount(postId, -1);
+        eventPublisher.publishEvent(new PostHeartEvent(postId, accountId, false));
+    }
+
+    // 멱등 좋아요: Account, Post를 조회하지 않고 insert ignore 한 번으로 처리
+    // 실제로 행이 추가된 경우에만 좋아요 수를 증가시키고 true 반환
+    // MySQL의 insert ignore는 FK 위반도 경고로 바꿔 0행을 반환하므로, 0행이면 글과 계정이 있는지 확인 (없으면 EntityNotFoundException)
+    public boolean put(Long postId, Long accountId){
+        if(postHeartRepository.insertIgnore(postId, accountId) == 0){
+            postService.findPostById(postId);
+            accountService.findAccountById(accountId);
+            return false;
+        }
+        addHeartCount(postId);
+        eventPublisher.publishEvent(new PostHeartEvent(postId, accountId, true));
+        return true;
+    }
+
+    // 멱등 좋아요 취소: 좋아요가 없어도 오류 없이 false 반환
+    public boolean remove(Long postId, Long accountId){
+        if(postHeartRepository.deleteByPostIdAndAccountId(postId, accountId) == 0){
+            return false;
+        }
+        postService.addHeartCount(postId, -1);
+        eventPublisher.publishEvent(new PostHeartEvent(postId, accountId, false));
+        return true;
+    }
+
+    // 글이 삭제 표시되어 좋아요 수가 반영되지 않으면 예외를 던져 방금 추가한 좋아요까지 롤백
+    private void addHeartCount(Long postId){
+        if(postService.addHeartCount(postId, 1) == 0){
+            throw new EntityNotFoundException("해당 id를 가진 Post를 찾을 수 없습니다.id=" + postId);
+        }
     }
 
     // accountId로 account 찾아서 post좋아요 찾기
@@ -52,16 +93,38 @@ public class PostHeartService {
         return isExistsByWriterAndPost(account, post);
     }
 
+    // 주어진 post 각각에 대해 해당 계정의 좋아요 여부 (postId -> 좋아요 여부, 요청 순서 유지)
+    // bitmap 캐시에 있는 글은 메모리에서 답하고, 나머지는 IN 쿼리 한 번으로 조회
+    @Transactional(readOnly = true)
+    public Map<Long, Boolean> findHeartStatus(Long accountId, Collection<Long> postIds){
+        Map<Long, Boolean> status = new LinkedHashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for(Long postId : postIds){
+            Boolean cached = postHeartBitmapCache.map(cache -> cache.contains(postId, accountId)).orElse(null);
+            if(cached != null){
+                status.put(postId, cached);
+            }
+            else{
+                status.put(postId, false);
+                misses.add(postId);
+            }
+        }
+        if(!misses.isEmpty()){
+            postHeartRepository.findHeartedPostIds(accountId, misses)
+                    .forEach(postId -> status.put(postId, true));
+        }
+        return status;
+    }
+
     // 작성자와 post로 post좋아요를 찾아서 있으면 true, 없으면 false 반환
     @Transactional(readOnly = true)
     public boolean isExistsByWriterAndPost(Account account, Post post){
         return postHeartRepository.existsByWriterAndPost(account, post);
     }
 
-    // 해당 post의 좋아요 개수
+    // 해당 post의 좋아요 개수 (비정규화된 heartCount)
     @Transactional(readOnly = true)
-    public Integer countPostHeart(Post post){
-        Integer count = postHeartRepository.countByPost(post);
-        return count;
+    public long countPostHeart(Post post){
+        return post.getHeartCount();
     }
 }
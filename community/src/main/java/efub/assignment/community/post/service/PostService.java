@@ -7,16 +7,35 @@ import efub.assignment.community.board.domain.Board;
 import efub.assignment.community.board.service.BoardService;
 import efub.assignment.community.exception.CustomDeleteException;
 import efub.assignment.community.exception.ErrorCode;
+import efub.assignment.community.global.deletion.AggregateDeletionService;
+import efub.assignment.community.global.pagination.KeysetCursor;
 import efub.assignment.community.post.PostRepository;
 import efub.assignment.community.post.domain.Post;
+import efub.assignment.community.post.dto.PostBoardNameDto;
 import efub.assignment.community.post.dto.PostRequestDto;
+import efub.assignment.community.post.dto.PostResponseDto;
+import efub.assignment.community.post.dto.PostSearchResponseDto;
 import efub.assignment.community.post.dto.PostUpdateDto;
+import efub.assignment.community.post.event.PostChangedEvent;
+import efub.assignment.community.post.event.PostCreatedEvent;
+import efub.assignment.community.post.event.PostMarkedDeletedEvent;
+import efub.assignment.community.post.search.PostSearchIndex;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static efub.assignment.community.exception.ErrorCode.PERMISSION_REJECTED_USER;
 
@@ -24,48 +43,144 @@ import static efub.assignment.community.exception.ErrorCode.PERMISSION_REJECTED_
 @Transactional //해당 범위의 작업들을 하나의 트랜잭션으로 처리
 @RequiredArgsConstructor
 public class PostService {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_QUERY_LENGTH = 100;
+
     private final PostRepository postRepository;
     private final AccountService accountService;
     private final BoardService boardService;
+    private final PostDetailCache postDetailCache;
+    private final TrendingPostRanking trendingPostRanking;
+    private final PostSearchIndex postSearchIndex;
+    private final AggregateDeletionService aggregateDeletionService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Post createNewPost(PostRequestDto dto){ //새로운 글을 생성하는 메소드
         Account account = accountService.findAccountByNickname(dto.getWriterNickname()); //dto의 accountId로 계정찾기
         Board board = boardService.findBoardById(Long.parseLong(dto.getBoardId())); //dto의 boardId로 board찾기
         Post post = dto.toEntity(board,account);
         Post savedPost = postRepository.save(post);  // post 정보를 DB에 저장
+        eventPublisher.publishEvent(new PostCreatedEvent(savedPost.getPostId(), board.getBoardId(), savedPost.getTitle(), savedPost.getContent()));
         return savedPost; // post 반환
     }
 
+    // 게시판의 글을 cursor 기반으로 size개씩 조회 (cursor가 없으면 첫 페이지)
     @Transactional(readOnly = true)
-    public List<Post> findAllPosts(){
-        List<Post> posts = postRepository.findAll();
-        return posts;
+    public Slice<PostResponseDto> findBoardPosts(Long boardId, String cursor, int size){
+        PageRequest pageRequest = PageRequest.of(0, Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        if(cursor == null || cursor.isBlank()){
+            return postRepository.findFirstPageByBoardId(boardId, pageRequest);
+        }
+        KeysetCursor keysetCursor = KeysetCursor.decode(cursor);
+        return postRepository.findNextPageByBoardId(boardId, keysetCursor.getCreatedDate(), keysetCursor.getId(), pageRequest);
     }
 
     @Transactional(readOnly = true)
-    public long countAllPosts(){
-        return postRepository.count();
+    public long countBoardPosts(Long boardId){
+        return postRepository.countByBoard_BoardIdAndDeletedFalse(boardId);
     }
 
+    // 삭제 표시된 글도 찾을 수 없는 글로 취급 (댓글, 좋아요, 쪽지방 등의 쓰기가 이 조회를 거침)
     @Transactional(readOnly = true)
     public Post findPostById(Long postId){
-        Post post = postRepository.findById(postId)
+        Post post = postRepository.findByPostIdAndDeletedFalse(postId)
                 .orElseThrow(()->new EntityNotFoundException("해당 id를 가진 Post를 찾을 수 없습니다.id="+postId));
         return post;
     }
 
+    @Transactional(readOnly = true)
+    public boolean existsPostById(Long postId){
+        return postRepository.existsByPostIdAndDeletedFalse(postId);
+    }
+
+    // 작성자 닉네임, 게시판 id까지 한 번의 쿼리로 조회, 상세 캐시에 있으면 DB를 거치지 않음
+    // 캐시 hit 시 트랜잭션(커넥션)을 열지 않도록 SUPPORTS, miss일 때만 repository 트랜잭션에서 조회
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public PostResponseDto findPostResponseById(Long postId){
+        return postDetailCache.get(postId, id -> postRepository.findResponseById(id)
+                .orElseThrow(()->new EntityNotFoundException("해당 id를 가진 Post를 찾을 수 없습니다.id="+id)));
+    }
+
+    // 게시판 인기글, 순위는 메모리에서 구하고 글 내용은 상세 캐시에 없는 것만 IN 쿼리 한 번으로 조회
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<PostResponseDto> findTrendingPosts(Long boardId, int size){
+        List<Long> postIds = trendingPostRanking.top(boardId, Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        return findPostResponsesInOrder(postIds);
+    }
+
+    // 게시판 글 검색 (제목, 내용), 메모리 색인에서 관련도 순으로 찾은 뒤 해당 페이지의 글만 조회
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public PostSearchResponseDto searchBoardPosts(Long boardId, String query, int page, int size){
+        if(query == null || query.isBlank() || query.length() > MAX_QUERY_LENGTH){
+            throw new IllegalArgumentException("검색어는 1자 이상 " + MAX_QUERY_LENGTH + "자 이하로 입력해야 합니다.");
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        int pageNumber = Math.max(page, 0);
+        PostSearchIndex.SearchResult result = postSearchIndex.search(boardId, query, pageNumber, pageSize);
+        return PostSearchResponseDto.of(findPostResponsesInOrder(result.postIds()), pageNumber, pageSize, result.totalCount());
+    }
+
+    // 주어진 순서대로 글 응답을 만듦, 상세 캐시에 없는 글만 IN 쿼리 한 번으로 조회하고 이미 삭제된 글은 제외
+    private List<PostResponseDto> findPostResponsesInOrder(List<Long> postIds){
+        if(postIds.isEmpty()){
+            return List.of();
+        }
+        Map<Long, PostResponseDto> posts = postDetailCache.getAll(postIds, missing ->
+                postRepository.findResponsesByIds(new ArrayList<>(missing)).stream()
+                        .collect(Collectors.toMap(PostResponseDto::getPostId, Function.identity())));
+        return postIds.stream()
+                .map(posts::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // 좋아요 수를 UPDATE 한 번으로 원자적으로 증감, 글이 없거나 삭제 표시된 글이면 0 반환
+    public int addHeartCount(Long postId, long delta){
+        return postRepository.addHeartCount(postId, delta);
+    }
+
+    // 댓글 수를 UPDATE 한 번으로 원자적으로 증감
+    public void addCommentCount(Long postId, long delta){
+        postRepository.addCommentCount(postId, delta);
+    }
+
+    // 비정규화된 댓글 수, 글이 없으면 EntityNotFoundException
+    @Transactional(readOnly = true)
+    public long findCommentCount(Long postId){
+        return postRepository.findCommentCountById(postId)
+                .orElseThrow(()->new EntityNotFoundException("해당 id를 가진 Post를 찾을 수 없습니다.id="+postId));
+    }
+
+    // 주어진 글들이 속한 게시판 이름 (글 id -> 게시판 이름), 없는 글은 빠짐
+    @Transactional(readOnly = true)
+    public Map<Long, String> findBoardNames(Collection<Long> postIds){
+        return postRepository.findBoardNamesByPostIds(postIds).stream()
+                .collect(Collectors.toMap(PostBoardNameDto::getPostId, PostBoardNameDto::getBoardName));
+    }
+
     public Long updatePost(Long post_id, PostUpdateDto dto){
         Post post = findPostById(post_id);
         post.update(dto);
+        eventPublisher.publishEvent(new PostChangedEvent(post_id, post.getBoard().getBoardId(), post.getTitle(), post.getContent()));
         return post.getPostId();
     }
 
+    // 삭제 표시된 글도 찾으므로, 나중에 지우던 중 실패한 글은 다시 요청하면 이어서 지움
     public void deletePost(Long post_id, Long account_id){
-        Post post = findPostById(post_id);
+        Post post = postRepository.findById(post_id)
+                .orElseThrow(()->new EntityNotFoundException("해당 id를 가진 Post를 찾을 수 없습니다.id="+post_id));
         if(account_id!=post.getAccount().getAccountId()){
             throw new CustomDeleteException(PERMISSION_REJECTED_USER);
         }
-        postRepository.delete(post);
+        Long boardId = post.getBoard().getBoardId();
+        if(aggregateDeletionService.isSmall(postRepository.countAggregateRowsByPostId(post_id))){
+            aggregateDeletionService.deletePost(post_id, boardId);
+            return;
+        }
+        // 댓글, 좋아요가 많은 글은 삭제 표시만 하고, 표시가 커밋된 뒤 별도 스레드에서 지움
+        // 검색 색인, 인기글 등에서는 실제로 지운 뒤 발행되는 PostDeletedEvent로 빠지고, 그 전까지는 조회에서 걸러짐
+        postRepository.markDeleted(post_id);
+        eventPublisher.publishEvent(new PostMarkedDeletedEvent(post_id, boardId));
     }
 
 
@@ -0,0 +1,246 @@
+package efub.assignment.community.post.service;
+
+import efub.assignment.community.comment.event.CommentCreatedEvent;
+import efub.assignment.community.comment.repository.CommentRepository;
+import efub.assignment.community.post.PostHeartRepository;
+import efub.assignment.community.post.PostRepository;
+import efub.assignment.community.post.dto.PostActivityCountDto;
+import efub.assignment.community.post.event.PostDeletedEvent;
+import efub.assignment.community.post.event.PostHeartEvent;
+import efub.assignment.community.post.event.PostMarkedDeletedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/* 게시판별 인기글 순위 (메모리) */
+/* 좋아요와 댓글이 생길 때마다 해당 글의 점수를 갱신하고, 최근 활동일수록 큰 가중치를 줌 (forward decay) */
+/* 점수 = Σ weight * exp(λ * (활동 시각 - landmark)), 같은 게시판 안에서는 landmark가 같으므로 저장된 점수끼리 바로 비교 가능 */
+/* 게시판마다 상위 maxPostsPerBoard개 글만 유지하고, 서버 시작 시 최근 활동을 DB에서 읽어 다시 구성 */
+@Slf4j
+@Component
+public class TrendingPostRanking {
+
+    private static final Comparator<ScoredPost> BY_SCORE_DESC = Comparator.comparingDouble(ScoredPost::score).reversed()
+            .thenComparing(ScoredPost::postId, Comparator.reverseOrder());
+
+    private final PostRepository postRepository;
+    private final PostHeartRepository postHeartRepository;
+    private final CommentRepository commentRepository;
+
+    private final double lambda;
+    private final double heartWeight;
+    private final double commentWeight;
+    private final int maxPostsPerBoard;
+    private final double minScore;
+    private final int rebuildWindowHours;
+
+    private final Map<Long, BoardRanking> boards = new ConcurrentHashMap<>();
+    // 순위에 올라 있는 글 -> 게시판 id (좋아요 이벤트에는 게시판 id가 없음)
+    private final Map<Long, Long> postBoards = new ConcurrentHashMap<>();
+
+    public TrendingPostRanking(PostRepository postRepository,
+                               PostHeartRepository postHeartRepository,
+                               CommentRepository commentRepository,
+                               @Value("${trending.half-life-minutes:360}") long halfLifeMinutes,
+                               @Value("${trending.heart-weight:1.0}") double heartWeight,
+                               @Value("${trending.comment-weight:2.0}") double commentWeight,
+                               @Value("${trending.max-posts-per-board:500}") int maxPostsPerBoard,
+                               @Value("${trending.min-score:0.05}") double minScore,
+                               @Value("${trending.rebuild-window-hours:24}") int rebuildWindowHours){
+        this.postRepository = postRepository;
+        this.postHeartRepository = postHeartRepository;
+        this.commentRepository = commentRepository;
+        this.lambda = Math.log(2) / (halfLifeMinutes * 60.0);
+        this.heartWeight = heartWeight;
+        this.commentWeight = commentWeight;
+        this.maxPostsPerBoard = maxPostsPerBoard;
+        this.minScore = minScore;
+        this.rebuildWindowHours = rebuildWindowHours;
+    }
+
+    // 게시판의 인기글 id를 점수 순으로 최대 size개, 현재 점수가 minScore 미만인 글은 제외
+    public List<Long> top(Long boardId, int size){
+        return top(boardId, size, nowEpochSecond());
+    }
+
+    List<Long> top(Long boardId, int size, long now){
+        BoardRanking board = boards.get(boardId);
+        if(board == null){
+            return List.of();
+        }
+        synchronized (board){
+            double threshold = minScore * Math.exp(lambda * (now - board.landmark));
+            List<Long> postIds = new ArrayList<>(size);
+            for(ScoredPost scored : board.ranking){
+                if(postIds.size() == size || scored.score() < threshold){
+                    break;
+                }
+                postIds.add(scored.postId());
+            }
+            return postIds;
+        }
+    }
+
+    // at 시각의 활동 하나를 반영, 좋아요 취소처럼 음수 weight이면 점수를 깎음
+    void record(Long boardId, Long postId, double weight, long at){
+        BoardRanking board = boards.computeIfAbsent(boardId, id -> new BoardRanking(at));
+        synchronized (board){
+            Double current = board.scores.get(postId);
+            if(current == null && weight <= 0){
+                return;
+            }
+            double score = (current == null ? 0 : current) + weight * Math.exp(lambda * (at - board.landmark));
+            board.remove(postId);
+            if(score <= 0){
+                postBoards.remove(postId);
+                return;
+            }
+            board.put(postId, score);
+            postBoards.put(postId, boardId);
+            // 가장 점수가 낮은 글부터 버림
+            while(board.scores.size() > maxPostsPerBoard){
+                ScoredPost lowest = board.ranking.pollLast();
+                board.scores.remove(lowest.postId());
+                postBoards.remove(lowest.postId());
+            }
+        }
+    }
+
+    void remove(Long boardId, Long postId){
+        postBoards.remove(postId);
+        BoardRanking board = boards.get(boardId);
+        if(board != null){
+            synchronized (board){
+                board.remove(postId);
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onPostHeart(PostHeartEvent event){
+        Long boardId = postBoards.get(event.postId());
+        if(boardId == null){
+            // 순위에 없는 글의 좋아요 취소는 반영할 점수가 없음
+            if(!event.hearted()){
+                return;
+            }
+            boardId = postRepository.findBoardIdByPostId(event.postId()).orElse(null);
+            if(boardId == null){
+                return;
+            }
+        }
+        record(boardId, event.postId(), event.hearted() ? heartWeight : -heartWeight, nowEpochSecond());
+    }
+
+    @TransactionalEventListener
+    public void onCommentCreated(CommentCreatedEvent event){
+        record(event.boardId(), event.postId(), commentWeight, nowEpochSecond());
+    }
+
+    @TransactionalEventListener
+    public void onPostDeleted(PostDeletedEvent event){
+        remove(event.boardId(), event.postId());
+    }
+
+    @TransactionalEventListener
+    public void onPostMarkedDeleted(PostMarkedDeletedEvent event){
+        remove(event.boardId(), event.postId());
+    }
+
+    // 서버 시작 시 최근 rebuildWindowHours 시간의 좋아요, 댓글을 1시간 단위로 집계해서 다시 구성
+    // 시작 이후의 활동은 이벤트로 반영되므로 집계 구간은 시작 시각까지만
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild(){
+        LocalDateTime end = LocalDateTime.now();
+        for(int hoursAgo = rebuildWindowHours; hoursAgo > 0; hoursAgo--){
+            LocalDateTime from = end.minusHours(hoursAgo);
+            LocalDateTime to = from.plusHours(1);
+            long at = toEpochSecond(from.plusMinutes(30));
+            for(PostActivityCountDto hearts : postHeartRepository.countHeartsByPostBetween(from, to)){
+                record(hearts.getBoardId(), hearts.getPostId(), heartWeight * hearts.getCount(), at);
+            }
+            for(PostActivityCountDto comments : commentRepository.countCommentsByPostBetween(from, to)){
+                record(comments.getBoardId(), comments.getPostId(), commentWeight * comments.getCount(), at);
+            }
+        }
+        prune();
+        log.info("인기글 순위 재구성 완료: 게시판 {}개, 글 {}개", boards.size(), postBoards.size());
+    }
+
+    // landmark를 현재로 옮겨 점수가 지나치게 커지지 않게 하고, 충분히 식은 글은 제거
+    @Scheduled(fixedDelayString = "${trending.prune-interval-ms:600000}",
+            initialDelayString = "${trending.prune-interval-ms:600000}")
+    public void prune(){
+        prune(nowEpochSecond());
+    }
+
+    void prune(long now){
+        for(BoardRanking board : boards.values()){
+            synchronized (board){
+                double scale = Math.exp(-lambda * (now - board.landmark));
+                List<ScoredPost> rescaled = new ArrayList<>(board.ranking.size());
+                for(ScoredPost scored : board.ranking){
+                    double score = scored.score() * scale;
+                    if(score >= minScore){
+                        rescaled.add(new ScoredPost(scored.postId(), score));
+                    }
+                    else{
+                        postBoards.remove(scored.postId());
+                    }
+                }
+                board.landmark = now;
+                board.scores.clear();
+                board.ranking.clear();
+                rescaled.forEach(scored -> board.put(scored.postId(), scored.score()));
+            }
+        }
+    }
+
+    private long nowEpochSecond(){
+        return toEpochSecond(LocalDateTime.now());
+    }
+
+    private long toEpochSecond(LocalDateTime dateTime){
+        return dateTime.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    private record ScoredPost(Long postId, double score) {
+    }
+
+    // 한 게시판의 점수표, 항상 해당 객체로 동기화한 상태에서만 접근
+    private static final class BoardRanking {
+        private long landmark;
+        private final Map<Long, Double> scores = new HashMap<>();
+        private final TreeSet<ScoredPost> ranking = new TreeSet<>(BY_SCORE_DESC);
+
+        private BoardRanking(long landmark){
+            this.landmark = landmark;
+        }
+
+        private void put(Long postId, double score){
+            scores.put(postId, score);
+            ranking.add(new ScoredPost(postId, score));
+        }
+
+        private void remove(Long postId){
+            Double score = scores.remove(postId);
+            if(score != null){
+                ranking.remove(new ScoredPost(postId, score));
+            }
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package efub.assignment.community.comment;
+
+import efub.assignment.community.account.AccountRepository;
+import efub.assignment.community.account.domain.Account;
+import efub.assignment.community.board.BoardRepository;
+import efub.assignment.community.board.domain.Board;
+import efub.assignment.community.comment.domain.Comment;
+import efub.assignment.community.comment.dto.CommentResponseDto;
+import efub.assignment.community.comment.repository.CommentRepository;
+import efub.assignment.community.post.PostRepository;
+import efub.assignment.community.post.domain.Post;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class CommentRepositoryTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    private Account account;
+    private Account otherAccount;
+    private Post post;
+    private Post otherPost;
+
+    @BeforeEach
+    void setUp() {
+        account = accountRepository.save(Account.builder()
+                .email("user@domain.com")
+                .password("password123")
+                .nickname("nickname")
+                .university("Test University")
+                .studentId("123456")
+                .build());
+
+        otherAccount = accountRepository.save(Account.builder()
+                .email("other@domain.com")
+                .password("password123")
+                .nickname("other")
+                .university("Test University")
+                .studentId("654321")
+                .build());
+
+        Board board = boardRepository.save(Board.builder()
+                .account(account)
+                .boardName("Test Board")
+                .boardDescription("A board for testing")
+                .boardNotice("This is a test notice")
+                .build());
+
+        post = savePost(board);
+        otherPost = savePost(board);
+    }
+
+    private Post savePost(Board board) {
+        return postRepository.save(Post.builder()
+                .account(account)
+                .board(board)
+                .title("title")
+                .content("This is the content of the post.")
+                .writerOpen("PUBLIC")
+                .build());
+    }
+
+    private Comment saveComment(Account writer, Post post, String content) {
+        return commentRepository.save(Comment.builder()
+                .writer(writer)
+                .post(post)
+                .content(content)
+                .build());
+    }
+
+    private Comment saveReply(Account writer, Comment parent, long replyNo, String content) {
+        return commentRepository.save(Comment.builder()
+                .writer(writer)
+                .post(parent.getPost())
+                .parent(parent)
+                .replyNo(replyNo)
+                .content(content)
+                .build());
+    }
+
+    @Test
+    @DisplayName("루트 댓글 id는 해당 게시글의 루트 댓글만 작성순으로 조회")
+    void findRootIds_Success() {
+        // given
+        Comment first = saveComment(account, post, "first");
+        saveReply(otherAccount, first, 1, "reply");
+        Comment second = saveComment(account, post, "second");
+        Comment third = saveComment(account, post, "third");
+        saveComment(account, otherPost, "other");
+
+        // when
+        List<Long> rootIds = commentRepository.findRootIds(post.getPostId(), first.getCommentId(), PageRequest.of(0, 10));
+
+        // then
+        assertThat(rootIds).containsExactly(second.getCommentId(), third.getCommentId());
+    }
+
+    @Test
+    @DisplayName("path 범위 조회는 스레드별로 루트 다음에 답글을 깊이 우선 순서로, 처음 M개 답글까지만 반환")
+    void findInPathRange_Success() {
+        // given
+        Comment first = saveComment(account, post, "first");
+        Comment firstReply = saveReply(otherAccount, first, 1, "reply 1");
+        Comment secondReply = saveReply(account, first, 2, "reply 2");
+        Comment nestedReply = saveReply(account, firstReply, 3, "reply 3");
+        Comment second = saveComment(account, post, "second");
+        Comment third = saveComment(account, post, "third");
+
+        // when
+        List<CommentResponseDto> comments = commentRepository.findInPathRange(post.getPostId(),
+                Comment.pathSegment(first.getCommentId()),
+                Comment.pathUpperBound(Comment.pathSegment(second.getCommentId())),
+                2);
+
+        // then
+        assertThat(comments).extracting(CommentResponseDto::getCommentId)
+                .containsExactly(first.getCommentId(), firstReply.getCommentId(), secondReply.getCommentId(), second.getCommentId());
+        assertThat(comments).extracting(CommentResponseDto::getDepth).containsExactly(0, 1, 1, 0);
+        assertThat(nestedReply.getDepth()).isEqualTo(2);
+        assertThat(third.getRootId()).isEqualTo(third.getCommentId());
+    }
+
+    @Test
+    @DisplayName("하위 트리 조회, 개수, 삭제용 id 조회는 해당 댓글과 그 아래 답글만 대상으로 함")
+    void subtree_FindCountAndDelete() {
+        // given
+        Comment first = saveComment(account, post, "first");
+        Comment reply = saveReply(otherAccount, first, 1, "reply");
+        Comment nested = saveReply(account, reply, 2, "nested");
+        Comment sibling = saveReply(account, first, 3, "sibling");
+        Comment second = saveComment(account, post, "second");
+        String fromPath = reply.getPath();
+        String toPath = Comment.pathUpperBound(fromPath);
+
+        // when
+        Slice<CommentResponseDto> subtree = commentRepository.findSubtree(post.getPostId(), fromPath, toPath, PageRequest.of(0, 10));
+        long count = commentRepository.countInPathRange(post.getPostId(), fromPath, toPath);
+        List<Long> ids = commentRepository.findIdsInPathRange(post.getPostId(), fromPath, toPath, PageRequest.of(0, 10));
+        int deleted = commentRepository.deleteByCommentIds(ids);
+        entityManager.clear();
+
+        // then
+        assertThat(subtree.getContent()).extracting(CommentResponseDto::getCommentId)
+                .containsExactly(reply.getCommentId(), nested.getCommentId());
+        assertThat(count).isEqualTo(2);
+        assertThat(ids).containsExactlyInAnyOrder(reply.getCommentId(), nested.getCommentId());
+        assertThat(deleted).isEqualTo(2);
+        assertThat(commentRepository.findAllById(List.of(first.getCommentId(), reply.getCommentId(),
+                nested.getCommentId(), sibling.getCommentId(), second.getCommentId())))
+                .extracting(Comment::getCommentId)
+                .containsExactlyInAnyOrder(first.getCommentId(), sibling.getCommentId(), second.getCommentId());
+    }
+
+    @Test
+    @DisplayName("답글 번호는 루트 댓글에서 하나씩 발급")
+    void increaseReplySequence_Success() {
+        // given
+        Comment root = saveComment(account, post, "root");
+
+        // when
+        commentRepository.increaseReplySequence(root.getCommentId());
+        commentRepository.increaseReplySequence(root.getCommentId());
+
+        // then
+        assertThat(commentRepository.findReplySequence(root.getCommentId())).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("path가 비어 있는 루트 댓글은 backfill 전에도 자기 id로 path를 계산하고, backfill 후에는 스레드 조회에 포함")
+    void backfillRootPath_Success() {
+        // given
+        Comment legacy = saveComment(account, post, "legacy");
+        Comment reply = saveReply(otherAccount, legacy, 1, "reply");
+        Comment outOfRange = saveComment(account, post, "out of range");
+        entityManager.flush();
+        entityManager.createNativeQuery("update comment set path = null where comment_id in (:ids)")
+                .setParameter("ids", List.of(legacy.getCommentId(), outOfRange.getCommentId()))
+                .executeUpdate();
+        entityManager.clear();
+        Comment loaded = commentRepository.findById(legacy.getCommentId()).orElseThrow();
+
+        // when
+        int filled = commentRepository.backfillRootPath(0, reply.getCommentId());
+        entityManager.clear();
+
+        // then
+        assertThat(loaded.getPath()).isEqualTo(Comment.pathSegment(legacy.getCommentId()));
+        assertThat(loaded.getRootId()).isEqualTo(legacy.getCommentId());
+        assertThat(filled).isEqualTo(1);
+        assertThat(commentRepository.findRootIds(post.getPostId(), 0L, PageRequest.of(0, 10)))
+                .containsExactly(legacy.getCommentId(), outOfRange.getCommentId());
+        assertThat(commentRepository.findInPathRange(post.getPostId(), Comment.pathSegment(legacy.getCommentId()),
+                Comment.pathUpperBound(Comment.pathSegment(outOfRange.getCommentId())), 10))
+                .extracting(CommentResponseDto::getCommentId)
+                .containsExactly(legacy.getCommentId(), reply.getCommentId());
+    }
+
+    @Test
+    @DisplayName("스레드 목록 조회는 작성자 수와 관계없이 한 번의 쿼리로 수행")
+    void findInPathRange_SingleStatement() {
+        // given
+        Comment first = saveComment(account, post, "first");
+        saveReply(otherAccount, first, 1, "reply");
+        Comment second = saveComment(account, post, "second");
+        Statistics statistics = clearAndGetStatistics();
+
+        // when
+        List<CommentResponseDto> comments = commentRepository.findInPathRange(post.getPostId(),
+                Comment.pathSegment(first.getCommentId()),
+                Comment.pathUpperBound(Comment.pathSegment(second.getCommentId())),
+                10);
+
+        // then
+        assertThat(comments).extracting(CommentResponseDto::getWriterNickname)
+                .containsExactly("nickname", "other", "nickname");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("작성자 댓글 스트림은 작성순으로 해당 작성자의 댓글만 반환")
+    void streamByWriterId_Success() {
+        // given
+        Comment first = saveComment(account, post, "first");
+        saveComment(otherAccount, post, "other");
+        Comment second = saveComment(account, otherPost, "second");
+        clearAndGetStatistics();
+
+        // when
+        List<Long> commentIds;
+        try (Stream<CommentResponseDto> comments = commentRepository.streamByWriterId(account.getAccountId())) {
+            commentIds = comments.map(CommentResponseDto::getCommentId).toList();
+        }
+
+        // then
+        assertThat(commentIds).containsExactly(first.getCommentId(), second.getCommentId());
+    }
+
+    // 영속성 컨텍스트를 비우고 통계를 초기화하여 이후 실행되는 쿼리만 집계
+    private Statistics clearAndGetStatistics() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
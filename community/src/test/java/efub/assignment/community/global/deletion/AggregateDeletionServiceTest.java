@@ -0,0 +1,244 @@
+package efub.assignment.community.global.deletion;
+
+import efub.assignment.community.account.AccountRepository;
+import efub.assignment.community.account.domain.Account;
+import efub.assignment.community.board.BoardRepository;
+import efub.assignment.community.board.domain.Board;
+import efub.assignment.community.comment.domain.Comment;
+import efub.assignment.community.comment.domain.CommentHeart;
+import efub.assignment.community.comment.repository.CommentHeartRepository;
+import efub.assignment.community.comment.repository.CommentRepository;
+import efub.assignment.community.message.domain.Message;
+import efub.assignment.community.message.repository.MessageRepository;
+import efub.assignment.community.messageRoom.domain.MessageRoom;
+import efub.assignment.community.messageRoom.repository.MessageRoomRepository;
+import efub.assignment.community.post.PostHeartRepository;
+import efub.assignment.community.post.PostRepository;
+import efub.assignment.community.post.domain.Post;
+import efub.assignment.community.post.domain.PostHeart;
+import efub.assignment.community.post.event.PostMarkedDeletedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// chunk 크기를 작게 두어 여러 chunk에 걸친 삭제를 확인
+@SpringBootTest(properties = "deletion.chunk-size=2")
+class AggregateDeletionServiceTest {
+
+    @Autowired
+    private AggregateDeletionService aggregateDeletionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostHeartRepository postHeartRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private CommentHeartRepository commentHeartRepository;
+
+    @Autowired
+    private MessageRoomRepository messageRoomRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final List<Account> accounts = new ArrayList<>();
+    private Board board;
+
+    @BeforeEach
+    void setUp() {
+        messageRepository.deleteAll();
+        messageRoomRepository.deleteAll();
+        commentHeartRepository.deleteAll();
+        commentRepository.deleteAll();
+        postHeartRepository.deleteAll();
+        postRepository.deleteAll();
+        boardRepository.deleteAll();
+        accountRepository.deleteAll();
+        accounts.clear();
+
+        for(int i = 0; i < 3; i++){
+            accounts.add(accountRepository.save(Account.builder()
+                    .email("user" + i + "@domain.com")
+                    .password("password123")
+                    .nickname("nickname" + i)
+                    .university("Test University")
+                    .studentId("12345" + i)
+                    .build()));
+        }
+
+        board = boardRepository.save(Board.builder()
+                .account(accounts.get(0))
+                .boardName("Test Board")
+                .boardDescription("A board for testing")
+                .boardNotice("This is a test notice")
+                .build());
+    }
+
+    // 댓글 3개(각각 좋아요 3개)와 글 좋아요 3개가 달린 글
+    private Post savePostWithChildren(Board board) {
+        Post post = postRepository.save(Post.builder()
+                .account(accounts.get(0))
+                .board(board)
+                .title("title")
+                .content("This is the content of the post.")
+                .writerOpen("PUBLIC")
+                .build());
+        for(Account account : accounts){
+            Comment comment = commentRepository.save(Comment.builder()
+                    .writer(account)
+                    .post(post)
+                    .content("comment")
+                    .build());
+            for(Account hearter : accounts){
+                commentHeartRepository.save(CommentHeart.builder().comment(comment).account(hearter).build());
+            }
+            postHeartRepository.save(PostHeart.builder().post(post).account(account).build());
+        }
+        return post;
+    }
+
+    @Test
+    @DisplayName("글 삭제는 여러 chunk에 걸쳐 댓글, 댓글 좋아요, 글 좋아요를 지운 뒤 글을 지움")
+    void deletePost_RemovesChildrenInChunks() {
+        // given
+        Post post = savePostWithChildren(board);
+        Post other = savePostWithChildren(board);
+
+        // when
+        aggregateDeletionService.deletePost(post.getPostId(), board.getBoardId());
+
+        // then
+        assertThat(postRepository.existsById(post.getPostId())).isFalse();
+        assertThat(postRepository.existsById(other.getPostId())).isTrue();
+        assertThat(commentRepository.count()).isEqualTo(3);
+        assertThat(commentHeartRepository.count()).isEqualTo(9);
+        assertThat(postHeartRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("게시판 삭제는 게시판의 모든 글과 그 자식 행을 지운 뒤 게시판을 지움")
+    void deleteBoard_RemovesPosts() {
+        // given
+        for(int i = 0; i < 3; i++){
+            savePostWithChildren(board);
+        }
+
+        // when
+        aggregateDeletionService.deleteBoard(board.getBoardId());
+
+        // then
+        assertThat(boardRepository.existsById(board.getBoardId())).isFalse();
+        assertThat(postRepository.count()).isZero();
+        assertThat(commentRepository.count()).isZero();
+        assertThat(commentHeartRepository.count()).isZero();
+        assertThat(postHeartRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("쪽지방 삭제는 쪽지를 chunk 단위로 지운 뒤 쪽지방을 지움")
+    void deleteMessageRoom_RemovesMessages() {
+        // given
+        Post post = savePostWithChildren(board);
+        MessageRoom messageRoom = messageRoomRepository.save(MessageRoom.builder()
+                .firstSendAccount(accounts.get(0))
+                .firstReceiveAccount(accounts.get(1))
+                .startPost(post)
+                .build());
+        for(int i = 0; i < 5; i++){
+            messageRepository.save(Message.builder()
+                    .content("message " + i)
+                    .sendAccount(accounts.get(i % 2))
+                    .messageRoom(messageRoom)
+                    .build());
+        }
+
+        // when
+        aggregateDeletionService.deleteMessageRoom(messageRoom.getMessageRoomId());
+
+        // then
+        assertThat(messageRoomRepository.existsById(messageRoom.getMessageRoomId())).isFalse();
+        assertThat(messageRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("글 삭제는 그 글에서 시작된 쪽지방과 쪽지를 남기고 글과의 연결만 끊은 뒤 글을 지움")
+    void deletePost_DetachesMessageRooms() {
+        // given
+        Post post = savePostWithChildren(board);
+        Post other = savePostWithChildren(board);
+        List<MessageRoom> messageRooms = new ArrayList<>();
+        for(Post startPost : List.of(post, other)){
+            MessageRoom messageRoom = messageRoomRepository.save(MessageRoom.builder()
+                    .firstSendAccount(accounts.get(0))
+                    .firstReceiveAccount(accounts.get(1))
+                    .startPost(startPost)
+                    .build());
+            messageRooms.add(messageRoom);
+            for(int i = 0; i < 3; i++){
+                messageRepository.save(Message.builder()
+                        .content("message " + i)
+                        .sendAccount(accounts.get(i % 2))
+                        .messageRoom(messageRoom)
+                        .build());
+            }
+        }
+
+        // when
+        aggregateDeletionService.deletePost(post.getPostId(), board.getBoardId());
+
+        // then
+        assertThat(postRepository.existsById(post.getPostId())).isFalse();
+        assertThat(messageRoomRepository.count()).isEqualTo(2);
+        assertThat(messageRepository.count()).isEqualTo(6);
+        assertThat(messageRoomRepository.findById(messageRooms.get(0).getMessageRoomId()).orElseThrow().getStartPost()).isNull();
+        assertThat(messageRoomRepository.findById(messageRooms.get(1).getMessageRoomId()).orElseThrow().getStartPost()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("삭제 표시가 커밋되면 Async로 chunk마다 커밋하면서 같은 결과를 만듦")
+    void onPostMarkedDeleted_RemovesChildren() throws InterruptedException {
+        // given
+        Post post = savePostWithChildren(board);
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            postRepository.markDeleted(post.getPostId());
+            eventPublisher.publishEvent(new PostMarkedDeletedEvent(post.getPostId(), board.getBoardId()));
+        });
+
+        // then
+        for(int i = 0; i < 100 && postRepository.existsById(post.getPostId()); i++){
+            Thread.sleep(50);
+        }
+        assertThat(postRepository.existsById(post.getPostId())).isFalse();
+        assertThat(commentRepository.count()).isZero();
+        assertThat(commentHeartRepository.count()).isZero();
+        assertThat(postHeartRepository.count()).isZero();
+    }
+}
@@ -0,0 +1,141 @@
+package efub.assignment.community.message;
+
+import efub.assignment.community.account.AccountRepository;
+import efub.assignment.community.account.domain.Account;
+import efub.assignment.community.board.BoardRepository;
+import efub.assignment.community.board.domain.Board;
+import efub.assignment.community.message.domain.Message;
+import efub.assignment.community.message.dto.MessageHistoryDto;
+import efub.assignment.community.message.repository.MessageRepository;
+import efub.assignment.community.messageRoom.domain.MessageRoom;
+import efub.assignment.community.messageRoom.repository.MessageRoomRepository;
+import efub.assignment.community.post.PostRepository;
+import efub.assignment.community.post.domain.Post;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class MessageRepositoryTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private MessageRoomRepository messageRoomRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    private Account account;
+    private Account otherAccount;
+    private MessageRoom messageRoom;
+    private MessageRoom otherMessageRoom;
+
+    @BeforeEach
+    void setUp() {
+        account = saveAccount("user@domain.com", "nickname", "123456");
+        otherAccount = saveAccount("other@domain.com", "other", "654321");
+
+        Board board = boardRepository.save(Board.builder()
+                .account(account)
+                .boardName("Test Board")
+                .boardDescription("A board for testing")
+                .boardNotice("This is a test notice")
+                .build());
+
+        messageRoom = messageRoomRepository.save(MessageRoom.builder()
+                .firstSendAccount(account)
+                .firstReceiveAccount(otherAccount)
+                .startPost(savePost(board))
+                .build());
+        otherMessageRoom = messageRoomRepository.save(MessageRoom.builder()
+                .firstSendAccount(otherAccount)
+                .firstReceiveAccount(account)
+                .startPost(savePost(board))
+                .build());
+    }
+
+    private Post savePost(Board board) {
+        return postRepository.save(Post.builder()
+                .account(account)
+                .board(board)
+                .title("title")
+                .content("This is the content of the post.")
+                .writerOpen("PUBLIC")
+                .build());
+    }
+
+    private Account saveAccount(String email, String nickname, String studentId) {
+        return accountRepository.save(Account.builder()
+                .email(email)
+                .password("password123")
+                .nickname(nickname)
+                .university("Test University")
+                .studentId(studentId)
+                .build());
+    }
+
+    private Message saveMessage(Account sendAccount, MessageRoom messageRoom, String content) {
+        return messageRepository.save(Message.builder()
+                .sendAccount(sendAccount)
+                .messageRoom(messageRoom)
+                .content(content)
+                .build());
+    }
+
+    @Test
+    @DisplayName("쪽지 목록은 before보다 오래된 쪽지를 최신순으로 반환하고 보낸 사람은 엔티티를 읽지 않고 id만 담음")
+    void findHistoryBefore_Success() {
+        // given
+        Message first = saveMessage(account, messageRoom, "first");
+        Message second = saveMessage(otherAccount, messageRoom, "second");
+        Message third = saveMessage(account, messageRoom, "third");
+        Message fourth = saveMessage(otherAccount, messageRoom, "fourth");
+        saveMessage(account, otherMessageRoom, "other room");
+        Statistics statistics = clearAndGetStatistics();
+
+        // when
+        List<MessageHistoryDto> messages = messageRepository.findHistoryBefore(messageRoom.getMessageRoomId(),
+                fourth.getMessageId(), PageRequest.of(0, 2));
+
+        // then
+        assertThat(messages).extracting(MessageHistoryDto::getMessageId)
+                .containsExactly(third.getMessageId(), second.getMessageId());
+        assertThat(messages).extracting(MessageHistoryDto::getSendAccountId)
+                .containsExactly(account.getAccountId(), otherAccount.getAccountId());
+        assertThat(messages).extracting(MessageHistoryDto::getMessageRoomId).containsOnly(messageRoom.getMessageRoomId());
+        assertThat(first.getMessageId()).isLessThan(second.getMessageId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    private Statistics clearAndGetStatistics() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
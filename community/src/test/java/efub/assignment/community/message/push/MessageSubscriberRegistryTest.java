@@ -0,0 +1,148 @@
+package efub.assignment.community.message.push;
+
+import efub.assignment.community.message.dto.MessageHistoryDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MessageSubscriberRegistryTest {
+
+    private final MessageSubscriberRegistry registry = new MessageSubscriberRegistry(2, 1, 60_000, 1);
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    private MessageHistoryDto message(Long messageId, Long messageRoomId) {
+        return new MessageHistoryDto(messageId, messageRoomId, 1L, "content", LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("쪽지방별로 구독자를 모으고 구독자가 없는 쪽지방의 쪽지는 무시")
+    void subscribe_Success() {
+        // given
+        registry.subscribe(1L);
+        registry.subscribe(1L);
+        registry.subscribe(2L);
+
+        // when
+        registry.deliver(message(10L, 3L));
+
+        // then
+        assertThat(registry.countSubscribers(1L)).isEqualTo(2);
+        assertThat(registry.countSubscribers(2L)).isEqualTo(1);
+        assertThat(registry.countSubscribers(3L)).isZero();
+    }
+
+    @Test
+    @DisplayName("연결별 큐는 크기가 정해져 있어 가득 차면 더 받지 않고, 비운 뒤에는 다시 예약할 수 있음")
+    void subscription_BoundedQueue() throws IOException {
+        // given
+        MessageSubscription subscription = new MessageSubscription(new SseEmitter(), 2);
+
+        // when
+        boolean first = subscription.offer(message(1L, 1L));
+        boolean second = subscription.offer(message(2L, 1L));
+        boolean third = subscription.offer(message(3L, 1L));
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        assertThat(subscription.markScheduled()).isTrue();
+        assertThat(subscription.markScheduled()).isFalse();
+
+        assertThat(subscription.drain()).isTrue();
+        assertThat(subscription.offer(message(4L, 1L))).isTrue();
+        assertThat(subscription.markScheduled()).isTrue();
+    }
+
+    @Test
+    @DisplayName("heartbeat는 여러 쪽지방의 연결을 묶어 보내고, 연결마다 주석 이벤트 하나씩")
+    void sendHeartbeats_Success() throws InterruptedException {
+        // given
+        List<RecordingEmitter> emitters = List.of(new RecordingEmitter(1), new RecordingEmitter(1), new RecordingEmitter(1));
+        registry.subscribe(1L, emitters.get(0));
+        registry.subscribe(1L, emitters.get(1));
+        registry.subscribe(2L, emitters.get(2));
+
+        // when
+        registry.sendHeartbeats();
+
+        // then
+        for(RecordingEmitter emitter : emitters){
+            assertThat(emitter.sent.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(emitter.events).singleElement().asString().contains(":heartbeat");
+        }
+        assertThat(registry.countSubscribers(1L)).isEqualTo(2);
+        assertThat(registry.countSubscribers(2L)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("send가 오래 끝나지 않는 연결은 heartbeat 때 기다리지 않고 끊고, 진행 중인 send가 끝나면 더 보내지 않음")
+    void sendHeartbeats_ClosesSlowSubscriber() throws InterruptedException {
+        // given
+        RecordingEmitter emitter = new RecordingEmitter(1);
+        emitter.blocked = new CountDownLatch(1);
+        registry.subscribe(1L, emitter);
+        registry.deliver(message(1L, 1L));
+        assertThat(emitter.sent.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(20);
+
+        // when
+        registry.sendHeartbeats();
+        registry.deliver(message(2L, 1L));
+        emitter.blocked.countDown();
+
+        // then
+        assertThat(registry.countSubscribers(1L)).isZero();
+        assertThat(emitter.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(emitter.events).hasSize(1);
+    }
+
+    // 보낸 이벤트를 기록하는 emitter, blocked가 있으면 send가 그동안 끝나지 않음 (느린 클라이언트)
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch sent;
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile CountDownLatch blocked;
+
+        RecordingEmitter(int expectedSends) {
+            this.sent = new CountDownLatch(expectedSends);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            events.add(builder.build().stream()
+                    .map(data -> String.valueOf(data.getData()))
+                    .collect(Collectors.joining()));
+            sent.countDown();
+            if(blocked != null){
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+            super.complete();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package efub.assignment.community.message.service;
+
+import efub.assignment.community.account.AccountRepository;
+import efub.assignment.community.account.domain.Account;
+import efub.assignment.community.board.BoardRepository;
+import efub.assignment.community.board.domain.Board;
+import efub.assignment.community.message.dto.MessageRequestDto;
+import efub.assignment.community.message.dto.MessageResponseDto;
+import efub.assignment.community.message.repository.MessageRepository;
+import efub.assignment.community.messageRoom.domain.MessageRoom;
+import efub.assignment.community.messageRoom.repository.MessageRoomRepository;
+import efub.assignment.community.notice.repository.NoticeOutboxRepository;
+import efub.assignment.community.post.PostRepository;
+import efub.assignment.community.post.domain.Post;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:messagegroupcommit;MODE=MySQL",
+        "message.group-commit.enabled=true",
+        "message.group-commit.linger-ms=50",
+        "notice.outbox.poll-interval-ms=600000"
+})
+class MessageGroupCommitWriterTest {
+
+    @Autowired
+    private MessageGroupCommitWriter messageGroupCommitWriter;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private MessageRoomRepository messageRoomRepository;
+
+    @Autowired
+    private NoticeOutboxRepository noticeOutboxRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    private Account account;
+    private Account otherAccount;
+    private MessageRoom messageRoom;
+
+    @BeforeEach
+    void setUp() {
+        messageRepository.deleteAll();
+        messageRoomRepository.deleteAll();
+        noticeOutboxRepository.deleteAll();
+        postRepository.deleteAll();
+        boardRepository.deleteAll();
+        accountRepository.deleteAll();
+
+        account = saveAccount("user@domain.com", "nickname", "123456");
+        otherAccount = saveAccount("other@domain.com", "other", "654321");
+
+        Board board = boardRepository.save(Board.builder()
+                .account(account)
+                .boardName("Test Board")
+                .boardDescription("A board for testing")
+                .boardNotice("This is a test notice")
+                .build());
+
+        Post post = postRepository.save(Post.builder()
+                .account(account)
+                .board(board)
+                .title("Test Title")
+                .content("This is the content of the post.")
+                .writerOpen("PUBLIC")
+                .build());
+
+        messageRoom = messageRoomRepository.save(MessageRoom.builder()
+                .firstSendAccount(account)
+                .firstReceiveAccount(otherAccount)
+                .startPost(post)
+                .build());
+    }
+
+    private Account saveAccount(String email, String nickname, String studentId) {
+        return accountRepository.save(Account.builder()
+                .email(email)
+                .password("password123")
+                .nickname(nickname)
+                .university("Test University")
+                .studentId(studentId)
+                .build());
+    }
+
+    @Test
+    @DisplayName("함께 들어온 쪽지를 한 번에 저장하고 커밋되면 각 future를 완료, 쪽지방의 마지막 쪽지와 안 읽은 쪽지 수도 반영")
+    void submit_Success() throws Exception {
+        // given
+        List<CompletableFuture<MessageResponseDto>> futures = new ArrayList<>();
+
+        // when
+        for(int i = 0; i < 10; i++){
+            Account sender = i % 2 == 0 ? account : otherAccount;
+            futures.add(messageGroupCommitWriter.submit(new MessageRequestDto(messageRoom.getMessageRoomId(), sender.getAccountId(), "message " + i)));
+        }
+        for(CompletableFuture<MessageResponseDto> future : futures){
+            future.get(10, TimeUnit.SECONDS);
+        }
+
+        // then
+        assertThat(futures.get(9).get().getContent()).isEqualTo("message 9");
+        assertThat(messageRepository.countByMessageRoom_MessageRoomId(messageRoom.getMessageRoomId())).isEqualTo(10);
+        MessageRoom found = messageRoomRepository.findById(messageRoom.getMessageRoomId()).orElseThrow();
+        assertThat(found.getLastMessagePreview()).isEqualTo("message 9");
+        assertThat(found.getLowUnreadCount()).isEqualTo(5);
+        assertThat(found.getHighUnreadCount()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("없는 쪽지방으로 보낸 쪽지만 실패하고 같은 batch의 나머지는 저장")
+    void submit_MissingMessageRoom() throws Exception {
+        // when
+        CompletableFuture<MessageResponseDto> missing = messageGroupCommitWriter.submit(
+                new MessageRequestDto(-1L, account.getAccountId(), "missing"));
+        CompletableFuture<MessageResponseDto> valid = messageGroupCommitWriter.submit(
+                new MessageRequestDto(messageRoom.getMessageRoomId(), account.getAccountId(), "valid"));
+
+        // then
+        assertThat(valid.get(10, TimeUnit.SECONDS).getContent()).isEqualTo("valid");
+        assertThatThrownBy(() -> missing.get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(EntityNotFoundException.class);
+        assertThat(messageRepository.countByMessageRoom_MessageRoomId(messageRoom.getMessageRoomId())).isEqualTo(1);
+    }
+}
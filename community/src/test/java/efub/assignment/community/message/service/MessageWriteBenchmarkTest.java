@@ -0,0 +1,160 @@
+package efub.assignment.community.message.service;
+
+import efub.assignment.community.account.AccountRepository;
+import efub.assignment.community.account.domain.Account;
+import efub.assignment.community.board.BoardRepository;
+import efub.assignment.community.board.domain.Board;
+import efub.assignment.community.message.dto.MessageRequestDto;
+import efub.assignment.community.messageRoom.domain.MessageRoom;
+import efub.assignment.community.messageRoom.repository.MessageRoomRepository;
+import efub.assignment.community.post.PostRepository;
+import efub.assignment.community.post.domain.Post;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/* 쪽지 저장 처리량과 p99 지연 비교: 요청마다 트랜잭션 vs group commit (./gradlew benchmark 로만 실행) */
+/* 메모리 H2 기준이므로 절대값보다 두 방식의 차이를 봄, 실제 수치는 MySQL(rewriteBatchedStatements=true)에서 다시 측정 */
+/* insert ignore를 쓰지 않으므로 MySQL 호환 모드 없이 실행 (H2 MySQL 모드는 동시 insert에서 identity 값이 겹침) */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:messagebenchmark",
+        "message.group-commit.enabled=true",
+        "notice.outbox.poll-interval-ms=600000"
+})
+class MessageWriteBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageWriteBenchmarkTest.class);
+
+    private static final int CLIENTS = 32;
+    private static final int MESSAGES_PER_CLIENT = 500;
+    private static final int WARMUP_MESSAGES_PER_CLIENT = 50;
+    private static final int ROOMS = 16;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private MessageGroupCommitWriter messageGroupCommitWriter;
+
+    @Autowired
+    private MessageRoomRepository messageRoomRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Test
+    @DisplayName("쪽지 저장 처리량 및 p99 지연")
+    void writeThroughput() throws Exception {
+        List<MessageRoom> messageRooms = setUpMessageRooms();
+
+        Sender perRequest = dto -> messageService.createMessage(dto);
+        Sender groupCommit = dto -> messageGroupCommitWriter.submit(dto).get(10, TimeUnit.SECONDS);
+
+        // JIT, 커넥션 풀이 데워진 뒤 측정
+        run("warm-up per-request", messageRooms, perRequest, WARMUP_MESSAGES_PER_CLIENT);
+        run("warm-up group-commit", messageRooms, groupCommit, WARMUP_MESSAGES_PER_CLIENT);
+        run("per-request", messageRooms, perRequest, MESSAGES_PER_CLIENT);
+        run("group-commit", messageRooms, groupCommit, MESSAGES_PER_CLIENT);
+    }
+
+    private void run(String name, List<MessageRoom> messageRooms, Sender sender, int messagesPerClient) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> results = new ArrayList<>();
+        for(int client = 0; client < CLIENTS; client++){
+            MessageRoom messageRoom = messageRooms.get(client % ROOMS);
+            Long sendAccountId = messageRoom.getFirstSendAccount().getAccountId();
+            results.add(clients.submit(() -> {
+                long[] latencies = new long[messagesPerClient];
+                start.await();
+                for(int i = 0; i < messagesPerClient; i++){
+                    long sent = System.nanoTime();
+                    sender.send(new MessageRequestDto(messageRoom.getMessageRoomId(), sendAccountId, "benchmark message " + i));
+                    latencies[i] = System.nanoTime() - sent;
+                }
+                return latencies;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        long[] all = new long[CLIENTS * messagesPerClient];
+        int offset = 0;
+        for(Future<long[]> result : results){
+            long[] latencies = result.get();
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+            offset += latencies.length;
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        clients.shutdown();
+
+        Arrays.sort(all);
+        log.info(String.format("%s: %d messages in %.2fs (%.0f messages/s), p50 %.2fms, p99 %.2fms",
+                name, all.length, seconds, all.length / seconds,
+                all[all.length / 2] / 1e6, all[(int) (all.length * 0.99)] / 1e6));
+        assertThat(offset).isEqualTo(all.length);
+    }
+
+    private List<MessageRoom> setUpMessageRooms() {
+        Account writer = saveAccount(0);
+        Board board = boardRepository.save(Board.builder()
+                .account(writer)
+                .boardName("Benchmark Board")
+                .boardDescription("A board for benchmarks")
+                .boardNotice("notice")
+                .build());
+        List<MessageRoom> messageRooms = new ArrayList<>();
+        for(int i = 0; i < ROOMS; i++){
+            Post post = postRepository.save(Post.builder()
+                    .account(writer)
+                    .board(board)
+                    .title("title " + i)
+                    .content("content")
+                    .writerOpen("PUBLIC")
+                    .build());
+            messageRooms.add(messageRoomRepository.save(MessageRoom.builder()
+                    .firstSendAccount(saveAccount(i * 2 + 1))
+                    .firstReceiveAccount(saveAccount(i * 2 + 2))
+                    .startPost(post)
+                    .build()));
+        }
+        return messageRooms;
+    }
+
+    private Account saveAccount(int index) {
+        return accountRepository.save(Account.builder()
+                .email("bench" + index + "@domain.com")
+                .password("password123")
+                .nickname("bench" + index)
+                .university("Test University")
+                .studentId(String.valueOf(100000 + index))
+                .build());
+    }
+
+    @FunctionalInterface
+    private interface Sender {
+        void send(MessageRequestDto dto) throws Exception;
+    }
+}
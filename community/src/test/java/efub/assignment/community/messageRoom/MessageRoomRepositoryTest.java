@@ -0,0 +1,270 @@
+package efub.assignment.community.messageRoom;
+
+import efub.assignment.community.account.AccountRepository;
+import efub.assignment.community.account.domain.Account;
+import efub.assignment.community.board.BoardRepository;
+import efub.assignment.community.board.domain.Board;
+import efub.assignment.community.message.domain.Message;
+import efub.assignment.community.message.repository.MessageRepository;
+import efub.assignment.community.messageRoom.domain.MessageRoom;
+import efub.assignment.community.messageRoom.dto.MessageRoomSummary;
+import efub.assignment.community.messageRoom.repository.MessageRoomRepository;
+import efub.assignment.community.post.PostRepository;
+import efub.assignment.community.post.domain.Post;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:messageroom;MODE=MySQL")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class MessageRoomRepositoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MessageRoomRepository messageRoomRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    private Account account;
+    private Account otherAccount;
+    private Board board;
+    private Post post;
+
+    @BeforeEach
+    void setUp() {
+        account = saveAccount("user@domain.com", "nickname", "123456");
+        otherAccount = saveAccount("other@domain.com", "other", "654321");
+
+        board = boardRepository.save(Board.builder()
+                .account(account)
+                .boardName("Test Board")
+                .boardDescription("A board for testing")
+                .boardNotice("This is a test notice")
+                .build());
+
+        post = savePost();
+    }
+
+    private Post savePost() {
+        return postRepository.save(Post.builder()
+                .account(account)
+                .board(board)
+                .title("title")
+                .content("This is the content of the post.")
+                .writerOpen("PUBLIC")
+                .build());
+    }
+
+    private Account saveAccount(String email, String nickname, String studentId) {
+        return accountRepository.save(Account.builder()
+                .email(email)
+                .password("password123")
+                .nickname(nickname)
+                .university("Test University")
+                .studentId(studentId)
+                .build());
+    }
+
+    // 같은 두 사람의 쪽지방은 글마다 하나이므로 새 글에서 시작
+    private MessageRoom saveMessageRoom(Account sendAccount, Account receiveAccount) {
+        return messageRoomRepository.save(MessageRoom.builder()
+                .firstSendAccount(sendAccount)
+                .firstReceiveAccount(receiveAccount)
+                .startPost(savePost())
+                .build());
+    }
+
+    @Test
+    @DisplayName("쪽지방 목록은 보낸 쪽, 받은 쪽 쪽지방을 합쳐 최근 쪽지 순으로 반환하고 cursor 다음부터 이어서 조회")
+    void findInboxPage_Success() {
+        // given
+        MessageRoom sent = saveMessageRoom(account, otherAccount);
+        MessageRoom received = saveMessageRoom(otherAccount, account);
+        MessageRoom latest = saveMessageRoom(account, otherAccount);
+        saveMessageRoom(account, otherAccount); // 쪽지가 아직 없는 방은 빠짐
+        messageRoomRepository.recordMessage(sent.getMessageRoomId(), 1L, account.getAccountId(), "sent", NOW.minusMinutes(2));
+        messageRoomRepository.recordMessage(received.getMessageRoomId(), 2L, otherAccount.getAccountId(), "received", NOW.minusMinutes(1));
+        messageRoomRepository.recordMessage(latest.getMessageRoomId(), 3L, account.getAccountId(), "latest", NOW);
+        entityManager.clear();
+
+        // when
+        List<MessageRoomSummary> firstPage = messageRoomRepository.findFirstInboxPage(account.getAccountId(), 2);
+        MessageRoomSummary last = firstPage.get(firstPage.size() - 1);
+        List<MessageRoomSummary> nextPage = messageRoomRepository.findNextInboxPage(account.getAccountId(),
+                last.getLastMessageAt(), last.getMessageRoomId(), 2);
+
+        // then
+        assertThat(firstPage).extracting(MessageRoomSummary::getMessageRoomId)
+                .containsExactly(latest.getMessageRoomId(), received.getMessageRoomId());
+        assertThat(firstPage).extracting(MessageRoomSummary::getLastMessagePreview).containsExactly("latest", "received");
+        assertThat(firstPage).extracting(MessageRoomSummary::getUnreadCount).containsExactly(0L, 1L);
+        assertThat(nextPage).extracting(MessageRoomSummary::getMessageRoomId).containsExactly(sent.getMessageRoomId());
+    }
+
+    @Test
+    @DisplayName("마지막 쪽지는 더 최근 쪽지로 이미 갱신되어 있으면 덮어쓰지 않고, 받는 쪽 안 읽은 쪽지 수는 늘어남")
+    void recordMessage_KeepsLatest() {
+        // given
+        MessageRoom messageRoom = saveMessageRoom(account, otherAccount);
+        messageRoomRepository.recordMessage(messageRoom.getMessageRoomId(), 2L, account.getAccountId(), "newer", NOW);
+
+        // when
+        messageRoomRepository.recordMessage(messageRoom.getMessageRoomId(), 1L, account.getAccountId(), "older", NOW.minusMinutes(1));
+        entityManager.clear();
+
+        // then
+        MessageRoom found = messageRoomRepository.findById(messageRoom.getMessageRoomId()).orElseThrow();
+        boolean accountIsLow = account.getAccountId() < otherAccount.getAccountId();
+        assertThat(accountIsLow ? found.getHighUnreadCount() : found.getLowUnreadCount()).isEqualTo(2);
+        assertThat(accountIsLow ? found.getLowUnreadCount() : found.getHighUnreadCount()).isZero();
+        assertThat(found.getLastMessageId()).isEqualTo(2L);
+        assertThat(found.getLastMessagePreview()).isEqualTo("newer");
+        assertThat(found.getLastMessageAt()).isEqualTo(NOW);
+    }
+
+    @Test
+    @DisplayName("같은 두 사람, 같은 글의 쪽지방은 보낸 방향과 관계없이 한 번만 생성되고 같은 id로 조회")
+    void insertIgnore_SameParticipants() {
+        // when
+        int first = messageRoomRepository.insertIgnore(account.getAccountId(), otherAccount.getAccountId(), post.getPostId(), NOW);
+        int reversed = messageRoomRepository.insertIgnore(otherAccount.getAccountId(), account.getAccountId(), post.getPostId(), NOW);
+        Long low = Math.min(account.getAccountId(), otherAccount.getAccountId());
+        Long high = Math.max(account.getAccountId(), otherAccount.getAccountId());
+
+        // then
+        assertThat(first).isEqualTo(1);
+        assertThat(reversed).isZero();
+        Long messageRoomId = messageRoomRepository.findIdByParticipants(low, high, post.getPostId()).orElseThrow();
+        MessageRoom messageRoom = messageRoomRepository.findById(messageRoomId).orElseThrow();
+        assertThat(messageRoom.getFirstSendAccount().getAccountId()).isEqualTo(account.getAccountId());
+        assertThat(messageRoomRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("엔티티로 저장한 쪽지방도 참여자 id의 작은 값, 큰 값이 채워져 같은 방법으로 조회")
+    void findIdByParticipants_Success() {
+        // given
+        MessageRoom messageRoom = saveMessageRoom(otherAccount, account);
+
+        // when
+        Long found = messageRoomRepository.findIdByParticipants(
+                Math.min(account.getAccountId(), otherAccount.getAccountId()),
+                Math.max(account.getAccountId(), otherAccount.getAccountId()),
+                messageRoom.getStartPost().getPostId()).orElseThrow();
+
+        // then
+        assertThat(found).isEqualTo(messageRoom.getMessageRoomId());
+    }
+
+    @Test
+    @DisplayName("읽음 처리하면 읽은 쪽지 뒤로 상대방이 보낸 쪽지 수만 남고, 안 읽은 쪽지 합계는 참여한 모든 쪽지방을 더함")
+    void markRead_Success() {
+        // given
+        MessageRoom messageRoom = saveMessageRoom(account, otherAccount);
+        MessageRoom otherMessageRoom = saveMessageRoom(otherAccount, account);
+        Message first = saveMessage(otherAccount, messageRoom, "first");
+        saveMessage(account, messageRoom, "mine");
+        saveMessage(otherAccount, messageRoom, "second");
+        saveMessage(otherAccount, messageRoom, "third");
+        saveMessage(otherAccount, otherMessageRoom, "other room");
+        assertThat(messageRoomRepository.sumUnreadCount(account.getAccountId())).isEqualTo(4);
+
+        // when
+        int updated = messageRoomRepository.markRead(messageRoom.getMessageRoomId(), account.getAccountId(), first.getMessageId());
+        int notParticipant = messageRoomRepository.markRead(messageRoom.getMessageRoomId(), -1L, first.getMessageId());
+
+        // then
+        assertThat(updated).isEqualTo(1);
+        assertThat(notParticipant).isZero();
+        assertThat(messageRoomRepository.sumUnreadCount(account.getAccountId())).isEqualTo(3);
+        assertThat(messageRoomRepository.sumUnreadCount(otherAccount.getAccountId())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("마지막 쪽지보다 큰 id로 읽음 처리하면 마지막 쪽지까지만 읽은 것으로 하고 이후 쪽지는 다시 안 읽음으로 셈")
+    void markRead_CapsAtLastMessage() {
+        // given
+        MessageRoom messageRoom = saveMessageRoom(account, otherAccount);
+        Message last = saveMessage(otherAccount, messageRoom, "first");
+
+        // when
+        messageRoomRepository.markRead(messageRoom.getMessageRoomId(), account.getAccountId(), last.getMessageId() + 1000);
+        Message next = saveMessage(otherAccount, messageRoom, "second");
+        long unreadAfterNext = messageRoomRepository.sumUnreadCount(account.getAccountId());
+        int updated = messageRoomRepository.markRead(messageRoom.getMessageRoomId(), account.getAccountId(), next.getMessageId());
+
+        // then
+        assertThat(unreadAfterNext).isEqualTo(1);
+        assertThat(updated).isEqualTo(1);
+        assertThat(messageRoomRepository.sumUnreadCount(account.getAccountId())).isZero();
+        entityManager.clear();
+        MessageRoom found = messageRoomRepository.findById(messageRoom.getMessageRoomId()).orElseThrow();
+        long lastRead = found.getLowAccountId().equals(account.getAccountId())
+                ? found.getLowLastReadMessageId() : found.getHighLastReadMessageId();
+        assertThat(lastRead).isEqualTo(next.getMessageId());
+    }
+
+    @Test
+    @DisplayName("마지막 쪽지 칼럼이 비어 있던 쪽지방은 backfill 후 가장 최근 쪽지로 채워져 목록에 나옴")
+    void backfillLastMessage_Success() {
+        // given
+        MessageRoom legacy = saveMessageRoom(account, otherAccount);
+        MessageRoom empty = saveMessageRoom(account, otherAccount);
+        messageRepository.save(Message.builder().sendAccount(account).messageRoom(legacy).content("old").build());
+        Message latest = messageRepository.save(Message.builder()
+                .sendAccount(otherAccount)
+                .messageRoom(legacy)
+                .content("x".repeat(MessageRoom.PREVIEW_LENGTH + 10))
+                .build());
+        assertThat(messageRoomRepository.findFirstInboxPage(account.getAccountId(), 10)).isEmpty();
+
+        // when
+        long maxId = messageRoomRepository.findMaxMessageRoomId();
+        messageRoomRepository.backfillLastMessageId(0, maxId);
+        int filled = messageRoomRepository.backfillLastMessageDetails(0, maxId);
+        entityManager.clear();
+
+        // then
+        assertThat(filled).isEqualTo(1);
+        List<MessageRoomSummary> inbox = messageRoomRepository.findFirstInboxPage(account.getAccountId(), 10);
+        assertThat(inbox).extracting(MessageRoomSummary::getMessageRoomId).containsExactly(legacy.getMessageRoomId());
+        assertThat(inbox.get(0).getLastMessageId()).isEqualTo(latest.getMessageId());
+        assertThat(inbox.get(0).getLastMessagePreview()).hasSize(MessageRoom.PREVIEW_LENGTH);
+        assertThat(messageRoomRepository.findById(empty.getMessageRoomId()).orElseThrow().getLastMessageId()).isNull();
+    }
+
+    // 서비스처럼 쪽지를 저장한 뒤 쪽지방에 반영
+    private Message saveMessage(Account sendAccount, MessageRoom messageRoom, String content) {
+        Message message = messageRepository.save(Message.builder()
+                .sendAccount(sendAccount)
+                .messageRoom(messageRoom)
+                .content(content)
+                .build());
+        messageRoomRepository.recordMessage(messageRoom.getMessageRoomId(), message.getMessageId(), sendAccount.getAccountId(),
+                content, message.getCreatedDate());
+        return message;
+    }
+}
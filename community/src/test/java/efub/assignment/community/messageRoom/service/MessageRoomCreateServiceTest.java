@@ -0,0 +1,144 @@
+package efub.assignment.community.messageRoom.service;
+
+import efub.assignment.community.account.AccountRepository;
+import efub.assignment.community.account.domain.Account;
+import efub.assignment.community.board.BoardRepository;
+import efub.assignment.community.board.domain.Board;
+import efub.assignment.community.message.repository.MessageRepository;
+import efub.assignment.community.messageRoom.domain.MessageRoom;
+import efub.assignment.community.messageRoom.dto.MessageRoomRequestDto;
+import efub.assignment.community.messageRoom.dto.MessageRoomResponseDto;
+import efub.assignment.community.messageRoom.repository.MessageRoomRepository;
+import efub.assignment.community.notice.repository.NoticeOutboxRepository;
+import efub.assignment.community.notice.repository.NoticeRepository;
+import efub.assignment.community.post.PostRepository;
+import efub.assignment.community.post.domain.Post;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:messageroomcreate;MODE=MySQL",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "notice.outbox.poll-interval-ms=600000"
+})
+class MessageRoomCreateServiceTest {
+
+    @Autowired
+    private MessageRoomCreateService messageRoomCreateService;
+
+    @Autowired
+    private MessageRoomRepository messageRoomRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private NoticeOutboxRepository noticeOutboxRepository;
+
+    @Autowired
+    private NoticeRepository noticeRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Account account;
+    private Account otherAccount;
+    private Post post;
+
+    @BeforeEach
+    void setUp() {
+        messageRepository.deleteAll();
+        messageRoomRepository.deleteAll();
+        noticeRepository.deleteAll();
+        noticeOutboxRepository.deleteAll();
+        postRepository.deleteAll();
+        boardRepository.deleteAll();
+        accountRepository.deleteAll();
+
+        account = saveAccount("user@domain.com", "nickname", "123456");
+        otherAccount = saveAccount("other@domain.com", "other", "654321");
+
+        Board board = boardRepository.save(Board.builder()
+                .account(account)
+                .boardName("Test Board")
+                .boardDescription("A board for testing")
+                .boardNotice("This is a test notice")
+                .build());
+
+        post = postRepository.save(Post.builder()
+                .account(account)
+                .board(board)
+                .title("Test Title")
+                .content("This is the content of the post.")
+                .writerOpen("PUBLIC")
+                .build());
+    }
+
+    private Account saveAccount(String email, String nickname, String studentId) {
+        return accountRepository.save(Account.builder()
+                .email(email)
+                .password("password123")
+                .nickname(nickname)
+                .university("Test University")
+                .studentId(studentId)
+                .build());
+    }
+
+    @Test
+    @DisplayName("쪽지방, 첫 쪽지, 알림을 한 트랜잭션에서 SQL 5번으로 만들고 마지막 쪽지도 기록")
+    void createMessageRoom_Success() {
+        // given
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        MessageRoomResponseDto response = messageRoomCreateService.createMessageRoom(
+                new MessageRoomRequestDto(account.getAccountId(), otherAccount.getAccountId(), "hello", post.getPostId()));
+
+        // then
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(5);
+        assertThat(response.getFirstSendAccountId()).isEqualTo(account.getAccountId());
+        assertThat(response.getFirstContent()).isEqualTo("hello");
+        assertThat(response.isCreated()).isTrue();
+        MessageRoom messageRoom = messageRoomRepository.findById(response.getMessageRoomId()).orElseThrow();
+        assertThat(messageRoom.getLastMessagePreview()).isEqualTo("hello");
+        assertThat(noticeOutboxRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("반대 방향으로 다시 요청하면 같은 쪽지방에 쪽지만 추가하고 방금 보낸 쪽지를 응답, 알림은 다시 만들지 않음")
+    void createMessageRoom_Existing() {
+        // given
+        MessageRoomResponseDto first = messageRoomCreateService.createMessageRoom(
+                new MessageRoomRequestDto(account.getAccountId(), otherAccount.getAccountId(), "hello", post.getPostId()));
+
+        // when
+        MessageRoomResponseDto second = messageRoomCreateService.createMessageRoom(
+                new MessageRoomRequestDto(otherAccount.getAccountId(), account.getAccountId(), "reply", post.getPostId()));
+
+        // then
+        assertThat(second.getMessageRoomId()).isEqualTo(first.getMessageRoomId());
+        assertThat(second.getFirstContent()).isEqualTo("reply");
+        assertThat(second.isCreated()).isFalse();
+        assertThat(messageRoomRepository.count()).isEqualTo(1);
+        assertThat(messageRepository.countByMessageRoom_MessageRoomId(first.getMessageRoomId())).isEqualTo(2);
+        assertThat(noticeOutboxRepository.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,150 @@
+package efub.assignment.community.messageRoom.service;
+
+import efub.assignment.community.account.AccountRepository;
+import efub.assignment.community.account.domain.Account;
+import efub.assignment.community.board.BoardRepository;
+import efub.assignment.community.board.domain.Board;
+import efub.assignment.community.message.domain.Message;
+import efub.assignment.community.message.repository.MessageRepository;
+import efub.assignment.community.messageRoom.domain.MessageRoom;
+import efub.assignment.community.messageRoom.repository.MessageRoomRepository;
+import efub.assignment.community.post.PostRepository;
+import efub.assignment.community.post.domain.Post;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:participantsbackfill;MODE=MySQL")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class MessageRoomParticipantsBackfillJobTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MessageRoomRepository messageRoomRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private MessageRoomParticipantsBackfillJob job;
+    private Account account;
+    private Account otherAccount;
+    private Post post;
+
+    @BeforeEach
+    void setUp() {
+        // chunk 크기를 작게 두어 여러 chunk에 걸친 backfill을 확인
+        job = new MessageRoomParticipantsBackfillJob(messageRoomRepository, messageRepository,
+                new TransactionTemplate(transactionManager), 2);
+
+        account = saveAccount("user@domain.com", "nickname", "123456");
+        otherAccount = saveAccount("other@domain.com", "other", "654321");
+        Board board = boardRepository.save(Board.builder()
+                .account(account)
+                .boardName("Test Board")
+                .boardDescription("A board for testing")
+                .boardNotice("This is a test notice")
+                .build());
+        post = postRepository.save(Post.builder()
+                .account(account)
+                .board(board)
+                .title("title")
+                .content("This is the content of the post.")
+                .writerOpen("PUBLIC")
+                .build());
+    }
+
+    private Account saveAccount(String email, String nickname, String studentId) {
+        return accountRepository.save(Account.builder()
+                .email(email)
+                .password("password123")
+                .nickname(nickname)
+                .university("Test University")
+                .studentId(studentId)
+                .build());
+    }
+
+    // 참여자 쌍 도입 전처럼 low/high 없이 저장된 쪽지방
+    private Long saveLegacyMessageRoom(Account sendAccount, Account receiveAccount, Post startPost) {
+        entityManager.createNativeQuery("insert into message_room " +
+                        "(send_account_id, receive_account_id, post_id, " +
+                        "low_last_read_message_id, high_last_read_message_id, low_unread_count, high_unread_count, created_date, modified_date) " +
+                        "values (?, ?, ?, 0, 0, 0, 0, ?, ?)")
+                .setParameter(1, sendAccount.getAccountId())
+                .setParameter(2, receiveAccount.getAccountId())
+                .setParameter(3, startPost == null ? null : startPost.getPostId())
+                .setParameter(4, LocalDateTime.now())
+                .setParameter(5, LocalDateTime.now())
+                .executeUpdate();
+        return messageRoomRepository.findMaxMessageRoomId();
+    }
+
+    private Message saveMessage(Account sendAccount, Long messageRoomId, String content) {
+        return messageRepository.save(Message.builder()
+                .sendAccount(sendAccount)
+                .messageRoom(messageRoomRepository.getReferenceById(messageRoomId))
+                .content(content)
+                .build());
+    }
+
+    @Test
+    @DisplayName("low/high가 비어 있는 쪽지방은 채우고, 같은 두 사람과 같은 글의 쪽지방은 가장 먼저 만들어진 쪽지방으로 합침")
+    void backfill_FillsAndMergesDuplicates() {
+        // given
+        Long keeperId = saveLegacyMessageRoom(account, otherAccount, post);
+        Long duplicateId = saveLegacyMessageRoom(otherAccount, account, post);
+        Long detachedId = saveLegacyMessageRoom(account, otherAccount, null);
+        saveMessage(account, keeperId, "first");
+        saveMessage(otherAccount, duplicateId, "second");
+        Message latest = saveMessage(otherAccount, duplicateId, "latest");
+        entityManager.flush();
+
+        // when
+        MessageRoomParticipantsBackfillJob.Result result = job.backfill();
+        MessageRoomParticipantsBackfillJob.Result rerun = job.backfill();
+        entityManager.clear();
+
+        // then
+        assertThat(result.filled()).isEqualTo(2);
+        assertThat(result.merged()).isEqualTo(1);
+        assertThat(rerun.filled() + rerun.merged()).isZero();
+        assertThat(messageRoomRepository.existsById(duplicateId)).isFalse();
+        assertThat(messageRoomRepository.findIdByParticipants(
+                Math.min(account.getAccountId(), otherAccount.getAccountId()),
+                Math.max(account.getAccountId(), otherAccount.getAccountId()),
+                post.getPostId())).contains(keeperId);
+
+        MessageRoom keeper = messageRoomRepository.findById(keeperId).orElseThrow();
+        long accountUnread = keeper.getLowAccountId().equals(account.getAccountId())
+                ? keeper.getLowUnreadCount() : keeper.getHighUnreadCount();
+        assertThat(accountUnread).isEqualTo(2);
+        assertThat(keeper.getLastMessageId()).isEqualTo(latest.getMessageId());
+        assertThat(keeper.getLastMessagePreview()).isEqualTo("latest");
+        assertThat(messageRepository.findIdsByMessageRoomId(keeperId, Pageable.unpaged())).hasSize(3);
+        assertThat(messageRoomRepository.findById(detachedId).orElseThrow().getLowAccountId()).isNotNull();
+    }
+}
@@ -0,0 +1,121 @@
+package efub.assignment.community.notice;
+
+import efub.assignment.community.account.AccountRepository;
+import efub.assignment.community.account.domain.Account;
+import efub.assignment.community.notice.domain.Notice;
+import efub.assignment.community.notice.dto.NoticeResponseDto;
+import efub.assignment.community.notice.repository.NoticeRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class NoticeRepositoryTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private NoticeRepository noticeRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private Account account;
+    private Account otherAccount;
+
+    @BeforeEach
+    void setUp() {
+        account = saveAccount("user@domain.com", "nickname", "123456");
+        otherAccount = saveAccount("other@domain.com", "other", "654321");
+    }
+
+    private Account saveAccount(String email, String nickname, String studentId) {
+        return accountRepository.save(Account.builder()
+                .email(email)
+                .password("password123")
+                .nickname(nickname)
+                .university("Test University")
+                .studentId(studentId)
+                .build());
+    }
+
+    private Notice saveNotice(Account account, String content) {
+        return noticeRepository.save(Notice.builder()
+                .account(account)
+                .type("댓글")
+                .content(content)
+                .boardName("Test Board")
+                .build());
+    }
+
+    @Test
+    @DisplayName("알림 목록은 최신순으로 cursor 다음 페이지를 반환하고 계정 엔티티를 읽지 않음")
+    void findPageByAccountId_Success() {
+        // given
+        Notice first = saveNotice(account, "first");
+        Notice second = saveNotice(account, "second");
+        Notice third = saveNotice(account, "third");
+        saveNotice(otherAccount, "other");
+        Statistics statistics = clearAndGetStatistics();
+
+        // when
+        Slice<NoticeResponseDto> firstPage = noticeRepository.findFirstPageByAccountId(account.getAccountId(), PageRequest.of(0, 2));
+        NoticeResponseDto last = firstPage.getContent().get(1);
+        Slice<NoticeResponseDto> nextPage = noticeRepository.findNextPageByAccountId(account.getAccountId(),
+                last.getCreatedDate(), last.getNoticeId(), PageRequest.of(0, 2));
+
+        // then
+        assertThat(firstPage.getContent()).extracting(NoticeResponseDto::getNoticeId)
+                .containsExactly(third.getNoticeId(), second.getNoticeId());
+        assertThat(firstPage.hasNext()).isTrue();
+        assertThat(nextPage.getContent()).extracting(NoticeResponseDto::getNoticeId)
+                .containsExactly(first.getNoticeId());
+        assertThat(nextPage.hasNext()).isFalse();
+        assertThat(firstPage.getContent()).extracting(NoticeResponseDto::isRead).containsOnly(false);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("모두 읽음은 안 읽은 알림만 UPDATE 한 번으로 처리하고 다른 계정의 알림은 그대로")
+    void markAllRead_Success() {
+        // given
+        saveNotice(account, "first");
+        saveNotice(account, "second");
+        saveNotice(otherAccount, "other");
+        Statistics statistics = clearAndGetStatistics();
+
+        // when
+        long unreadBefore = noticeRepository.countUnreadByAccountId(account.getAccountId());
+        int updated = noticeRepository.markAllRead(account.getAccountId());
+        int updatedAgain = noticeRepository.markAllRead(account.getAccountId());
+
+        // then
+        assertThat(unreadBefore).isEqualTo(2);
+        assertThat(updated).isEqualTo(2);
+        assertThat(updatedAgain).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(noticeRepository.countUnreadByAccountId(account.getAccountId())).isZero();
+        assertThat(noticeRepository.countUnreadByAccountId(otherAccount.getAccountId())).isEqualTo(1);
+    }
+
+    private Statistics clearAndGetStatistics() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
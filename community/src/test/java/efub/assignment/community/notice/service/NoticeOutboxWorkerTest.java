@@ -0,0 +1,117 @@
+package efub.assignment.community.notice.service;
+
+import efub.assignment.community.account.AccountRepository;
+import efub.assignment.community.account.domain.Account;
+import efub.assignment.community.board.BoardRepository;
+import efub.assignment.community.board.domain.Board;
+import efub.assignment.community.notice.domain.Notice;
+import efub.assignment.community.notice.repository.NoticeOutboxRepository;
+import efub.assignment.community.notice.repository.NoticeRepository;
+import efub.assignment.community.post.PostRepository;
+import efub.assignment.community.post.domain.Post;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "notice.outbox.batch-size=2",
+        "notice.outbox.poll-interval-ms=600000"
+})
+class NoticeOutboxWorkerTest {
+
+    @Autowired
+    private NoticeOutboxWorker noticeOutboxWorker;
+
+    @Autowired
+    private NoticeService noticeService;
+
+    @Autowired
+    private NoticeOutboxRepository noticeOutboxRepository;
+
+    @Autowired
+    private NoticeRepository noticeRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    private Account account;
+    private Post post;
+
+    @BeforeEach
+    void setUp() {
+        noticeRepository.deleteAll();
+        noticeOutboxRepository.deleteAll();
+        postRepository.deleteAll();
+        boardRepository.deleteAll();
+        accountRepository.deleteAll();
+
+        account = accountRepository.save(Account.builder()
+                .email("user@domain.com")
+                .password("password123")
+                .nickname("nickname")
+                .university("Test University")
+                .studentId("123456")
+                .build());
+
+        Board board = boardRepository.save(Board.builder()
+                .account(account)
+                .boardName("Test Board")
+                .boardDescription("A board for testing")
+                .boardNotice("This is a test notice")
+                .build());
+
+        post = postRepository.save(Post.builder()
+                .account(account)
+                .board(board)
+                .title("Test Title")
+                .content("This is the content of the post.")
+                .writerOpen("PUBLIC")
+                .build());
+    }
+
+    @Test
+    @DisplayName("outbox에 쌓인 요청을 batch 단위로 모두 알림으로 만들고 outbox를 비움")
+    void drain_CreatesNoticesAndEmptiesOutbox() {
+        // given
+        noticeService.enqueueCommentNotice(account.getAccountId(), post.getPostId(), "첫 댓글");
+        noticeService.enqueueCommentNotice(account.getAccountId(), post.getPostId(), "두 번째 댓글");
+        noticeService.enqueueMessageRoomNotice(account.getAccountId());
+
+        // when
+        noticeOutboxWorker.drain();
+
+        // then
+        List<Notice> notices = noticeRepository.findAll();
+        assertThat(notices).extracting(Notice::getType).containsExactlyInAnyOrder("댓글", "댓글", "쪽지방");
+        assertThat(notices).filteredOn(notice -> notice.getType().equals("댓글"))
+                .extracting(Notice::getBoardName).containsOnly("Test Board");
+        assertThat(noticeOutboxRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("그사이 삭제된 글이나 계정에 대한 요청은 알림 없이 outbox에서 제거")
+    void drain_SkipsMissingTargets() {
+        // given
+        noticeService.enqueueCommentNotice(account.getAccountId(), 999999L, "삭제된 글의 댓글");
+        noticeService.enqueueMessageRoomNotice(999999L);
+
+        // when
+        noticeOutboxWorker.drain();
+
+        // then
+        assertThat(noticeRepository.count()).isZero();
+        assertThat(noticeOutboxRepository.count()).isZero();
+    }
+}
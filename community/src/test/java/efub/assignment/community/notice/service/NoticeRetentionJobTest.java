@@ -0,0 +1,88 @@
+package efub.assignment.community.notice.service;
+
+import efub.assignment.community.account.AccountRepository;
+import efub.assignment.community.account.domain.Account;
+import efub.assignment.community.notice.domain.Notice;
+import efub.assignment.community.notice.repository.NoticeOutboxRepository;
+import efub.assignment.community.notice.repository.NoticeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "notice.retention.comment-days=30",
+        "notice.retention.message-room-days=90",
+        "notice.retention.chunk-size=2",
+        "notice.retention.pause-ms=0",
+        "notice.retention.max-chunks-per-run=2",
+        "notice.retention.initial-delay-ms=600000",
+        "notice.outbox.poll-interval-ms=600000"
+})
+class NoticeRetentionJobTest {
+
+    @Autowired
+    private NoticeRetentionJob noticeRetentionJob;
+
+    @Autowired
+    private NoticeRepository noticeRepository;
+
+    @Autowired
+    private NoticeOutboxRepository noticeOutboxRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        noticeRepository.deleteAll();
+        noticeOutboxRepository.deleteAll();
+        accountRepository.deleteAll();
+
+        account = accountRepository.save(Account.builder()
+                .email("user@domain.com")
+                .password("password123")
+                .nickname("nickname")
+                .university("Test University")
+                .studentId("123456")
+                .build());
+    }
+
+    private void saveNotice(String type) {
+        noticeRepository.save(Notice.builder()
+                .account(account)
+                .type(type)
+                .content("content")
+                .build());
+    }
+
+    @Test
+    @DisplayName("보관 기간이 지난 type의 알림만 chunk 단위로 지우고, 한 번에 다 못 지우면 lag를 남긴 채 다음 실행에서 이어서 지움")
+    void purgeExpired_Success() {
+        // given
+        for(int i = 0; i < 5; i++){
+            saveNotice(Notice.TYPE_COMMENT);
+        }
+        saveNotice(Notice.TYPE_MESSAGE_ROOM);
+        LocalDateTime now = LocalDateTime.now().plusDays(31);
+
+        // when
+        long firstRun = noticeRetentionJob.purgeExpired(now);
+        long lagAfterFirstRun = noticeRetentionJob.getLagSeconds(Notice.TYPE_COMMENT);
+        long secondRun = noticeRetentionJob.purgeExpired(now);
+
+        // then
+        assertThat(firstRun).isEqualTo(4);
+        assertThat(lagAfterFirstRun).isPositive();
+        assertThat(secondRun).isEqualTo(1);
+        assertThat(noticeRetentionJob.getLagSeconds(Notice.TYPE_COMMENT)).isZero();
+        assertThat(noticeRepository.findAll()).extracting(Notice::getType).containsExactly(Notice.TYPE_MESSAGE_ROOM);
+    }
+}
@@ -10,6 +10,7 @@ import efub.assignment.community.post.domain.PostHeart;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
 import java.util.List;
@@ -17,7 +18,9 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-@DataJpaTest
+// insert ignore 구문을 위해 H2를 MySQL 호환 모드로 실행
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:postheart;MODE=MySQL")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 class PostHeartRepositoryTest {
 
     @Autowired
@@ -230,4 +233,86 @@ class PostHeartRepositoryTest {
         assertThat(foundPostHeart.get().getPost()).isEqualTo(post);
         assertThat(foundPostHeart.get().getWriter()).isEqualTo(account);
     }
+
+    @Test
+    @DisplayName("같은 (post, account) 좋아요는 한 번만 삽입되고 삭제도 한 번만 반영")
+    void insertIgnoreAndDelete_Idempotent() {
+        // given
+        Account account = accountRepository.save(Account.builder()
+                .email("user@domain.com")
+                .password("password123")
+                .nickname("nickname")
+                .university("Test University")
+                .studentId("123456")
+                .build());
+
+        Board board = boardRepository.save(Board.builder()
+                .account(account)
+                .boardName("Test Board")
+                .boardDescription("A board for testing")
+                .boardNotice("This is a test notice")
+                .build());
+
+        Post post = postRepository.save(Post.builder()
+                .account(account)
+                .board(board)
+                .title("Test Title")
+                .content("This is the content of the post.")
+                .writerOpen("PUBLIC")
+                .build());
+
+        // when & then
+        assertThat(postHeartRepository.insertIgnore(post.getPostId(), account.getAccountId())).isEqualTo(1);
+        assertThat(postHeartRepository.insertIgnore(post.getPostId(), account.getAccountId())).isZero();
+        assertThat(postHeartRepository.count()).isEqualTo(1);
+
+        assertThat(postHeartRepository.deleteByPostIdAndAccountId(post.getPostId(), account.getAccountId())).isEqualTo(1);
+        assertThat(postHeartRepository.deleteByPostIdAndAccountId(post.getPostId(), account.getAccountId())).isZero();
+        assertThat(postHeartRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("주어진 post 중 계정이 좋아요를 누른 post id만 조회")
+    void findHeartedPostIds_Success() {
+        // given
+        Account account = accountRepository.save(Account.builder()
+                .email("user@domain.com")
+                .password("password123")
+                .nickname("nickname")
+                .university("Test University")
+                .studentId("123456")
+                .build());
+
+        Board board = boardRepository.save(Board.builder()
+                .account(account)
+                .boardName("Test Board")
+                .boardDescription("A board for testing")
+                .boardNotice("This is a test notice")
+                .build());
+
+        Post hearted = postRepository.save(Post.builder()
+                .account(account)
+                .board(board)
+                .title("hearted")
+                .content("This is the content of the post.")
+                .writerOpen("PUBLIC")
+                .build());
+
+        Post notHearted = postRepository.save(Post.builder()
+                .account(account)
+                .board(board)
+                .title("not hearted")
+                .content("This is the content of the post.")
+                .writerOpen("PUBLIC")
+                .build());
+
+        postHeartRepository.insertIgnore(hearted.getPostId(), account.getAccountId());
+
+        // when
+        List<Long> postIds = postHeartRepository.findHeartedPostIds(account.getAccountId(),
+                List.of(hearted.getPostId(), notHearted.getPostId()));
+
+        // then
+        assertThat(postIds).containsExactly(hearted.getPostId());
+    }
 }
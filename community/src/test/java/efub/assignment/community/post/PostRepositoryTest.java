@@ -0,0 +1,310 @@
+package efub.assignment.community.post;
+
+import efub.assignment.community.account.AccountRepository;
+import efub.assignment.community.account.domain.Account;
+import efub.assignment.community.board.BoardRepository;
+import efub.assignment.community.board.domain.Board;
+import efub.assignment.community.comment.domain.Comment;
+import efub.assignment.community.comment.repository.CommentRepository;
+import efub.assignment.community.post.domain.Post;
+import efub.assignment.community.post.domain.PostHeart;
+import efub.assignment.community.post.dto.PostResponseDto;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PostRepositoryTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Autowired
+    private PostHeartRepository postHeartRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private Account account;
+    private Account otherAccount;
+    private Board board;
+    private Board otherBoard;
+
+    @BeforeEach
+    void setUp() {
+        account = accountRepository.save(Account.builder()
+                .email("user@domain.com")
+                .password("password123")
+                .nickname("nickname")
+                .university("Test University")
+                .studentId("123456")
+                .build());
+
+        otherAccount = accountRepository.save(Account.builder()
+                .email("other@domain.com")
+                .password("password123")
+                .nickname("other")
+                .university("Test University")
+                .studentId("654321")
+                .build());
+
+        board = boardRepository.save(Board.builder()
+                .account(account)
+                .boardName("Test Board")
+                .boardDescription("A board for testing")
+                .boardNotice("This is a test notice")
+                .build());
+
+        otherBoard = boardRepository.save(Board.builder()
+                .account(account)
+                .boardName("Other Board")
+                .boardDescription("Another board")
+                .boardNotice("Another notice")
+                .build());
+    }
+
+    private Post savePost(Board board, String title) {
+        return savePost(account, board, title);
+    }
+
+    private Post savePost(Account writer, Board board, String title) {
+        return postRepository.save(Post.builder()
+                .account(writer)
+                .board(board)
+                .title(title)
+                .content("This is the content of the post.")
+                .writerOpen("PUBLIC")
+                .build());
+    }
+
+    @Test
+    @DisplayName("게시판별 첫 페이지는 해당 게시판의 최신 글부터 조회")
+    void findFirstPageByBoardId_Success() {
+        // given
+        savePost(board, "first");
+        Post second = savePost(board, "second");
+        Post third = savePost(board, "third");
+        savePost(otherBoard, "other");
+
+        // when
+        Slice<PostResponseDto> page = postRepository.findFirstPageByBoardId(board.getBoardId(), PageRequest.of(0, 2));
+
+        // then
+        assertThat(page.getContent()).extracting(PostResponseDto::getPostId)
+                .containsExactly(third.getPostId(), second.getPostId());
+        assertThat(page.hasNext()).isTrue();
+    }
+
+    @Test
+    @DisplayName("cursor 다음 페이지 조회")
+    void findNextPageByBoardId_Success() {
+        // given
+        Post first = savePost(board, "first");
+        savePost(board, "second");
+        savePost(board, "third");
+        // cursor는 클라이언트가 받은 응답(DB에 저장된 값)으로 만들어짐, 엔티티의 createdDate는 DB 정밀도로 잘리기 전 값
+        PostResponseDto last = postRepository.findFirstPageByBoardId(board.getBoardId(), PageRequest.of(0, 2))
+                .getContent().get(1);
+
+        // when
+        Slice<PostResponseDto> page = postRepository.findNextPageByBoardId(
+                board.getBoardId(), last.getCreatedDate(), last.getPostId(), PageRequest.of(0, 2));
+
+        // then
+        assertThat(page.getContent()).extracting(PostResponseDto::getPostId)
+                .containsExactly(first.getPostId());
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("게시판별 글 개수 조회")
+    void countByBoardId_Success() {
+        // given
+        savePost(board, "first");
+        savePost(board, "second");
+        savePost(otherBoard, "other");
+
+        // when
+        long count = postRepository.countByBoard_BoardIdAndDeletedFalse(board.getBoardId());
+
+        // then
+        assertThat(count).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("글 목록 조회는 작성자, 게시판 수와 관계없이 한 번의 쿼리로 수행")
+    void findFirstPageByBoardId_SingleStatement() {
+        // given
+        savePost(account, board, "first");
+        savePost(otherAccount, board, "second");
+        savePost(account, board, "third");
+        savePost(otherAccount, board, "fourth");
+        Statistics statistics = clearAndGetStatistics();
+
+        // when
+        Slice<PostResponseDto> page = postRepository.findFirstPageByBoardId(board.getBoardId(), PageRequest.of(0, 3));
+
+        // then
+        assertThat(page.getContent()).extracting(PostResponseDto::getWriterNickname)
+                .containsExactly("other", "nickname", "other");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("글 상세 조회는 한 번의 쿼리로 수행")
+    void findResponseById_SingleStatement() {
+        // given
+        Post post = savePost(otherAccount, board, "title");
+        Statistics statistics = clearAndGetStatistics();
+
+        // when
+        Optional<PostResponseDto> found = postRepository.findResponseById(post.getPostId());
+
+        // then
+        assertThat(found).isPresent();
+        assertThat(found.get().getWriterNickname()).isEqualTo("other");
+        assertThat(found.get().getBoardId()).isEqualTo(board.getBoardId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("삭제 표시된 글은 조회, 개수, 좋아요 수 증감에서 제외")
+    void markDeleted_ExcludesPost() {
+        // given
+        Post post = savePost(board, "deleted");
+        Post other = savePost(board, "other");
+
+        // when
+        postRepository.markDeleted(post.getPostId());
+        entityManager.clear();
+
+        // then
+        assertThat(postRepository.findResponseById(post.getPostId())).isEmpty();
+        assertThat(postRepository.findByPostIdAndDeletedFalse(post.getPostId())).isEmpty();
+        assertThat(postRepository.existsByPostIdAndDeletedFalse(other.getPostId())).isTrue();
+        assertThat(postRepository.countByBoard_BoardIdAndDeletedFalse(board.getBoardId())).isEqualTo(1);
+        assertThat(postRepository.findFirstPageByBoardId(board.getBoardId(), PageRequest.of(0, 10)).getContent())
+                .extracting(PostResponseDto::getPostId)
+                .containsExactly(other.getPostId());
+        assertThat(postRepository.addHeartCount(post.getPostId(), 1)).isZero();
+    }
+
+    @Test
+    @DisplayName("좋아요 수 원자적 증감")
+    void addHeartCount_Success() {
+        // given
+        Post post = savePost(board, "title");
+
+        // when
+        postRepository.addHeartCount(post.getPostId(), 1);
+        postRepository.addHeartCount(post.getPostId(), 1);
+        postRepository.addHeartCount(post.getPostId(), -1);
+        entityManager.clear();
+
+        // then
+        assertThat(postRepository.findById(post.getPostId()).get().getHeartCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("댓글 수 원자적 증감 및 조회")
+    void addCommentCount_Success() {
+        // given
+        Post post = savePost(board, "title");
+
+        // when
+        postRepository.addCommentCount(post.getPostId(), 1);
+        postRepository.addCommentCount(post.getPostId(), 1);
+        postRepository.addCommentCount(post.getPostId(), -1);
+        entityManager.clear();
+
+        // then
+        assertThat(postRepository.findCommentCountById(post.getPostId())).contains(1L);
+        assertThat(postRepository.findCommentCountById(-1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("실제 좋아요 수와 어긋난 heart_count 보정")
+    void reconcileHeartCount_Success() {
+        // given
+        Post post = savePost(board, "title");
+        postHeartRepository.save(PostHeart.builder().post(post).account(account).build());
+        postHeartRepository.save(PostHeart.builder().post(post).account(otherAccount).build());
+        postRepository.addHeartCount(post.getPostId(), 5);
+        entityManager.flush();
+
+        // when
+        int updated = postRepository.reconcileHeartCount(0, postRepository.findMaxPostId());
+        entityManager.clear();
+
+        // then
+        assertThat(updated).isEqualTo(1);
+        assertThat(postRepository.findById(post.getPostId()).get().getHeartCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("글 목록 응답에 비정규화된 댓글 수 포함")
+    void findFirstPageByBoardId_CommentCount() {
+        // given
+        Post post = savePost(board, "title");
+        postRepository.addCommentCount(post.getPostId(), 3);
+        entityManager.clear();
+
+        // when
+        Slice<PostResponseDto> page = postRepository.findFirstPageByBoardId(board.getBoardId(), PageRequest.of(0, 10));
+
+        // then
+        assertThat(page.getContent()).extracting(PostResponseDto::getCommentCount).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("실제 댓글 수와 어긋난 comment_count 보정")
+    void reconcileCommentCount_Success() {
+        // given
+        Post post = savePost(board, "title");
+        Post untouched = savePost(board, "untouched");
+        commentRepository.save(Comment.builder().writer(account).post(post).content("first").build());
+        commentRepository.save(Comment.builder().writer(otherAccount).post(post).content("second").build());
+        postRepository.addCommentCount(post.getPostId(), 7);
+        entityManager.flush();
+
+        // when
+        int updated = postRepository.reconcileCommentCount(0, postRepository.findMaxPostId());
+        entityManager.clear();
+
+        // then
+        assertThat(updated).isEqualTo(1);
+        assertThat(postRepository.findCommentCountById(post.getPostId())).contains(2L);
+        assertThat(postRepository.findCommentCountById(untouched.getPostId())).contains(0L);
+    }
+
+    // 영속성 컨텍스트를 비우고 통계를 초기화하여 이후 실행되는 쿼리만 집계
+    private Statistics clearAndGetStatistics() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -3,7 +3,7 @@ package efub.assignment.community.post.domain;
 import efub.assignment.community.account.domain.Account;
 import efub.assignment.community.board.domain.Board;
 import jakarta.persistence.EntityManager;
-import jakarta.validation.ConstraintViolationException;
+import org.hibernate.id.IdentifierGenerationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -53,7 +53,6 @@ class PostHeartTest {
                 .build();
 
         // then
-        assertThat(postHeart.getId()).isNull(); // 아직 저장되지 않았으므로 ID는 null
         assertThat(postHeart.getPost()).isEqualTo(post);
         assertThat(postHeart.getWriter()).isEqualTo(account);
     }
@@ -83,16 +82,21 @@ class PostHeartTest {
                 .writerOpen("PUBLIC")
                 .build();
 
+        // 복합 기본키의 post_id를 얻기 위해 post까지는 먼저 저장
+        entityManager.persist(board.getAccount());
+        entityManager.persist(board);
+        entityManager.persist(post);
+
         // when & then
         PostHeart postHeart = PostHeart.builder()
                 .post(post)
                 .account(null) // writer를 null로 설정
                 .build();
 
+        // writer는 복합 기본키의 일부이므로 유효성 검증 전에 id를 만들 때 실패
         assertThatThrownBy(() -> {
-            entityManager.persist(post);
             entityManager.persist(postHeart);
-            entityManager.flush(); // flush로 강제 유효성 검증 수행
-        }).isInstanceOf(ConstraintViolationException.class);
+            entityManager.flush();
+        }).isInstanceOf(IdentifierGenerationException.class);
     }
 }
@@ -0,0 +1,59 @@
+package efub.assignment.community.post.search;
+
+import efub.assignment.community.post.event.PostCreatedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/* 색인, 검색 처리량 측정 (./gradlew benchmark 로만 실행) */
+@Tag("benchmark")
+class PostSearchIndexBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PostSearchIndexBenchmarkTest.class);
+    private static final String[] WORDS = {
+            "게시판", "학생식당", "동아리", "스터디", "모집", "후기", "질문", "과제", "시험", "기숙사",
+            "도서관", "수강신청", "장학금", "공지사항", "중고거래", "분실물", "자바", "스프링", "알고리즘", "졸업"
+    };
+    private static final int POSTS = 100_000;
+    private static final int BOARDS = 10;
+    private static final int QUERIES = 10_000;
+
+    @Test
+    @DisplayName("색인 및 검색 처리량")
+    void indexAndQueryThroughput() {
+        Random random = new Random(42);
+        PostSearchIndex postSearchIndex = new PostSearchIndex(null, 1000);
+
+        long indexStart = System.nanoTime();
+        for(long postId = 1; postId <= POSTS; postId++){
+            postSearchIndex.onPostCreated(new PostCreatedEvent(postId, postId % BOARDS, sentence(random, 4), sentence(random, 40)));
+        }
+        double indexSeconds = (System.nanoTime() - indexStart) / 1e9;
+
+        long hits = 0;
+        long queryStart = System.nanoTime();
+        for(int i = 0; i < QUERIES; i++){
+            hits += postSearchIndex.search((long) random.nextInt(BOARDS), WORDS[random.nextInt(WORDS.length)], 0, 20).totalCount();
+        }
+        double querySeconds = (System.nanoTime() - queryStart) / 1e9;
+
+        log.info(String.format("indexing: %d posts in %.2fs (%.0f posts/s)", POSTS, indexSeconds, POSTS / indexSeconds));
+        log.info(String.format("query: %d queries in %.2fs (%.0f queries/s, avg %d hits)",
+                QUERIES, querySeconds, QUERIES / querySeconds, hits / QUERIES));
+        assertThat(postSearchIndex.size()).isEqualTo(POSTS);
+    }
+
+    private static String sentence(Random random, int words){
+        StringBuilder sentence = new StringBuilder();
+        for(int i = 0; i < words; i++){
+            sentence.append(WORDS[random.nextInt(WORDS.length)]).append(i % 3 == 0 ? "에서 " : " ");
+        }
+        return sentence.toString();
+    }
+}
@@ -0,0 +1,77 @@
+package efub.assignment.community.post.search;
+
+import efub.assignment.community.post.event.PostChangedEvent;
+import efub.assignment.community.post.event.PostCreatedEvent;
+import efub.assignment.community.post.event.PostDeletedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostSearchIndexTest {
+
+    private PostSearchIndex postSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        postSearchIndex = new PostSearchIndex(null, 1000);
+    }
+
+    @Test
+    @DisplayName("한국어 단어는 글자 2개 단위로 자름")
+    void tokenize_Bigrams() {
+        assertThat(BigramTokenizer.tokenize("게시판에서 Spring!"))
+                .containsExactly("게시", "시판", "판에", "에서", "sp", "pr", "ri", "in", "ng");
+        assertThat(BigramTokenizer.tokenize("글 하나")).containsExactly("글", "하나");
+    }
+
+    @Test
+    @DisplayName("조사가 붙은 단어도 검색되고 제목에 나온 글이 먼저 나옴")
+    void search_RanksTitleFirst() {
+        // given
+        postSearchIndex.onPostCreated(new PostCreatedEvent(1L, 1L, "오늘 점심", "학생식당 메뉴가 궁금합니다"));
+        postSearchIndex.onPostCreated(new PostCreatedEvent(2L, 1L, "학생식당 후기", "오늘 먹은 메뉴"));
+        postSearchIndex.onPostCreated(new PostCreatedEvent(3L, 1L, "동아리 모집", "신입 부원을 모집합니다"));
+        postSearchIndex.onPostCreated(new PostCreatedEvent(4L, 2L, "학생식당", "다른 게시판의 글"));
+
+        // when
+        PostSearchIndex.SearchResult result = postSearchIndex.search(1L, "학생식당", 0, 10);
+
+        // then
+        assertThat(result.postIds()).containsExactly(2L, 1L);
+        assertThat(result.totalCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("수정, 삭제된 글은 색인에 바로 반영")
+    void search_ReflectsUpdateAndDelete() {
+        // given
+        postSearchIndex.onPostCreated(new PostCreatedEvent(1L, 1L, "스터디 모집", "자바 스터디"));
+        postSearchIndex.onPostCreated(new PostCreatedEvent(2L, 1L, "스터디 후기", "스프링 스터디"));
+
+        // when
+        postSearchIndex.onPostChanged(new PostChangedEvent(1L, 1L, "동아리 모집", "밴드 동아리"));
+        postSearchIndex.onPostDeleted(new PostDeletedEvent(2L, 1L));
+
+        // then
+        assertThat(postSearchIndex.search(1L, "스터디", 0, 10).postIds()).isEmpty();
+        assertThat(postSearchIndex.search(1L, "동아리", 0, 10).postIds()).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("검색 결과를 페이지 단위로 나눔")
+    void search_Paginates() {
+        // given
+        for(long postId = 1; postId <= 5; postId++){
+            postSearchIndex.onPostCreated(new PostCreatedEvent(postId, 1L, "공지", "공지사항입니다"));
+        }
+
+        // when
+        PostSearchIndex.SearchResult result = postSearchIndex.search(1L, "공지", 1, 2);
+
+        // then
+        assertThat(result.postIds()).containsExactly(3L, 2L);
+        assertThat(result.totalCount()).isEqualTo(5);
+    }
+}
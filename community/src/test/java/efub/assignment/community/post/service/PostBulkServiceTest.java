@@ -0,0 +1,112 @@
+package efub.assignment.community.post.service;
+
+import efub.assignment.community.account.AccountRepository;
+import efub.assignment.community.account.domain.Account;
+import efub.assignment.community.board.BoardRepository;
+import efub.assignment.community.board.domain.Board;
+import efub.assignment.community.post.PostHeartRepository;
+import efub.assignment.community.post.PostRepository;
+import efub.assignment.community.post.dto.PostBulkResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "post.bulk.batch-size=2")
+class PostBulkServiceTest {
+
+    @Autowired
+    private PostBulkService postBulkService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostHeartRepository postHeartRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    private Board board;
+
+    @BeforeEach
+    void setUp() {
+        postHeartRepository.deleteAll();
+        postRepository.deleteAll();
+        boardRepository.deleteAll();
+        accountRepository.deleteAll();
+
+        Account account = accountRepository.save(Account.builder()
+                .email("user@domain.com")
+                .password("password123")
+                .nickname("nickname")
+                .university("Test University")
+                .studentId("123456")
+                .build());
+
+        board = boardRepository.save(Board.builder()
+                .account(account)
+                .boardName("Test Board")
+                .boardDescription("A board for testing")
+                .boardNotice("This is a test notice")
+                .build());
+    }
+
+    @Test
+    @DisplayName("잘못된 항목은 실패로 기록하고 나머지 항목은 저장")
+    void ingest_ReportsItemFailures() throws Exception {
+        // given
+        String boardId = String.valueOf(board.getBoardId());
+        String body = "[" +
+                item(boardId, "nickname", "첫 글") + "," +
+                item(boardId, "unknown", "없는 작성자") + "," +
+                item(boardId, "nickname", "") + "," +
+                item(boardId, "nickname", "두 번째 글") + "," +
+                item("999999", "nickname", "없는 게시판") + "," +
+                item("abc", "nickname", "숫자가 아닌 게시판 id") + "," +
+                "42," +
+                item(boardId, "nickname", "x".repeat(51)) +
+                "]";
+
+        // when
+        PostBulkResponseDto result = postBulkService.ingest(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        // then
+        assertThat(result.getReceived()).isEqualTo(8);
+        assertThat(result.getInserted()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(6);
+        assertThat(result.getFailures()).extracting(PostBulkResponseDto.Failure::getIndex)
+                .containsExactlyInAnyOrder(1L, 2L, 4L, 5L, 6L, 7L);
+        assertThat(postRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("JSON이 중간에 깨지면 그 전까지 읽은 항목만 저장")
+    void ingest_StopsOnMalformedJson() throws Exception {
+        // given
+        String boardId = String.valueOf(board.getBoardId());
+        String body = "[" + item(boardId, "nickname", "첫 글") + ", {\"title\": ";
+
+        // when
+        PostBulkResponseDto result = postBulkService.ingest(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        // then
+        assertThat(result.getInserted()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(postRepository.count()).isEqualTo(1);
+    }
+
+    private static String item(String boardId, String writerNickname, String title){
+        return "{\"boardId\": \"" + boardId + "\", \"writerNickname\": \"" + writerNickname + "\", " +
+                "\"title\": \"" + title + "\", \"content\": \"내용\", \"writerOpen\": \"true\"}";
+    }
+}
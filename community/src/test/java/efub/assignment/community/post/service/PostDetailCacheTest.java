@@ -0,0 +1,75 @@
+package efub.assignment.community.post.service;
+
+import efub.assignment.community.account.event.AccountNicknameChangedEvent;
+import efub.assignment.community.post.dto.PostResponseDto;
+import efub.assignment.community.post.event.PostChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostDetailCacheTest {
+
+    private PostDetailCache postDetailCache;
+    private AtomicInteger loads;
+    private Function<Long, PostResponseDto> loader;
+
+    @BeforeEach
+    void setUp() {
+        postDetailCache = new PostDetailCache(new SimpleMeterRegistry(), 100, 60);
+        loads = new AtomicInteger();
+        loader = postId -> {
+            loads.incrementAndGet();
+            return new PostResponseDto(postId, 1L, "nickname", "Test Title", "content", "PUBLIC",
+                    LocalDateTime.now(), LocalDateTime.now(), 0L, 0L);
+        };
+    }
+
+    @Test
+    @DisplayName("같은 글을 다시 조회하면 캐시에서 반환")
+    void get_CachesResult() {
+        // when
+        postDetailCache.get(1L, loader);
+        postDetailCache.get(1L, loader);
+
+        // then
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(postDetailCache.stats().hitCount()).isEqualTo(1);
+        assertThat(postDetailCache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("글 수정 이벤트는 해당 글만 무효화")
+    void onPostChanged_InvalidatesPost() {
+        // given
+        postDetailCache.get(1L, loader);
+        postDetailCache.get(2L, loader);
+
+        // when
+        postDetailCache.onPostChanged(new PostChangedEvent(1L, 1L, "title", "content"));
+
+        // then
+        assertThat(postDetailCache.size()).isEqualTo(1);
+        postDetailCache.get(2L, loader);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("작성자 닉네임이 바뀌면 그 작성자의 글을 무효화")
+    void onNicknameChanged_InvalidatesWriterPosts() {
+        // given
+        postDetailCache.get(1L, loader);
+
+        // when
+        postDetailCache.onNicknameChanged(new AccountNicknameChangedEvent(1L, "nickname", "renamed"));
+
+        // then
+        assertThat(postDetailCache.size()).isZero();
+    }
+}
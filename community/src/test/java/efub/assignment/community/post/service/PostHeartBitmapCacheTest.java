@@ -0,0 +1,136 @@
+package efub.assignment.community.post.service;
+
+import efub.assignment.community.account.AccountRepository;
+import efub.assignment.community.account.domain.Account;
+import efub.assignment.community.board.BoardRepository;
+import efub.assignment.community.board.domain.Board;
+import efub.assignment.community.post.PostHeartRepository;
+import efub.assignment.community.post.PostRepository;
+import efub.assignment.community.post.domain.Post;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "heart.bitmap.enabled=true",
+        "heart.bitmap.min-heart-count=1",
+        // insert ignore 구문을 위해 H2를 MySQL 호환 모드로 실행
+        "spring.datasource.url=jdbc:h2:mem:heartbitmap;MODE=MySQL"
+})
+class PostHeartBitmapCacheTest {
+
+    @Autowired
+    private PostHeartBitmapCache postHeartBitmapCache;
+
+    @Autowired
+    private PostHeartService postHeartService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostHeartRepository postHeartRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    private Account account;
+    private Account otherAccount;
+    private Post post;
+
+    @BeforeEach
+    void setUp() {
+        postHeartRepository.deleteAll();
+        postRepository.deleteAll();
+        boardRepository.deleteAll();
+        accountRepository.deleteAll();
+
+        account = accountRepository.save(Account.builder()
+                .email("user@domain.com")
+                .password("password123")
+                .nickname("nickname")
+                .university("Test University")
+                .studentId("123456")
+                .build());
+
+        otherAccount = accountRepository.save(Account.builder()
+                .email("other@domain.com")
+                .password("password123")
+                .nickname("other")
+                .university("Test University")
+                .studentId("654321")
+                .build());
+
+        Board board = boardRepository.save(Board.builder()
+                .account(account)
+                .boardName("Test Board")
+                .boardDescription("A board for testing")
+                .boardNotice("This is a test notice")
+                .build());
+
+        post = postRepository.save(Post.builder()
+                .account(account)
+                .board(board)
+                .title("Test Title")
+                .content("This is the content of the post.")
+                .writerOpen("PUBLIC")
+                .build());
+    }
+
+    @Test
+    @DisplayName("좋아요 수 상위 글은 bitmap으로 좋아요 여부를 답함")
+    void refresh_LoadsHotPost() {
+        // given
+        postHeartService.put(post.getPostId(), account.getAccountId());
+
+        // when
+        postHeartBitmapCache.refresh();
+
+        // then
+        assertThat(postHeartBitmapCache.contains(post.getPostId(), account.getAccountId())).isTrue();
+        assertThat(postHeartBitmapCache.contains(post.getPostId(), otherAccount.getAccountId())).isFalse();
+    }
+
+    @Test
+    @DisplayName("캐시된 글의 좋아요 변경은 커밋 후 bitmap에 반영")
+    void onPostHeart_UpdatesBitmap() {
+        // given
+        postHeartService.put(post.getPostId(), account.getAccountId());
+        postHeartBitmapCache.refresh();
+
+        // when
+        postHeartService.put(post.getPostId(), otherAccount.getAccountId());
+        postHeartService.remove(post.getPostId(), account.getAccountId());
+
+        // then
+        assertThat(postHeartService.findHeartStatus(otherAccount.getAccountId(), List.of(post.getPostId())))
+                .containsEntry(post.getPostId(), true);
+        assertThat(postHeartBitmapCache.contains(post.getPostId(), account.getAccountId())).isFalse();
+    }
+
+    @Test
+    @DisplayName("삭제된 글의 bitmap은 다음 refresh를 기다리지 않고 커밋 후 바로 버림")
+    void onPostDeleted_EvictsBitmap() {
+        // given
+        postHeartService.put(post.getPostId(), account.getAccountId());
+        postHeartBitmapCache.refresh();
+
+        // when
+        postService.deletePost(post.getPostId(), account.getAccountId());
+
+        // then
+        assertThat(postHeartBitmapCache.contains(post.getPostId(), account.getAccountId())).isNull();
+    }
+}
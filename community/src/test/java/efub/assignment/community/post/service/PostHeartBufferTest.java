@@ -0,0 +1,122 @@
+package efub.assignment.community.post.service;
+
+import efub.assignment.community.account.AccountRepository;
+import efub.assignment.community.account.domain.Account;
+import efub.assignment.community.board.BoardRepository;
+import efub.assignment.community.board.domain.Board;
+import efub.assignment.community.post.PostHeartRepository;
+import efub.assignment.community.post.PostRepository;
+import efub.assignment.community.post.domain.Post;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "heart.write-behind.enabled=true",
+        "heart.write-behind.flush-interval-ms=600000",
+        // insert ignore 구문을 위해 H2를 MySQL 호환 모드로 실행
+        "spring.datasource.url=jdbc:h2:mem:heartbuffer;MODE=MySQL"
+})
+class PostHeartBufferTest {
+
+    @Autowired
+    private PostHeartBuffer postHeartBuffer;
+
+    @Autowired
+    private PostHeartRepository postHeartRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    private Account account;
+    private Post post;
+
+    @BeforeEach
+    void setUp() {
+        postHeartRepository.deleteAll();
+        postRepository.deleteAll();
+        boardRepository.deleteAll();
+        accountRepository.deleteAll();
+
+        account = accountRepository.save(Account.builder()
+                .email("user@domain.com")
+                .password("password123")
+                .nickname("nickname")
+                .university("Test University")
+                .studentId("123456")
+                .build());
+
+        Board board = boardRepository.save(Board.builder()
+                .account(account)
+                .boardName("Test Board")
+                .boardDescription("A board for testing")
+                .boardNotice("This is a test notice")
+                .build());
+
+        post = postRepository.save(Post.builder()
+                .account(account)
+                .board(board)
+                .title("Test Title")
+                .content("This is the content of the post.")
+                .writerOpen("PUBLIC")
+                .build());
+    }
+
+    @Test
+    @DisplayName("버퍼에 쌓인 좋아요가 flush 시 DB와 좋아요 수에 반영")
+    void flush_InsertsHeartsAndCount() {
+        // given
+        postHeartBuffer.offer(post.getPostId(), account.getAccountId(), true);
+        assertThat(postHeartBuffer.getDepth()).isEqualTo(1);
+
+        // when
+        postHeartBuffer.flush();
+
+        // then
+        assertThat(postHeartBuffer.getDepth()).isZero();
+        assertThat(postHeartRepository.count()).isEqualTo(1);
+        assertThat(postRepository.findById(post.getPostId()).get().getHeartCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("같은 계정의 반복 요청은 마지막 요청만 반영")
+    void flush_KeepsLastToggle() {
+        // given
+        postHeartBuffer.offer(post.getPostId(), account.getAccountId(), true);
+        postHeartBuffer.offer(post.getPostId(), account.getAccountId(), false);
+        postHeartBuffer.offer(post.getPostId(), account.getAccountId(), true);
+        postHeartBuffer.offer(post.getPostId(), account.getAccountId(), false);
+
+        // when
+        postHeartBuffer.flush();
+
+        // then
+        assertThat(postHeartBuffer.getDepth()).isZero();
+        assertThat(postHeartRepository.count()).isZero();
+        assertThat(postRepository.findById(post.getPostId()).get().getHeartCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 계정의 요청은 버려짐")
+    void flush_DropsUnknownAccount() {
+        // given
+        postHeartBuffer.offer(post.getPostId(), account.getAccountId() + 1000, true);
+
+        // when
+        postHeartBuffer.flush();
+
+        // then
+        assertThat(postHeartBuffer.getDepth()).isZero();
+        assertThat(postHeartRepository.count()).isZero();
+    }
+}
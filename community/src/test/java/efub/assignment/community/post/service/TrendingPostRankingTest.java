@@ -0,0 +1,91 @@
+package efub.assignment.community.post.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrendingPostRankingTest {
+
+    private static final long HOUR = 60 * 60;
+    private static final long NOW = 1_700_000_000L;
+
+    private TrendingPostRanking ranking;
+
+    @BeforeEach
+    void setUp() {
+        // 반감기 1시간, 좋아요 1점, 댓글 2점, 게시판당 최대 3개 글
+        ranking = new TrendingPostRanking(null, null, null, 60, 1.0, 2.0, 3, 0.05, 24);
+    }
+
+    @Test
+    @DisplayName("최근 활동이 많은 글이 먼저 나옴")
+    void top_OrdersByScore() {
+        // given
+        ranking.record(1L, 10L, 1.0, NOW);
+        ranking.record(1L, 20L, 1.0, NOW);
+        ranking.record(1L, 20L, 2.0, NOW);
+        ranking.record(2L, 30L, 5.0, NOW);
+
+        // when & then
+        assertThat(ranking.top(1L, 10, NOW)).containsExactly(20L, 10L);
+        assertThat(ranking.top(2L, 10, NOW)).containsExactly(30L);
+    }
+
+    @Test
+    @DisplayName("오래된 활동은 반감기마다 가중치가 절반으로 줄어듦")
+    void top_DecaysOldActivity() {
+        // given: 3시간 전 좋아요 4개(현재 0.5점) vs 방금 좋아요 1개
+        ranking.record(1L, 10L, 4.0, NOW - 3 * HOUR);
+        ranking.record(1L, 20L, 1.0, NOW);
+
+        // when & then
+        assertThat(ranking.top(1L, 10, NOW)).containsExactly(20L, 10L);
+    }
+
+    @Test
+    @DisplayName("게시판당 최대 개수를 넘으면 점수가 가장 낮은 글을 버림")
+    void record_EvictsLowest() {
+        // given
+        ranking.record(1L, 10L, 1.0, NOW);
+        ranking.record(1L, 20L, 2.0, NOW);
+        ranking.record(1L, 30L, 3.0, NOW);
+
+        // when
+        ranking.record(1L, 40L, 4.0, NOW);
+
+        // then
+        assertThat(ranking.top(1L, 10, NOW)).containsExactly(40L, 30L, 20L);
+    }
+
+    @Test
+    @DisplayName("삭제된 글과 좋아요가 모두 취소된 글은 순위에서 빠짐")
+    void remove_Success() {
+        // given
+        ranking.record(1L, 10L, 1.0, NOW);
+        ranking.record(1L, 20L, 1.0, NOW);
+
+        // when
+        ranking.remove(1L, 10L);
+        ranking.record(1L, 20L, -1.0, NOW);
+
+        // then
+        assertThat(ranking.top(1L, 10, NOW)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("landmark를 옮겨도 순위는 유지되고 충분히 식은 글은 제거")
+    void prune_KeepsOrder() {
+        // given
+        ranking.record(1L, 10L, 1.0, NOW);
+        ranking.record(1L, 20L, 2.0, NOW);
+        ranking.record(1L, 30L, 0.001, NOW);
+
+        // when
+        ranking.prune(NOW + HOUR);
+
+        // then
+        assertThat(ranking.top(1L, 10, NOW + HOUR)).containsExactly(20L, 10L);
+    }
+}